@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -21,6 +21,9 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.sun.codemodel.writer.FileCodeWriter;
 import com.sun.codemodel.writer.ProgressCodeWriter;
@@ -117,7 +120,7 @@ public final class JCodeModel {
      *
      * @return Newly generated package
      */
-    public JPackage _package(String name) {
+    public synchronized JPackage _package(String name) {
         JPackage p = packages.get(name);
         if (p == null) {
             p = new JPackage(name, this);
@@ -336,6 +339,59 @@ public final class JCodeModel {
         resource.close();
     }
 
+    /**
+     * Generates Java source code, formatting the classes on the given number of threads.
+     *
+     * <p>
+     * The files are still handed to the {@link CodeWriter}s one at a time, by the calling
+     * thread and in the same order as {@link #build(CodeWriter, CodeWriter)} does,
+     * so the {@link CodeWriter}s don't need to be thread-safe and the output is
+     * byte-identical to the one of the sequential build.
+     *
+     * <p>
+     * The model must not be modified while it's being built.
+     * Formatting a class only reads the state of the model, except for the caches
+     * that are filled on demand and shared by all the classes: the packages and the
+     * classes made by {@link #_package(String)} and {@link #ref(Class)}, the array
+     * types made by {@link JType#array()}, {@link #wildcard()}, and the implicit super
+     * class of {@link JDefinedClass#_extends()}. These are all synchronized.
+     * The other state that is created on demand, like the javadoc, the annotations and
+     * the initializers of a class, is only read when formatting, by the one thread
+     * that formats the class, and the package level files are written by the calling thread.
+     *
+     * @param threads
+     *      the number of threads formatting the classes. With 1 or less,
+     *      this is the same as {@link #build(CodeWriter, CodeWriter)}.
+     */
+    public void build( CodeWriter source, CodeWriter resource, int threads ) throws IOException {
+        if (threads <= 1) {
+            build(source, resource);
+            return;
+        }
+        JPackage[] pkgs = packages.values().toArray(new JPackage[0]);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "codemodel-build");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<List<Future<String>>> formatted = new ArrayList<>(pkgs.length);
+            for( JPackage pkg : pkgs ) {
+                formatted.add(pkg.format(executor));
+            }
+            for( int i = 0; i < pkgs.length; i++ ) {
+                pkgs[i].build(source,resource,formatted.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        if (module != null) {
+            module.build(source);
+        }
+        source.close();
+        resource.close();
+    }
+
     /**
      * Returns the number of files to be generated if
      * {@link #build} is invoked now.
@@ -374,7 +430,7 @@ public final class JCodeModel {
      *
      * @see #_ref(Class) for the version that handles more cases.
      */
-    public JClass ref(Class<?> clazz) {
+    public synchronized JClass ref(Class<?> clazz) {
         JReferencedClass jrc = refClasses.get(clazz);
         if (jrc == null) {
             if (clazz.isPrimitive())
@@ -432,7 +488,7 @@ public final class JCodeModel {
      * Gets a {@link JClass} representation for "?",
      * which is equivalent to "? extends Object".
      */
-    public JClass wildcard() {
+    public synchronized JClass wildcard() {
         if(wildcard==null)
             wildcard = ref(Object.class).wildcard();
         return wildcard;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -260,7 +260,7 @@ public class JDefinedClass
      * Returns the class extended by this class.
      */
     @Override
-    public JClass _extends() {
+    public synchronized JClass _extends() {
         if(superClass==null)
             superClass = owner().ref(Object.class);
         return superClass;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -14,8 +14,10 @@ import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
@@ -28,6 +30,9 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 
 /**
@@ -433,15 +438,55 @@ public final class JPackage implements JDeclaration, JGenerable, JClassContainer
 
 
     void build( CodeWriter src, CodeWriter res ) throws IOException {
+        build(src, res, null);
+    }
+
+    /**
+     * Formats the classes of this package on the given executor.
+     *
+     * @return
+     *      the source code of the classes to be generated,
+     *      in the order {@link #build(CodeWriter, CodeWriter, List)} writes them.
+     */
+    /*package*/ List<Future<String>> format(ExecutorService executor) {
+        List<Future<String>> r = new ArrayList<>();
+        for (JDefinedClass c : classes.values()) {
+            if (c.isHidden())
+                continue;   // don't generate this file
+
+            r.add(executor.submit(() -> {
+                StringWriter sw = new StringWriter();
+                JFormatter f = new JFormatter(new PrintWriter(sw), owner.classNameReplacer());
+                f.write(c);
+                f.close();
+                return sw.toString();
+            }));
+        }
+        return r;
+    }
+
+    /**
+     * @param formatted
+     *      the classes formatted by {@link #format(ExecutorService)},
+     *      or null to format them here.
+     */
+    /*package*/ void build( CodeWriter src, CodeWriter res, List<Future<String>> formatted ) throws IOException {
 
         // write classes
+        Iterator<Future<String>> itr = formatted != null ? formatted.iterator() : null;
         for (JDefinedClass c : classes.values()) {
             if (c.isHidden())
                 continue;   // don't generate this file
 
-            JFormatter f = createJavaSourceFileWriter(src, c.name());
-            f.write(c);
-            f.close();
+            if (itr != null) {
+                Writer w = new BufferedWriter(src.openSource(this, c.name()+".java"));
+                w.write(getFormatted(itr.next()));
+                w.close();
+            } else {
+                JFormatter f = createJavaSourceFileWriter(src, c.name());
+                f.write(c);
+                f.close();
+            }
         }
 
         // write package annotations
@@ -487,6 +532,22 @@ public final class JPackage implements JDeclaration, JGenerable, JClassContainer
         return r;
     }
 
+    private static String getFormatted(Future<String> source) throws IOException {
+        try {
+            return source.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException().initCause(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new IOException(cause);
+        }
+    }
+
     private JFormatter createJavaSourceFileWriter(CodeWriter src, String className) throws IOException {
         Writer bw = new BufferedWriter(src.openSource(this,className+".java"));
         return new JFormatter(new PrintWriter(bw), owner.classNameReplacer());
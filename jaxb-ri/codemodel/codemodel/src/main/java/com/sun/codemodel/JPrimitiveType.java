@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -53,7 +53,7 @@ public final class JPrimitiveType extends JType {
 
     private JClass arrayClass;
     @Override
-    public JClass array() {
+    public synchronized JClass array() {
         if(arrayClass==null)
             arrayClass = new JArrayClass(owner,this);
         return arrayClass;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,10 +10,13 @@
 
 package com.sun.codemodel.writer;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,6 +37,9 @@ public class FileCodeWriter extends CodeWriter {
     /** specify whether or not to mark the generated files read-only */
     private final boolean readOnly;
 
+    /** specify whether or not to leave the files whose content didn't change untouched */
+    private final boolean skipUnchanged;
+
     /** Files that shall be marked as read only. */
     private final Set<File> readonlyFiles = new HashSet<>();
 
@@ -50,24 +56,34 @@ public class FileCodeWriter extends CodeWriter {
     }
 
     public FileCodeWriter( File target, boolean readOnly, String encoding ) throws IOException {
+        this(target, readOnly, encoding, false);
+    }
+
+    /**
+     * @param skipUnchanged
+     *      if true, the files are written only if their content differs from the one
+     *      of the existing files, so that the files that didn't change keep their timestamps,
+     *      and tools looking at them, like incremental compilers, don't see them as modified.
+     *      The files are then buffered in memory until they are closed.
+     */
+    public FileCodeWriter( File target, boolean readOnly, String encoding, boolean skipUnchanged ) throws IOException {
         this.target = target;
         this.readOnly = readOnly;
         this.encoding = encoding;
+        this.skipUnchanged = skipUnchanged;
         if(!target.exists() || !target.isDirectory())
             throw new IOException(target + ": non-existent directory");
     }
     
     @Override
     public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+        if(skipUnchanged)
+            return new ChangedFileOutputStream(pkg,fileName);
         return new FileOutputStream(getFile(pkg,fileName));
     }
     
     protected File getFile(JPackage pkg, String fileName ) throws IOException {
-        File dir;
-        if(pkg == null || pkg.isUnnamed())
-            dir = target;
-        else
-            dir = new File(target, toDirName(pkg));
+        File dir = getDir(pkg);
         
         if(!dir.exists())   dir.mkdirs();
         
@@ -90,6 +106,44 @@ public class FileCodeWriter extends CodeWriter {
             f.setReadOnly();
     }
     
+    private File getDir( JPackage pkg ) {
+        if(pkg == null || pkg.isUnnamed())
+            return target;
+        else
+            return new File(target, toDirName(pkg));
+    }
+
+    /**
+     * Buffers a file, and writes it when closed, unless
+     * the existing file already has the same content.
+     */
+    private final class ChangedFileOutputStream extends ByteArrayOutputStream {
+        private final JPackage pkg;
+        private final String fileName;
+        private boolean closed;
+
+        ChangedFileOutputStream( JPackage pkg, String fileName ) {
+            this.pkg = pkg;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if(closed)  return;
+            closed = true;
+
+            File fn = new File(getDir(pkg), fileName);
+            if(fn.isFile() && fn.length()==count
+                    && Arrays.equals(Files.readAllBytes(fn.toPath()), toByteArray())) {
+                if(readOnly)    readonlyFiles.add(fn);
+                return;
+            }
+            try (OutputStream os = new FileOutputStream(getFile(pkg,fileName))) {
+                writeTo(os);
+            }
+        }
+    }
+
     /** Converts a package name to the directory name. */
     private static String toDirName( JPackage pkg ) {
         return pkg.name().replace('.',File.separatorChar);
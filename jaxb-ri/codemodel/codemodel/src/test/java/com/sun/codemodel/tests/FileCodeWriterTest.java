@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+package com.sun.codemodel.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.writer.FileCodeWriter;
+
+public class FileCodeWriterTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("codemodel");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> s = Files.walk(dir)) {
+            s.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testSkipUnchanged() throws Exception {
+        build("a", true);
+        File a = dir.resolve("foo/A.java").toFile();
+        File b = dir.resolve("foo/B.java").toFile();
+        Assert.assertTrue(a.setLastModified(1000));
+        Assert.assertTrue(b.setLastModified(1000));
+
+        build("b", true);
+        Assert.assertEquals(1000, a.lastModified());
+        Assert.assertNotEquals(1000, b.lastModified());
+        Assert.assertTrue(new String(Files.readAllBytes(b.toPath()), "UTF-8").contains("int b;"));
+    }
+
+    @Test
+    public void testRewrite() throws Exception {
+        build("a", false);
+        File a = dir.resolve("foo/A.java").toFile();
+        Assert.assertTrue(a.setLastModified(1000));
+
+        build("a", false);
+        Assert.assertNotEquals(1000, a.lastModified());
+    }
+
+    private void build(String field, boolean skipUnchanged) throws IOException, JClassAlreadyExistsException {
+        JCodeModel cm = new JCodeModel();
+        cm._class("foo.A");
+        cm._class("foo.B").field(JMod.PRIVATE, cm.INT, field);
+        cm.build(new FileCodeWriter(dir.toFile(), false, null, skipUnchanged));
+    }
+}
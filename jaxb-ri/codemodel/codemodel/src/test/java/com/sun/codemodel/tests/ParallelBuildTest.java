@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+package com.sun.codemodel.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.fmt.JTextFile;
+import com.sun.codemodel.writer.SingleStreamCodeWriter;
+
+public class ParallelBuildTest {
+
+    @Test
+    public void testSameOutput() throws Exception {
+        // building adds the referenced packages to the model, which can change
+        // the order of the packages, so each build starts from a fresh model
+        String serial = build(createModel(), 1);
+        Assert.assertTrue(serial, serial.contains("\\u00e9t\\u00e9"));
+        for (int threads : new int[]{2, 4, 16}) {
+            Assert.assertEquals(serial, build(createModel(), threads));
+        }
+    }
+
+    private static JCodeModel createModel() throws JClassAlreadyExistsException {
+        JCodeModel cm = new JCodeModel();
+        JDefinedClass previous = null;
+        for (int p = 0; p < 10; p++) {
+            JPackage pkg = cm._package("org.example.p" + p);
+            pkg.javadoc().add("Package " + p);
+            JTextFile readme = new JTextFile("readme.txt");
+            readme.setContents("p" + p);
+            pkg.addResourceFile(readme);
+            for (int c = 0; c < 20; c++) {
+                // the same simple names in every package, so that imports clash
+                JDefinedClass dc = pkg._class("Item" + c);
+                dc.javadoc().add("été " + c);
+                dc._implements(Serializable.class);
+                if (previous != null) {
+                    JClass list = cm.ref(List.class).narrow(previous);
+                    dc.field(JMod.PRIVATE, list, "items");
+                    dc.field(JMod.PRIVATE, previous.array(), "array");
+                }
+                JMethod m = dc.method(JMod.PUBLIC, cm.ref(String.class), "name");
+                m.body()._return(JExpr.lit(dc.fullName()));
+                dc._class(JMod.PUBLIC | JMod.STATIC, "Inner")._extends(cm.ref(Exception.class));
+                previous = dc;
+            }
+        }
+        return cm;
+    }
+
+    private static String build(JCodeModel cm, int threads) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SingleStreamCodeWriter cw = new SingleStreamCodeWriter(out);
+        cm.build(cw, cw, threads);
+        return out.toString("UTF-8");
+    }
+}
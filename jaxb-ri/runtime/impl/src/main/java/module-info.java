@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -23,6 +23,7 @@ module org.glassfish.jaxb.runtime {
     requires transitive org.glassfish.jaxb.core;
     requires static com.sun.xml.fastinfoset;
     requires static org.jvnet.staxex;
+    requires static jdk.jfr;
 
     exports org.glassfish.jaxb.runtime;
     exports org.glassfish.jaxb.runtime.api;
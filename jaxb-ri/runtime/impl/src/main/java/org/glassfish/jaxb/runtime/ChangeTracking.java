@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+/**
+ * Optional interface that can be implemented by JAXB-bound objects
+ * to let the marshaller reuse their previously marshalled form.
+ *
+ * <p>
+ * When the {@code org.glassfish.jaxb.incrementalMarshalling} property is set
+ * on a marshaller, the marshaller remembers the bytes it produced for the contents
+ * of every {@link ChangeTracking} object in the last document it wrote.
+ * When the same objects are marshalled again and their modification count hasn't changed,
+ * those bytes are copied to the output instead of walking the objects again.
+ *
+ * <p>
+ * The modification count must change whenever anything that affects the
+ * contents of the element changes, which includes the state of objects
+ * reachable from this object, not just the fields of this object.
+ * Classes typically increment a counter in setters and propagate the change to the parent.
+ *
+ * <p>
+ * <b>Experimental:</b> XJC doesn't generate classes that implement this interface yet,
+ * so it has to be implemented by hand. It may change or go away in a future release.
+ *
+ * @since 4.0.3
+ */
+public interface ChangeTracking {
+    /**
+     * Returns a number that changes every time this object or
+     * anything marshalled under it is modified.
+     */
+    long getModificationCount();
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, compact recording of an XML element as a sequence of SAX events.
+ *
+ * <p>
+ * This is the element type of {@link ElementBufferHandler}, which can be
+ * used in place of the default W3C DOM handler on {@link XmlAnyElement}
+ * properties when the application only needs to pass the wildcard content
+ * through. Unmarshalling such content doesn't build a DOM tree,
+ * and marshalling it replays the recorded events straight to the marshaller.
+ *
+ * <p>
+ * Names are pooled, and all the character data of an element is kept in
+ * a single array, so a buffer is usually much smaller than the equivalent DOM.
+ *
+ * @since 4.0.3
+ * @see ElementBufferHandler
+ */
+public final class ElementBuffer {
+
+    // event codes
+    private static final int START_PREFIX = 0;
+    private static final int END_PREFIX = 1;
+    private static final int START_ELEMENT = 2;
+    private static final int END_ELEMENT = 3;
+    private static final int CHARACTERS = 4;
+
+    /**
+     * Encoded events. Each event is an event code followed by its operands,
+     * which are indices to {@link #strings} or a range of {@link #chars}.
+     */
+    private final int[] events;
+    private final String[] strings;
+    private final char[] chars;
+
+    private final String nsUri;
+    private final String localName;
+
+    private ElementBuffer(int[] events, String[] strings, char[] chars, String nsUri, String localName) {
+        this.events = events;
+        this.strings = strings;
+        this.chars = chars;
+        this.nsUri = nsUri;
+        this.localName = localName;
+    }
+
+    /**
+     * Namespace URI of the recorded element.
+     *
+     * @return can be empty but never null.
+     */
+    public String getNamespaceURI() {
+        return nsUri;
+    }
+
+    /**
+     * Local name of the recorded element.
+     */
+    public String getLocalName() {
+        return localName;
+    }
+
+    /**
+     * Sends the recorded element to the given handler,
+     * as if it were parsed from a document that only contains this element.
+     */
+    public void writeTo(ContentHandler handler) throws SAXException {
+        AttributesImpl atts = new AttributesImpl();
+        handler.startDocument();
+        final int[] e = events;
+        final String[] s = strings;
+        int i = 0;
+        while (i < e.length) {
+            switch (e[i]) {
+            case START_PREFIX:
+                handler.startPrefixMapping(s[e[i+1]], s[e[i+2]]);
+                i += 3;
+                break;
+            case END_PREFIX:
+                handler.endPrefixMapping(s[e[i+1]]);
+                i += 2;
+                break;
+            case START_ELEMENT: {
+                int len = e[i+4];
+                atts.clear();
+                int j = i+5;
+                for (int k = 0; k < len; k++, j += 5)
+                    atts.addAttribute(s[e[j]], s[e[j+1]], s[e[j+2]], s[e[j+3]], s[e[j+4]]);
+                handler.startElement(s[e[i+1]], s[e[i+2]], s[e[i+3]], atts);
+                i = j;
+                break;
+            }
+            case END_ELEMENT:
+                handler.endElement(s[e[i+1]], s[e[i+2]], s[e[i+3]]);
+                i += 4;
+                break;
+            case CHARACTERS:
+                handler.characters(chars, e[i+1], e[i+2]);
+                i += 3;
+                break;
+            default:
+                throw new AssertionError();
+            }
+        }
+        handler.endDocument();
+    }
+
+    @Override
+    public String toString() {
+        return "ElementBuffer[{" + nsUri + '}' + localName + ']';
+    }
+
+    /**
+     * {@link ContentHandler} that records events into a new {@link ElementBuffer}.
+     *
+     * <p>
+     * Everything outside the document element, such as processing instructions,
+     * is dropped, just like it would be by {@link XmlAnyElement} processing.
+     */
+    static final class Recorder extends DefaultHandler {
+        private int[] events = new int[64];
+        private int eventsLen;
+        private char[] chars = new char[256];
+        private int charsLen;
+
+        private final Map<String,Integer> pool = new HashMap<>();
+        private String[] strings = new String[32];
+        private int stringsLen;
+
+        private String nsUri, localName;
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) {
+            add(START_PREFIX, name(prefix), name(uri));
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) {
+            add(END_PREFIX, name(prefix));
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atts) {
+            if (this.localName == null) {
+                this.nsUri = uri;
+                this.localName = localName;
+            }
+            int len = atts.getLength();
+            add(START_ELEMENT, name(uri), name(localName), name(qName), len);
+            for (int i = 0; i < len; i++) {
+                add(name(atts.getURI(i)), name(atts.getLocalName(i)), name(atts.getQName(i)),
+                        name(atts.getType(i)), value(atts.getValue(i)));
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            add(END_ELEMENT, name(uri), name(localName), name(qName));
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (length == 0)
+                return;
+            // coalesce consecutive character events
+            if (eventsLen >= 3 && events[eventsLen-3] == CHARACTERS
+                    && events[eventsLen-2] + events[eventsLen-1] == charsLen) {
+                events[eventsLen-1] += length;
+            } else {
+                add(CHARACTERS, charsLen, length);
+            }
+            if (charsLen + length > chars.length)
+                chars = Arrays.copyOf(chars, Math.max(chars.length*2, charsLen+length));
+            System.arraycopy(ch, start, chars, charsLen, length);
+            charsLen += length;
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) {
+            characters(ch, start, length);
+        }
+
+        private void add(int... values) {
+            if (eventsLen + values.length > events.length)
+                events = Arrays.copyOf(events, Math.max(events.length*2, eventsLen+values.length));
+            System.arraycopy(values, 0, events, eventsLen, values.length);
+            eventsLen += values.length;
+        }
+
+        /**
+         * Pools a name, which is likely to repeat.
+         */
+        private int name(String s) {
+            if (s == null)
+                s = "";
+            Integer i = pool.get(s);
+            if (i == null) {
+                i = value(s);
+                pool.put(s, i);
+            }
+            return i;
+        }
+
+        /**
+         * Stores a value, which is unlikely to repeat.
+         */
+        private int value(String s) {
+            if (stringsLen == strings.length)
+                strings = Arrays.copyOf(strings, stringsLen*2);
+            strings[stringsLen] = s;
+            return stringsLen++;
+        }
+
+        ElementBuffer build() {
+            return new ElementBuffer(
+                    Arrays.copyOf(events, eventsLen),
+                    Arrays.copyOf(strings, stringsLen),
+                    Arrays.copyOf(chars, charsLen),
+                    nsUri == null ? "" : nsUri,
+                    localName);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime;
+
+import jakarta.xml.bind.ValidationEventHandler;
+import jakarta.xml.bind.annotation.DomHandler;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.sax.SAXResult;
+import javax.xml.transform.sax.SAXSource;
+
+/**
+ * {@link DomHandler} that captures wildcard content as {@link ElementBuffer}s
+ * instead of W3C DOM elements.
+ *
+ * <p>
+ * Use this on {@link XmlAnyElement} properties whose content is only passed through:
+ *
+ * <pre>
+ * &#64;XmlAnyElement(ElementBufferHandler.class)
+ * List&lt;ElementBuffer&gt; extensions;
+ * </pre>
+ *
+ * <p>
+ * The JAXB RI recognizes this handler and feeds it SAX events directly,
+ * without going through a {@link javax.xml.transform.Transformer} in either direction.
+ * Other consumers of the {@link Source} returned from {@link #marshal} still work,
+ * only slower.
+ *
+ * @since 4.0.3
+ */
+public final class ElementBufferHandler implements DomHandler<ElementBuffer,SAXResult> {
+
+    public ElementBufferHandler() {
+    }
+
+    @Override
+    public SAXResult createUnmarshaller(ValidationEventHandler errorHandler) {
+        return new SAXResult(new ElementBuffer.Recorder());
+    }
+
+    @Override
+    public ElementBuffer getElement(SAXResult rt) {
+        return ((ElementBuffer.Recorder)rt.getHandler()).build();
+    }
+
+    @Override
+    public Source marshal(final ElementBuffer element, ValidationEventHandler errorHandler) {
+        return new SAXSource(new XMLFilterImpl() {
+            @Override
+            public void parse(InputSource input) throws SAXException {
+                element.writeTo(getContentHandler());
+            }
+
+            @Override
+            public void parse(String systemId) throws SAXException {
+                element.writeTo(getContentHandler());
+            }
+        }, new InputSource());
+    }
+}
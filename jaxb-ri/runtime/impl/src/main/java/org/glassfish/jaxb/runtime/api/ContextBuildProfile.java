@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where the time went while building a {@link JAXBRIContext}.
+ *
+ * <p>
+ * Collected when the context is created with the {@link JAXBRIContext#BUILD_PROFILE}
+ * property, and available from {@link JAXBRIContext#getBuildProfile()}.
+ * The phases don't overlap, so they add up to about the total.
+ *
+ * @since 4.0.3
+ */
+public final class ContextBuildProfile {
+
+    /**
+     * The phases of building a context, in the order they run.
+     */
+    public enum Phase {
+        /**
+         * Reading annotations, wherever it happens.
+         */
+        ANNOTATIONS,
+        /**
+         * Discovering the types and building the runtime model with the {@code RuntimeModelBuilder},
+         * without reading the annotations.
+         */
+        MODEL,
+        /**
+         * Creating a {@code JaxBeanInfo} for each type of the model.
+         */
+        BEAN_INFOS,
+        /**
+         * Linking the {@code JaxBeanInfo}s together and building their loaders.
+         */
+        LINK,
+        /**
+         * Creating the {@link Bridge}s of the {@link TypeReference}s.
+         */
+        BRIDGES,
+        /**
+         * Assigning indexes to the known names, with the {@code NameBuilder}.
+         */
+        NAMES,
+        /**
+         * Releasing the model information no longer needed.
+         */
+        WRAP_UP,
+        /**
+         * Encoding the known names in UTF-8 for the marshaller, which is done
+         * on the first marshalling unless the context is profiled.
+         */
+        UTF8_NAME_TABLE
+    }
+
+    private final long totalNanos;
+    private final Map<Phase,Long> phaseNanos;
+    private final Map<Phase,Map<Class<?>,Long>> classNanos;
+
+    public ContextBuildProfile(long totalNanos, Map<Phase,Long> phaseNanos, Map<Phase,Map<Class<?>,Long>> classNanos) {
+        this.totalNanos = totalNanos;
+        this.phaseNanos = Collections.unmodifiableMap(new EnumMap<>(phaseNanos));
+        Map<Phase,Map<Class<?>,Long>> m = new EnumMap<>(Phase.class);
+        for (Map.Entry<Phase,Map<Class<?>,Long>> e : classNanos.entrySet())
+            m.put(e.getKey(), Collections.unmodifiableMap(e.getValue()));
+        this.classNanos = Collections.unmodifiableMap(m);
+    }
+
+    /**
+     * The time it took to build the context.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * The time spent in the given phase.
+     */
+    public long getNanos(Phase phase) {
+        Long n = phaseNanos.get(phase);
+        return n == null ? 0 : n;
+    }
+
+    /**
+     * The time spent on each bound class in the given phase, not counting its super classes.
+     * Only {@link Phase#BEAN_INFOS} and {@link Phase#LINK} are broken down per class.
+     *
+     * @return
+     *      never null, but can be empty.
+     */
+    public Map<Class<?>,Long> getClassNanos(Phase phase) {
+        Map<Class<?>,Long> m = classNanos.get(phase);
+        return m == null ? Collections.emptyMap() : m;
+    }
+
+    /**
+     * The classes that took the longest in the given phase, slowest first.
+     */
+    public List<Map.Entry<Class<?>,Long>> getSlowestClasses(Phase phase, int max) {
+        List<Map.Entry<Class<?>,Long>> l = new ArrayList<>(getClassNanos(phase).entrySet());
+        l.sort(Map.Entry.<Class<?>,Long>comparingByValue().reversed());
+        return l.size() > max ? l.subList(0, max) : l;
+    }
+
+    /**
+     * A human readable report, with the five slowest classes of the phases broken down per class.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("JAXBContext built in %.3f ms%n", totalNanos / 1e6));
+        for (Phase p : Phase.values()) {
+            sb.append(String.format("  %-16s %10.3f ms%n", p, getNanos(p) / 1e6));
+            for (Map.Entry<Class<?>,Long> e : getSlowestClasses(p, 5))
+                sb.append(String.format("    %-40s %10.3f ms%n", e.getKey().getName(), e.getValue() / 1e6));
+        }
+        return sb.toString();
+    }
+}
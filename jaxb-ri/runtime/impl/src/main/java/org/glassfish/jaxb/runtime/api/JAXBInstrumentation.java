@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.api;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Observes the work done by a {@link JAXBContext}, for metrics and tracing.
+ *
+ * <p>
+ * Set with the {@link JAXBRIContext#INSTRUMENTATION} property when the context is created.
+ * The methods are called synchronously by the thread doing the work, so they should be cheap.
+ * Without an instrumentation, the runtime only pays for a null check per operation.
+ *
+ * <p>
+ * All the methods do nothing by default, so that implementations override
+ * only what they are interested in.
+ *
+ * @see JfrInstrumentation
+ * @since 4.0.3
+ */
+public abstract class JAXBInstrumentation {
+
+    /**
+     * The kinds of {@link Operation}s.
+     */
+    public enum Kind {
+        /**
+         * Creation of a {@link JAXBContext}, including the augmented
+         * contexts created on the fly to unmarshal {@code xsi:type}s.
+         */
+        CONTEXT_BUILD,
+        /**
+         * Marshalling of one object.
+         */
+        MARSHAL,
+        /**
+         * Unmarshalling of one document.
+         */
+        UNMARSHAL
+    }
+
+    protected JAXBInstrumentation() {
+    }
+
+    /**
+     * Called when an operation starts.
+     *
+     * @return
+     *      anything to be handed back to {@link #finished(Operation, Object)},
+     *      like a tracing span. Can be null.
+     */
+    public Object started(Kind kind) {
+        return null;
+    }
+
+    /**
+     * Called when an operation completes, successfully or not.
+     *
+     * @param token
+     *      the value {@link #started(Kind)} returned.
+     */
+    public void finished(Operation operation, Object token) {
+    }
+
+    /**
+     * Called when a pooled {@link Marshaller} or {@link Unmarshaller} is taken from the context,
+     * as done by {@link Bridge}.
+     *
+     * @param type
+     *      {@code Marshaller.class} or {@code Unmarshaller.class}.
+     * @param hit
+     *      false if a new instance had to be created.
+     */
+    public void pooled(Class<?> type, boolean hit) {
+    }
+
+    /**
+     * Describes a completed operation.
+     */
+    public static final class Operation {
+        private final Kind kind;
+        private final JAXBContext context;
+        private final Class<?> type;
+        private final long durationNanos;
+        private final long bytes;
+        private final int elements;
+        private final boolean validating;
+        private final Throwable failure;
+
+        public Operation(Kind kind, JAXBContext context, Class<?> type, long durationNanos,
+                         long bytes, int elements, boolean validating, Throwable failure) {
+            this.kind = kind;
+            this.context = context;
+            this.type = type;
+            this.durationNanos = durationNanos;
+            this.bytes = bytes;
+            this.elements = elements;
+            this.validating = validating;
+            this.failure = failure;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * The context that did the work, or the one that was built.
+         * Null if building a context failed.
+         */
+        public JAXBContext getContext() {
+            return context;
+        }
+
+        /**
+         * The class of the marshalled object or of the unmarshalled result.
+         * Null if unknown, like for a failed unmarshalling.
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * The number of bytes written or read, or -1 if the operation
+         * didn't go through a byte stream the runtime controls,
+         * like a {@link javax.xml.stream.XMLStreamWriter} or a DOM node.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * The number of elements written or read, or -1 if it doesn't apply.
+         * Elements replayed by incremental marshalling aren't counted.
+         */
+        public int getElements() {
+            return elements;
+        }
+
+        /**
+         * True if the document was validated against a schema, the cost of which is included in the duration.
+         */
+        public boolean isValidating() {
+            return validating;
+        }
+
+        /**
+         * The exception that made the operation fail, or null.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return kind + (type == null ? "" : " " + type.getName()) + " " + durationNanos + "ns"
+                    + (bytes < 0 ? "" : " " + bytes + " bytes") + (elements < 0 ? "" : " " + elements + " elements")
+                    + (validating ? " validating" : "") + (failure == null ? "" : " failed: " + failure);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -297,6 +297,18 @@ public abstract class JAXBRIContext extends JAXBContext {
      */
     public abstract RuntimeTypeInfoSet getRuntimeTypeInfoSet();
 
+    /**
+     * Tells where the time went while building this context.
+     *
+     * @return
+     *      null unless the context was created with the {@link #BUILD_PROFILE} property.
+     *
+     * @since 4.0.3
+     */
+    public ContextBuildProfile getBuildProfile() {
+        return null;
+    }
+
     /**
      * Computes a Java identifier from a local name.
      *
@@ -508,4 +520,33 @@ public abstract class JAXBRIContext extends JAXBContext {
      */
     public static final String MAX_ERRORS = "org.glassfish.jaxb.maxErrorsCount";
 
+    /**
+     * The {@link JAXBInstrumentation} that observes the context being built
+     * and its marshal and unmarshal operations. None by default.
+     *
+     * JAXBInstrumentation
+     * @since 4.0.3
+     */
+    public static final String INSTRUMENTATION = "org.glassfish.jaxb.instrumentation";
+
+    /**
+     * If true, the time spent in each phase of building the context is collected
+     * into a {@link ContextBuildProfile}. This slows the build down a little.
+     *
+     * Boolean
+     * @since 4.0.3
+     */
+    public static final String BUILD_PROFILE = "org.glassfish.jaxb.buildProfile";
+
+    /**
+     * If true, the classes that have a serializer generated by the XJC
+     * {@code -Xfast-serializers} plugin are marshalled with it. The output is the same.
+     * False by default.
+     *
+     * Boolean
+     * @see org.glassfish.jaxb.runtime.v2.runtime.BeanSerializer
+     * @since 4.0.3
+     */
+    public static final String FAST_SERIALIZERS = "org.glassfish.jaxb.fastSerializers";
+
 }
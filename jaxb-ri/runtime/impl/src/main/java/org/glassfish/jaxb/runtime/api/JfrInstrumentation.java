@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.util.Map;
+
+/**
+ * {@link JAXBInstrumentation} that emits JDK Flight Recorder events.
+ *
+ * <p>
+ * The {@code org.glassfish.jaxb.ContextBuild}, {@code org.glassfish.jaxb.Marshal}
+ * and {@code org.glassfish.jaxb.Unmarshal} events are enabled by default, and
+ * {@code org.glassfish.jaxb.Pool} has to be enabled in the recording settings.
+ * Contexts created with the {@link JAXBRIContext#BUILD_PROFILE} property also report
+ * their {@link ContextBuildProfile} with {@code org.glassfish.jaxb.ContextBuildPhase} events,
+ * and with the disabled by default {@code org.glassfish.jaxb.ContextBuildClass} events.
+ * Events that aren't enabled in any recording cost next to nothing.
+ *
+ * <p>
+ * Requires the {@code jdk.jfr} module.
+ *
+ * @since 4.0.3
+ */
+public class JfrInstrumentation extends JAXBInstrumentation {
+
+    public JfrInstrumentation() {
+    }
+
+    @Override
+    public Object started(Kind kind) {
+        OperationEvent event;
+        switch (kind) {
+        case CONTEXT_BUILD:
+            event = new ContextBuildEvent();
+            break;
+        case MARSHAL:
+            event = new MarshalEvent();
+            break;
+        default:
+            event = new UnmarshalEvent();
+            break;
+        }
+        if (!event.isEnabled())
+            return null;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void finished(Operation operation, Object token) {
+        if (operation.getContext() instanceof JAXBRIContext) {
+            ContextBuildProfile profile = ((JAXBRIContext) operation.getContext()).getBuildProfile();
+            if (profile != null && operation.getKind() == Kind.CONTEXT_BUILD)
+                commit(profile);
+        }
+        if (token == null)
+            return;
+        OperationEvent event = (OperationEvent) token;
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = operation.getType();
+            event.bytes = operation.getBytes();
+            event.elements = operation.getElements();
+            event.validating = operation.isValidating();
+            event.failed = operation.getFailure() != null;
+            event.commit();
+        }
+    }
+
+    private static void commit(ContextBuildProfile profile) {
+        for (ContextBuildProfile.Phase phase : ContextBuildProfile.Phase.values()) {
+            PhaseEvent event = new PhaseEvent();
+            if (!event.shouldCommit())
+                break;
+            event.phase = phase.name();
+            event.time = profile.getNanos(phase);
+            event.commit();
+            for (Map.Entry<Class<?>, Long> e : profile.getClassNanos(phase).entrySet()) {
+                ClassEvent ce = new ClassEvent();
+                if (!ce.shouldCommit())
+                    break;
+                ce.phase = phase.name();
+                ce.type = e.getKey();
+                ce.time = e.getValue();
+                ce.commit();
+            }
+        }
+    }
+
+    @Override
+    public void pooled(Class<?> type, boolean hit) {
+        PoolEvent event = new PoolEvent();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    @Category("JAXB")
+    abstract static class OperationEvent extends Event {
+        @Label("Type")
+        Class<?> type;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Elements")
+        int elements;
+
+        @Label("Validating")
+        boolean validating;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("org.glassfish.jaxb.ContextBuild")
+    @Label("JAXB Context Build")
+    static final class ContextBuildEvent extends OperationEvent {
+    }
+
+    @Name("org.glassfish.jaxb.Marshal")
+    @Label("JAXB Marshal")
+    static final class MarshalEvent extends OperationEvent {
+    }
+
+    @Name("org.glassfish.jaxb.Unmarshal")
+    @Label("JAXB Unmarshal")
+    static final class UnmarshalEvent extends OperationEvent {
+    }
+
+    @Name("org.glassfish.jaxb.ContextBuildPhase")
+    @Label("JAXB Context Build Phase")
+    @Description("The time spent in a phase of building a context, with the " + JAXBRIContext.BUILD_PROFILE + " property")
+    @Category("JAXB")
+    static final class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Time")
+        @Timespan
+        long time;
+    }
+
+    @Name("org.glassfish.jaxb.ContextBuildClass")
+    @Label("JAXB Context Build Class")
+    @Description("The time spent on a class in a phase of building a context, with the " + JAXBRIContext.BUILD_PROFILE + " property")
+    @Category("JAXB")
+    @Enabled(false)
+    static final class ClassEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Type")
+        Class<?> type;
+
+        @Label("Time")
+        @Timespan
+        long time;
+    }
+
+    @Name("org.glassfish.jaxb.Pool")
+    @Label("JAXB Pool")
+    @Description("A pooled marshaller or unmarshaller taken from a context")
+    @Category("JAXB")
+    @Enabled(false)
+    static final class PoolEvent extends Event {
+        @Label("Type")
+        Class<?> type;
+
+        @Label("Hit")
+        boolean hit;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -12,6 +12,7 @@ package org.glassfish.jaxb.runtime.v2;
 
 import com.sun.istack.FinalArrayList;
 import org.glassfish.jaxb.core.Utils;
+import org.glassfish.jaxb.runtime.api.JAXBInstrumentation;
 import org.glassfish.jaxb.runtime.api.JAXBRIContext;
 import org.glassfish.jaxb.runtime.api.TypeReference;
 import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeAnnotationReader;
@@ -122,6 +123,16 @@ public class ContextFactory {
             maxErrorsCount = Integer.MAX_VALUE;
         }
 
+        JAXBInstrumentation instrumentation = getPropertyValue(properties, JAXBRIContext.INSTRUMENTATION, JAXBInstrumentation.class);
+
+        Boolean buildProfile = getPropertyValue(properties, JAXBRIContext.BUILD_PROFILE, Boolean.class);
+        if(buildProfile==null)
+            buildProfile = false;
+
+        Boolean fastSerializers = getPropertyValue(properties, JAXBRIContext.FAST_SERIALIZERS, Boolean.class);
+        if(fastSerializers==null)
+            fastSerializers = false;
+
         if(!properties.isEmpty()) {
             throw new JAXBException(Messages.UNSUPPORTED_PROPERTY.format(properties.keySet().iterator().next()));
         }
@@ -141,6 +152,9 @@ public class ContextFactory {
         builder.setDisableSecurityProcessing(disablesecurityProcessing);
         builder.setBackupWithParentNamespace(backupWithParentNamespace);
         builder.setMaxErrorsCount(maxErrorsCount);
+        builder.setInstrumentation(instrumentation);
+        builder.setBuildProfile(buildProfile);
+        builder.setFastSerializers(fastSerializers);
         return builder.build();
     }
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.model.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What is learned about annotation types while reading annotations,
+ * shared by all the {@link RuntimeInlineAnnotationReader}s of the process.
+ *
+ * <p>
+ * The values are kept with {@link ClassValue}s, so they go away with the
+ * annotation type and its class loader, and are never confused between
+ * two class loaders defining a type of the same name.
+ */
+final class AnnotationCache {
+
+    private AnnotationCache() {}
+
+    /**
+     * Whether an annotation type is visible from the class loader of the JAXB RI,
+     * so that a {@link LocatableAnnotation} proxy can be defined for it.
+     */
+    private static final ClassValue<Boolean> proxiable = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            ClassLoader cl = SecureLoader.getClassClassLoader(LocatableAnnotation.class);
+            try {
+                return Class.forName(type.getName(), false, cl) == type;
+            } catch (ClassNotFoundException e) {
+                // annotation not loadable
+                return false;
+            }
+        }
+    };
+
+    /**
+     * The elements of an annotation type, by name.
+     */
+    private static final ClassValue<Map<String,Method>> elements = new ClassValue<>() {
+        @Override
+        protected Map<String,Method> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The annotations of the package of a class, by type.
+     */
+    private static final ClassValue<Map<Class<? extends Annotation>,Annotation>> packageAnnotations = new ClassValue<>() {
+        @Override
+        protected Map<Class<? extends Annotation>,Annotation> computeValue(Class<?> clazz) {
+            Package p = clazz.getPackage();
+            if (p == null)
+                return Collections.emptyMap();
+            Annotation[] annotations = p.getAnnotations();
+            if (annotations.length == 0)
+                return Collections.emptyMap();
+            Map<Class<? extends Annotation>,Annotation> m = new HashMap<>();
+            for (Annotation a : annotations)
+                m.put(a.annotationType(), a);
+            return m;
+        }
+    };
+
+    static boolean isProxiable(Class<? extends Annotation> type) {
+        return proxiable.get(type);
+    }
+
+    static <A extends Annotation> A getPackageAnnotation(Class<A> type, Class<?> clazz) {
+        return type.cast(packageAnnotations.get(clazz).get(type));
+    }
+
+    /**
+     * Gets the method of the given annotation element.
+     *
+     * @throws NoSuchMethodException
+     *      if the annotation type has no such element.
+     */
+    static Method getElement(Class<? extends Annotation> type, String name) throws NoSuchMethodException {
+        Map<String,Method> m = elements.get(type);
+        Method e = m.get(name);
+        if (e == null) {
+            e = type.getMethod(name);
+            m.put(name, e);
+        }
+        return e;
+    }
+}
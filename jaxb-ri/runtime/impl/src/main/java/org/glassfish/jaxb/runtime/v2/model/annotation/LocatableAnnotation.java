@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -43,19 +43,15 @@ public class LocatableAnnotation implements InvocationHandler, Locatable, Locati
 
         // otherwise take the slow route
 
+        if(!AnnotationCache.isProxiable(type))
+            return annotation;  // annotation type not loadable from this class loader
+
         ClassLoader cl = SecureLoader.getClassClassLoader(LocatableAnnotation.class);
 
         try {
-            Class loadableT = Class.forName(type.getName(), false, cl);
-            if(loadableT !=type)
-                return annotation;  // annotation type not loadable from this class loader
-
             return (A)Proxy.newProxyInstance(cl,
                     new Class[]{ type, Locatable.class },
                     new LocatableAnnotation(annotation,parentSourcePos));
-        } catch (ClassNotFoundException e) {
-            // annotation not loadable
-            return annotation;
         } catch (IllegalArgumentException e) {
             // Proxy.newProxyInstance throws this if it cannot resolve this annotation
             // in this classloader
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -17,8 +17,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * {@link org.glassfish.jaxb.core.v2.model.annotation.AnnotationReader} that uses {@code java.lang.reflect} to
@@ -92,33 +90,15 @@ public final class RuntimeInlineAnnotationReader extends AbstractInlineAnnotatio
         return LocatableAnnotation.create(((Class<?>)clazz).getAnnotation(a),srcPos);
     }
 
-
-    /**
-     * Cache for package-level annotations.
-     */
-    private final Map<Class<? extends Annotation>,Map<Package,Annotation>> packageCache =
-            new HashMap<>();
-
     @Override
     public <A extends Annotation> A getPackageAnnotation(Class<A> a, Class clazz, Locatable srcPos) {
-        Package p = clazz.getPackage();
-        if(p==null) return null;
-
-        Map<Package, Annotation> cache = packageCache.computeIfAbsent(a, k -> new HashMap<>());
-
-        if(cache.containsKey(p))
-            return (A)cache.get(p);
-        else {
-            A ann = LocatableAnnotation.create(p.getAnnotation(a),srcPos);
-            cache.put(p,ann);
-            return ann;
-        }
+        return LocatableAnnotation.create(AnnotationCache.getPackageAnnotation(a,(Class<?>)clazz),srcPos);
     }
 
     @Override
     public Class getClassValue(Annotation a, String name) {
         try {
-            return (Class)a.annotationType().getMethod(name).invoke(a);
+            return (Class)AnnotationCache.getElement(a.annotationType(),name).invoke(a);
         } catch (IllegalAccessException e) {
             // impossible
             throw new IllegalAccessError(e.getMessage());
@@ -133,7 +113,7 @@ public final class RuntimeInlineAnnotationReader extends AbstractInlineAnnotatio
     @Override
     public Class[] getClassArrayValue(Annotation a, String name) {
         try {
-            return (Class[])a.annotationType().getMethod(name).invoke(a);
+            return (Class[])AnnotationCache.getElement(a.annotationType(),name).invoke(a);
         } catch (IllegalAccessException e) {
             // impossible
             throw new IllegalAccessError(e.getMessage());
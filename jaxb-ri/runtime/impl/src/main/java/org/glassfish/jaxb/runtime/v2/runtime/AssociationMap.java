@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,33 +10,42 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime;
 
-import java.util.HashSet;
-import java.util.IdentityHashMap;
-import java.util.Map;
-import java.util.Set;
-
 /**
  * Bi-directional map between elements, inner peers,
  * and outer peers.
- * 
+ *
+ * <p>
+ * Documents bound through {@link BinderImpl} can be large, so this map is kept compact.
+ * Associations live in identity-keyed open addressing tables
+ * (one indexed by element, holding both peers in parallel arrays,
+ * and one indexed by peer, pointing into the former),
+ * and {@link Entry} objects are only created when the map is queried.
+ *
  * <p>
- * TODO: this should be rewritten for efficiency.
- * 
+ * A map created with a {@link JAXBContextImpl} can be {@link #setBeansOnly(boolean) told}
+ * to only record associations with beans. Immutable values such as strings and enums,
+ * which show up as peers of map entries and leaf elements, are then not associated
+ * with a node, as they can't be identified anyway.
+ *
  * @since 2.0
- * 
+ *
  * @author
  *     Kohsuke Kawaguchi (kohsuke.kawaguchi@sun.com)
  */
 public final class AssociationMap<XmlNode> {
     public final static class Entry<XmlNode> {
         /** XML element. */
-    	private XmlNode element;
+    	private final XmlNode element;
         /** inner peer, or null. */
-        private Object inner;
+        private final Object inner;
         /** outer peer, or null. */
-        private Object outer;
+        private final Object outer;
 
-        private Entry() {}
+        private Entry(XmlNode element, Object inner, Object outer) {
+            this.element = element;
+            this.inner = inner;
+            this.outer = outer;
+        }
         public XmlNode element() {
         	return element;
         }
@@ -47,85 +56,358 @@ public final class AssociationMap<XmlNode> {
         	return outer;
         }
     }
-    
-    private final Map<XmlNode,Entry<XmlNode>> byElement = new IdentityHashMap<>();
-    private final Map<Object,Entry<XmlNode>> byPeer = new IdentityHashMap<>();
-    private final Set<XmlNode> usedNodes = new HashSet<>();
 
     /**
-     * Default constructor.
+     * Marks a deleted slot in the open addressing tables.
      */
-    public AssociationMap() {}
+    private static final Object TOMBSTONE = new Object();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Context that tells the beans from the other peers, or null.
+     */
+    private final JAXBContextImpl context;
+
+    /**
+     * If true, only peers that are beans of {@link #context} are recorded.
+     */
+    private boolean beansOnly;
+
+    /**
+     * Element table. {@code elements[i]} is associated with
+     * {@code inners[i]} and {@code outers[i]}.
+     */
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private Object[] inners = new Object[INITIAL_CAPACITY];
+    private Object[] outers = new Object[INITIAL_CAPACITY];
+    /** Number of live elements. */
+    private int elementCount;
+    /** Number of non-null slots, including tombstones. */
+    private int elementSlotsUsed;
+
+    /**
+     * Peer table. {@code peers[i]} is in the element table at {@code peerSlots[i]}.
+     */
+    private Object[] peers = new Object[INITIAL_CAPACITY];
+    private int[] peerSlots = new int[INITIAL_CAPACITY];
+    private int peerSlotsUsed;
+
+    /**
+     * Default constructor, which records all the associations.
+     */
+    public AssociationMap() {
+        this(null);
+    }
+
+    /**
+     * Creates a map that can be {@link #setBeansOnly(boolean) set} to only record
+     * associations with beans of the given context.
+     */
+    public AssociationMap(JAXBContextImpl context) {
+        this.context = context;
+    }
+
+    /**
+     * Sets whether only associations with beans are recorded from now on.
+     * Has no effect on a map created without a {@link JAXBContextImpl}.
+     */
+    public void setBeansOnly(boolean beansOnly) {
+        this.beansOnly = beansOnly;
+    }
+
+    public boolean isBeansOnly() {
+        return beansOnly;
+    }
 
     /** Records the new {@code element <->inner} peer association. */
     public void addInner( XmlNode element, Object inner ) {
-        Entry<XmlNode> e = byElement.get(element);
-        if(e!=null) {
-        	if(e.inner!=null)
-                byPeer.remove(e.inner);
-            e.inner = inner;
-        } else {
-        	e = new Entry<>();
-            e.element = element;
-            e.inner = inner;
+        if(!accepts(inner)) {
+            int i = findElement(element);
+            if(i>=0 && inners[i]!=null) {
+                removePeer(inners[i]);
+                inners[i] = null;
+                removeIfEmpty(i);
+            }
+            return;
         }
-        
-        byElement.put(element,e);
-        
-        Entry<XmlNode> old = byPeer.put(inner,e);
-        if(old!=null) {
-            if(old.outer!=null)
-                byPeer.remove(old.outer);
-            if(old.element!=null)
-                byElement.remove(old.element);
+
+        int e = findOrCreateElement(element);
+        if(inners[e]!=null)
+            removePeer(inners[e]);
+        inners[e] = inner;
+
+        int old = putPeer(inner,e);
+        if(old>=0 && old!=e) {
+            if(outers[old]!=null)
+                removePeer(outers[old]);
+            removeElement(old);
         }
     }
-    
+
     /** Records the new {@code element <-> outer} peer association. */
     public void addOuter( XmlNode element, Object outer ) {
-        Entry<XmlNode> e = byElement.get(element);
-        if(e!=null) {
-            if(e.outer!=null)
-                byPeer.remove(e.outer);
-        } else {
-            e = new Entry<>();
-            e.element = element;
+        if(!accepts(outer)) {
+            int i = findElement(element);
+            if(i>=0 && outers[i]!=null) {
+                removePeer(outers[i]);
+                outers[i] = null;
+                removeIfEmpty(i);
+            }
+            return;
         }
-        e.outer = outer;
-
-        byElement.put(element,e);
-        
-        Entry<XmlNode> old = byPeer.put(outer,e);
-        if(old!=null) {
-            old.outer=null;
-            
-            if(old.inner==null)
+
+        int e = findOrCreateElement(element);
+        if(outers[e]!=null)
+            removePeer(outers[e]);
+        outers[e] = outer;
+
+        int old = putPeer(outer,e);
+        if(old>=0 && old!=e) {
+            outers[old] = null;
+            if(inners[old]==null)
                 // remove this entry
-                byElement.remove(old.element);
+                removeElement(old);
         }
     }
 
-    public void addUsed( XmlNode n ) {
-        usedNodes.add(n);
+    /**
+     * Moves the associations of {@code from} to {@code to}, discarding
+     * whatever {@code to} was associated with before.
+     */
+    void transfer( XmlNode from, XmlNode to ) {
+        if(from==to)
+            return;
+
+        remove(to);
+
+        int i = findElement(from);
+        if(i<0)
+            return;
+        Object inner = inners[i], outer = outers[i];
+        if(inner!=null)     removePeer(inner);
+        if(outer!=null)     removePeer(outer);
+        removeElement(i);
+
+        int e = findOrCreateElement(to);
+        inners[e] = inner;
+        outers[e] = outer;
+        if(inner!=null)     putPeer(inner,e);
+        if(outer!=null)     putPeer(outer,e);
+    }
+
+    /**
+     * Forgets the associations of {@code element}.
+     */
+    void remove( XmlNode element ) {
+        int i = findElement(element);
+        if(i<0)
+            return;
+        if(inners[i]!=null)     removePeer(inners[i]);
+        if(outers[i]!=null)     removePeer(outers[i]);
+        removeElement(i);
     }
 
     public Entry<XmlNode> byElement( Object e ) {
-        return byElement.get(e);
+        int i = findElement(e);
+        if(i<0)     return null;
+        return entry(i);
     }
-    
+
     public Entry<XmlNode> byPeer( Object o ) {
-        return byPeer.get(o);
+        int i = findPeer(o);
+        if(i<0)     return null;
+        return entry(peerSlots[i]);
     }
-    
+
     public Object getInnerPeer( XmlNode element ) {
-        Entry<XmlNode> e = byElement(element);
-        if(e==null)     return null;
-        else            return e.inner;
+        int i = findElement(element);
+        if(i<0)     return null;
+        else        return inners[i];
     }
-    
+
     public Object getOuterPeer( XmlNode element ) {
-        Entry<XmlNode> e = byElement(element);
-        if(e==null)     return null;
-        else            return e.outer;
+        int i = findElement(element);
+        if(i<0)     return null;
+        else        return outers[i];
+    }
+
+    /**
+     * Number of elements that have associations.
+     */
+    public int size() {
+        return elementCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<XmlNode> entry(int i) {
+        return new Entry<>((XmlNode)elements[i],inners[i],outers[i]);
+    }
+
+    private boolean accepts(Object peer) {
+        if(!beansOnly || context==null)
+            return true;
+        JaxBeanInfo bi = context.getBeanInfo(peer);
+        return bi!=null && !bi.isImmutable();
+    }
+
+    private static int hash(Object o, int mask) {
+        int h = System.identityHashCode(o);
+        // identity hashes are poorly distributed in their low bits on some VMs
+        return (h ^ (h>>>16)) & mask;
+    }
+
+//
+// element table
+//
+    private int findElement(Object element) {
+        Object[] tbl = elements;
+        int mask = tbl.length-1;
+        for( int i=hash(element,mask); ; i=(i+1)&mask ) {
+            Object k = tbl[i];
+            if(k==element)  return i;
+            if(k==null)     return -1;
+        }
+    }
+
+    private int findOrCreateElement(Object element) {
+        int i = findElement(element);
+        if(i>=0)
+            return i;
+
+        if((elementSlotsUsed+1)*4 > elements.length*3)
+            rehash();
+
+        Object[] tbl = elements;
+        int mask = tbl.length-1;
+        for( i=hash(element,mask); tbl[i]!=null; i=(i+1)&mask )
+            ;
+        tbl[i] = element;
+        elementCount++;
+        elementSlotsUsed++;
+        return i;
+    }
+
+    private void removeIfEmpty(int i) {
+        if(inners[i]==null && outers[i]==null)
+            removeElement(i);
+    }
+
+    private void removeElement(int i) {
+        elements[i] = TOMBSTONE;
+        inners[i] = null;
+        outers[i] = null;
+        elementCount--;
+    }
+
+    /**
+     * Rebuilds both tables, dropping tombstones, and grows them if necessary.
+     */
+    private void rehash() {
+        Object[] oldElements = elements, oldInners = inners, oldOuters = outers;
+
+        int cap = INITIAL_CAPACITY;
+        while(elementCount*2 >= cap)
+            cap *= 2;
+
+        elements = new Object[cap];
+        inners = new Object[cap];
+        outers = new Object[cap];
+        elementSlotsUsed = 0;
+        peers = new Object[cap];
+        peerSlots = new int[cap];
+        peerSlotsUsed = 0;
+
+        int mask = cap-1;
+        for( int j=0; j<oldElements.length; j++ ) {
+            Object k = oldElements[j];
+            if(k==null || k==TOMBSTONE)
+                continue;
+            int i = hash(k,mask);
+            while(elements[i]!=null)
+                i = (i+1)&mask;
+            elements[i] = k;
+            inners[i] = oldInners[j];
+            outers[i] = oldOuters[j];
+            elementSlotsUsed++;
+            if(inners[i]!=null)     putPeer(inners[i],i);
+            if(outers[i]!=null)     putPeer(outers[i],i);
+        }
+    }
+
+//
+// peer table
+//
+    private int findPeer(Object peer) {
+        Object[] tbl = peers;
+        int mask = tbl.length-1;
+        for( int i=hash(peer,mask); ; i=(i+1)&mask ) {
+            Object k = tbl[i];
+            if(k==peer)     return i;
+            if(k==null)     return -1;
+        }
+    }
+
+    /**
+     * Associates a peer with an element slot.
+     *
+     * @return
+     *      the element slot that the peer was associated with before, or -1.
+     */
+    private int putPeer(Object peer, int slot) {
+        int i = findPeer(peer);
+        if(i>=0) {
+            int old = peerSlots[i];
+            peerSlots[i] = slot;
+            return old;
+        }
+
+        if((peerSlotsUsed+1)*4 > peers.length*3)
+            rehashPeers();
+
+        Object[] tbl = peers;
+        int mask = tbl.length-1;
+        for( i=hash(peer,mask); tbl[i]!=null; i=(i+1)&mask )
+            ;
+        tbl[i] = peer;
+        peerSlots[i] = slot;
+        peerSlotsUsed++;
+        return -1;
+    }
+
+    private void removePeer(Object peer) {
+        int i = findPeer(peer);
+        if(i>=0)
+            peers[i] = TOMBSTONE;
+    }
+
+    private void rehashPeers() {
+        Object[] oldPeers = peers;
+        int[] oldSlots = peerSlots;
+
+        int live = 0;
+        for (Object p : oldPeers)
+            if(p!=null && p!=TOMBSTONE)
+                live++;
+        int cap = INITIAL_CAPACITY;
+        while(live*2 >= cap)
+            cap *= 2;
+
+        peers = new Object[cap];
+        peerSlots = new int[cap];
+        peerSlotsUsed = 0;
+
+        int mask = cap-1;
+        for( int j=0; j<oldPeers.length; j++ ) {
+            Object p = oldPeers[j];
+            if(p==null || p==TOMBSTONE)
+                continue;
+            int i = hash(p,mask);
+            while(peers[i]!=null)
+                i = (i+1)&mask;
+            peers[i] = p;
+            peerSlots[i] = oldSlots[j];
+            peerSlotsUsed++;
+        }
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+
+/**
+ * Writes the element content of the properties that a bean class declares, with code
+ * specific to that class, instead of going through its {@link Property}s.
+ *
+ * <p>
+ * The XJC {@code -Xfast-serializers} plugin generates one for each class {@code Foo},
+ * as the class {@code Foo_JaxbSerializer} next to it, with a public constructor that takes
+ * the {@link NameBuilder} of the context being built. They are only used by contexts
+ * created with the {@link JAXBRIContext#FAST_SERIALIZERS} property.
+ *
+ * <p>
+ * The attributes, and the properties of the super classes, are still written by
+ * the {@link ClassBeanInfoImpl}. An instance is used by a single context,
+ * but for all of its marshallers at the same time.
+ *
+ * @param <BeanT> the bean class
+ * @since 4.0.3
+ */
+public interface BeanSerializer<BeanT> {
+
+    /**
+     * Added to the binary name of a bean class to get the one of its serializer.
+     */
+    String SUFFIX = "_JaxbSerializer";
+
+    /**
+     * Called once all the {@link JaxBeanInfo}s of the context exist, before the first
+     * {@link #serializeBody(Object, XMLSerializer)}.
+     *
+     * @param beanInfo
+     *      the {@link JaxBeanInfo} of the bean class, whose {@link ClassBeanInfoImpl#getProperty(String)}
+     *      gives the properties that the serializer leaves to the runtime.
+     */
+    void link(JAXBContextImpl context, ClassBeanInfoImpl<BeanT> beanInfo);
+
+    /**
+     * Writes the element content of the properties declared by the bean class.
+     *
+     * @see JaxBeanInfo#serializeBody(Object, XMLSerializer)
+     */
+    void serializeBody(BeanT bean, XMLSerializer target) throws SAXException, IOException, XMLStreamException;
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -16,12 +16,15 @@ import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.InterningXmlVisitor;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.SAXConnector;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
 import jakarta.xml.bind.*;
+import org.w3c.dom.Attr;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.xml.sax.SAXException;
 
 import javax.xml.namespace.QName;
 import javax.xml.validation.Schema;
+import java.util.Objects;
 
 /**
  * Implementation of {@link Binder}.
@@ -35,6 +38,17 @@ import javax.xml.validation.Schema;
  */
 public class BinderImpl<XmlNode> extends Binder<XmlNode> {
 
+    /**
+     * Boolean property that makes the binder only associate nodes with beans,
+     * and not with the strings, numbers, enums and other immutable values
+     * that leaf elements are bound to. This keeps the associations of
+     * large documents small, when {@link #getXMLNode(Object)} is only
+     * asked about beans. Off by default.
+     *
+     * @since 4.0.3
+     */
+    public static final String ASSOCIATE_BEANS_ONLY = "org.glassfish.jaxb.binder.associateBeansOnly";
+
     /**
      * The parent context object.
      */
@@ -58,11 +72,12 @@ public class BinderImpl<XmlNode> extends Binder<XmlNode> {
      * A {@link Binder} always works with the same
      * association map.
      */
-    private final AssociationMap<XmlNode> assoc = new AssociationMap<>();
+    private final AssociationMap<XmlNode> assoc;
     
     BinderImpl(JAXBContextImpl _context,InfosetScanner<XmlNode> scanner) {
         this.context = _context;
         this.scanner = scanner;
+        this.assoc = new AssociationMap<>(_context);
     }
     
     private UnmarshallerImpl getUnmarshaller() {
@@ -166,12 +181,11 @@ public class BinderImpl<XmlNode> extends Binder<XmlNode> {
     public XmlNode updateXML(Object jaxbObject, XmlNode xmlNode) throws JAXBException {
         if(jaxbObject==null || xmlNode==null)   throw new IllegalArgumentException();
 
-        // TODO
-        // for now just marshal
         // TODO: object model independenc
         Element e = (Element)xmlNode;
         Node ns = e.getNextSibling();
         Node p = e.getParentNode();
+        // the parent might not accept a second element (if it's the document)
         p.removeChild(e);
 
         // if the type object is passed, the following step is necessary to make
@@ -180,13 +194,99 @@ public class BinderImpl<XmlNode> extends Binder<XmlNode> {
         if(!bi.isElement())
             jaxbObject = new JAXBElement(new QName(e.getNamespaceURI(),e.getLocalName()),bi.jaxbType,jaxbObject);
 
-
-        getMarshaller().marshal(jaxbObject,p);
-        Node newNode = p.getLastChild();
+        // marshal the new subtree next to the old one, then only apply the differences,
+        // so that the unchanged nodes (and references to them) survive.
+        getMarshaller().marshal(jaxbObject,p,createOutput((XmlNode)p));
+        Element newNode = (Element)p.getLastChild();
         p.removeChild(newNode);
-        p.insertBefore(newNode,ns);
+        p.insertBefore(e,ns);
+
+        return (XmlNode)reconcile(e,newNode);
+    }
+
+    /**
+     * Updates {@code old} to look like {@code updated}, touching only the nodes that differ.
+     *
+     * @return
+     *      the element that ends up in the tree, which is {@code updated}
+     *      if {@code old} couldn't be reused.
+     */
+    private Element reconcile(Element old, Element updated) {
+        if(!sameName(old,updated)) {
+            old.getParentNode().replaceChild(updated,old);
+            forget(old);
+            return updated;
+        }
+
+        // attributes, including namespace declarations
+        NamedNodeMap oldAtts = old.getAttributes();
+        NamedNodeMap newAtts = updated.getAttributes();
+        for( int i=oldAtts.getLength()-1; i>=0; i-- ) {
+            Attr a = (Attr)oldAtts.item(i);
+            if(newAtts.getNamedItemNS(a.getNamespaceURI(),localName(a))==null)
+                old.removeAttributeNode(a);
+        }
+        for( int i=0; i<newAtts.getLength(); i++ ) {
+            Attr a = (Attr)newAtts.item(i);
+            Attr o = (Attr)oldAtts.getNamedItemNS(a.getNamespaceURI(),localName(a));
+            if(o==null || !o.getName().equals(a.getName()) || !o.getValue().equals(a.getValue()))
+                old.setAttributeNS(a.getNamespaceURI(),a.getName(),a.getValue());
+        }
+
+        // children, position by position
+        Node o = old.getFirstChild();
+        Node n = updated.getFirstChild();
+        while(n!=null) {
+            Node nextN = n.getNextSibling();
+            if(o==null) {
+                old.appendChild(n);
+            } else {
+                Node nextO = o.getNextSibling();
+                if(o.getNodeType()==Node.ELEMENT_NODE && n.getNodeType()==Node.ELEMENT_NODE)
+                    reconcile((Element)o,(Element)n);
+                else
+                if(o.getNodeType()!=n.getNodeType()
+                || !Objects.equals(o.getNodeName(),n.getNodeName())
+                || !Objects.equals(o.getNodeValue(),n.getNodeValue())) {
+                    old.replaceChild(n,o);
+                    forget(o);
+                }
+                o = nextO;
+            }
+            n = nextN;
+        }
+        while(o!=null) {
+            Node next = o.getNextSibling();
+            old.removeChild(o);
+            forget(o);
+            o = next;
+        }
+
+        assoc.transfer((XmlNode)updated,(XmlNode)old);
+        return old;
+    }
 
-        return (XmlNode)newNode;
+    /**
+     * Forgets the associations of a subtree that was dropped from the document.
+     */
+    @SuppressWarnings({"unchecked"})
+    private void forget(Node n) {
+        if(n.getNodeType()!=Node.ELEMENT_NODE)
+            return;
+        assoc.remove((XmlNode)n);
+        for( Node c=n.getFirstChild(); c!=null; c=c.getNextSibling() )
+            forget(c);
+    }
+
+    private static boolean sameName(Element a, Element b) {
+        return Objects.equals(a.getNamespaceURI(),b.getNamespaceURI())
+            && Objects.equals(a.getLocalName(),b.getLocalName())
+            && Objects.equals(a.getPrefix(),b.getPrefix());
+    }
+
+    private static String localName(Attr a) {
+        String ln = a.getLocalName();
+        return ln!=null ? ln : a.getName();
     }
 
     @Override
@@ -226,6 +326,9 @@ public class BinderImpl<XmlNode> extends Binder<XmlNode> {
             throw new PropertyException(name);
         }
 
+        if (ASSOCIATE_BEANS_ONLY.equals(name))
+            return assoc.isBeansOnly();
+
         Object prop = null;
         PropertyException pe = null;
 
@@ -257,6 +360,14 @@ public class BinderImpl<XmlNode> extends Binder<XmlNode> {
             throw new PropertyException(name, value);
         }
 
+        if (ASSOCIATE_BEANS_ONLY.equals(name)) {
+            if (!(value instanceof Boolean))
+                throw new PropertyException(Messages.MUST_BE_X.format(
+                        name, Boolean.class.getName(), value == null ? null : value.getClass().getName()));
+            assoc.setBeansOnly((Boolean) value);
+            return;
+        }
+
         PropertyException pe = null;
 
         try {
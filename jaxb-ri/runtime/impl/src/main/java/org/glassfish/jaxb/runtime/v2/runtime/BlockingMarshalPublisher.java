@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Flow.Publisher} that marshals an object into chunks of bytes
+ * as the subscriber asks for them.
+ *
+ * <p>
+ * This is a blocking bridge, not a non-blocking publisher. Marshalling is a recursive
+ * traversal of the object tree that can't be suspended in the middle, so it runs as
+ * a single task of the given {@link Executor}, submitted when the subscriber first
+ * signals demand. Bytes are collected into a chunk, and when the chunk is full and
+ * there's no outstanding demand, the task blocks its thread until the subscriber
+ * asks for more. So only one chunk is held in memory at any given time,
+ * no matter how big the document is, but the thread is held until
+ * the document is done or the subscription is cancelled.
+ *
+ * <p>
+ * The executor should hence be dedicated to such tasks, with a thread per
+ * concurrent publisher. In particular, a subscriber that requests more only
+ * from a task of the same executor can deadlock a bounded pool.
+ *
+ * <p>
+ * All the signals are sent from the marshalling task, so they are serialized
+ * as required by the reactive streams rules. The publisher is single-use.
+ */
+final class BlockingMarshalPublisher implements Flow.Publisher<ByteBuffer> {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final MarshallerImpl marshaller;
+    private final Object jaxbElement;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    BlockingMarshalPublisher(MarshallerImpl marshaller, Object jaxbElement, Executor executor) {
+        this.marshaller = marshaller;
+        this.jaxbElement = jaxbElement;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        if(subscriber==null)
+            throw new NullPointerException();
+        if(!subscribed.compareAndSet(false,true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException(Messages.ASYNC_MARSHAL_ALREADY_SUBSCRIBED.format()));
+            return;
+        }
+        subscriber.onSubscribe(new Task(subscriber));
+    }
+
+    /**
+     * The subscription, which is also the marshalling task and the stream it writes to.
+     */
+    private final class Task extends OutputStream implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /** Guarded by this. */
+        private long demand;
+        private boolean started;
+        private boolean cancelled;
+        private Throwable invalidRequest;
+
+        private byte[] chunk = new byte[CHUNK_SIZE];
+        private int len;
+
+        Task(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            boolean start;
+            synchronized(this) {
+                if(cancelled)
+                    return;
+                if(n<=0)
+                    invalidRequest = new IllegalArgumentException(Messages.ASYNC_MARSHAL_ILLEGAL_REQUEST.format(n));
+                else
+                    demand = demand+n<0 ? Long.MAX_VALUE : demand+n;
+                start = !started;
+                started = true;
+                notifyAll();
+            }
+            if(start) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    synchronized(this) {
+                        cancelled = true;
+                    }
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized(this) {
+                cancelled = true;
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                marshaller.marshal(jaxbElement,this);
+                emit();
+                if(awaitDemand(false))
+                    subscriber.onComplete();
+            } catch (Throwable t) {
+                Throwable e;
+                synchronized(this) {
+                    e = cancelled ? null : invalidRequest!=null ? invalidRequest : t;
+                    cancelled = true;
+                }
+                if(e!=null)
+                    subscriber.onError(e);
+            }
+        }
+
+        /**
+         * Blocks until the subscriber is ready to take another chunk.
+         *
+         * @param consume
+         *      true to take one from the demand.
+         * @return
+         *      false if the subscription was cancelled.
+         */
+        private boolean awaitDemand(boolean consume) throws IOException {
+            synchronized(this) {
+                while(demand==0 && !cancelled && invalidRequest==null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                if(invalidRequest!=null)
+                    throw new IOException(invalidRequest);
+                if(cancelled)
+                    return false;
+                if(consume && demand!=Long.MAX_VALUE)
+                    demand--;
+                return true;
+            }
+        }
+
+        /**
+         * Sends the bytes collected so far.
+         */
+        private void emit() throws IOException {
+            if(len==0)
+                return;
+            if(!awaitDemand(true))
+                throw new Cancelled();
+            subscriber.onNext(ByteBuffer.wrap(chunk,0,len));
+            // the subscriber owns the buffer now
+            chunk = new byte[CHUNK_SIZE];
+            len = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if(len==chunk.length)
+                emit();
+            chunk[len++] = (byte)b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int l) throws IOException {
+            while(l>0) {
+                if(len==chunk.length)
+                    emit();
+                int n = Math.min(l,chunk.length-len);
+                System.arraycopy(b,off,chunk,len,n);
+                len += n;
+                off += n;
+                l -= n;
+            }
+        }
+    }
+
+    /**
+     * Aborts marshalling once the subscription is cancelled.
+     */
+    private static final class Cancelled extends IOException {
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import org.glassfish.jaxb.core.v2.model.annotation.Locatable;
+import org.glassfish.jaxb.core.v2.model.core.ErrorHandler;
+import org.glassfish.jaxb.runtime.api.ContextBuildProfile;
+import org.glassfish.jaxb.runtime.api.ContextBuildProfile.Phase;
+import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeAnnotationReader;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Collects the {@link ContextBuildProfile} while a {@link JAXBContextImpl} is being built.
+ *
+ * <p>
+ * Annotation reading is spread over several phases, so it's timed by wrapping
+ * the {@link RuntimeAnnotationReader}, and taken out of the phase it happened in.
+ * Not thread-safe, as a context is built by one thread.
+ */
+final class BuildProfiler {
+
+    private final long start = System.nanoTime();
+    private final Map<Phase,Long> phaseNanos = new EnumMap<>(Phase.class);
+    private final Map<Phase,Map<Class<?>,Long>> classNanos = new EnumMap<>(Phase.class);
+
+    /**
+     * Time spent reading annotations so far.
+     */
+    private long annotationNanos;
+
+    private Phase phase;
+    private long phaseStart;
+    private long phaseAnnotationNanos;
+
+    /**
+     * Time spent in the nested {@link #time(Class, Supplier)} calls of the current one.
+     */
+    private long nestedNanos;
+
+    void begin(Phase phase) {
+        assert this.phase == null;
+        this.phase = phase;
+        this.phaseAnnotationNanos = annotationNanos;
+        this.phaseStart = System.nanoTime();
+    }
+
+    void end() {
+        long annotations = annotationNanos - phaseAnnotationNanos;
+        add(phase, System.nanoTime() - phaseStart - annotations);
+        add(Phase.ANNOTATIONS, annotations);
+        phase = null;
+    }
+
+    private void add(Phase phase, long nanos) {
+        phaseNanos.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Runs a step of the current phase done for the given class, and records the time
+     * it took on its own, that is, without the steps for other classes it triggered.
+     */
+    <T> T time(Class<?> type, Supplier<T> step) {
+        long outer = nestedNanos;
+        nestedNanos = 0;
+        long stepStart = System.nanoTime();
+        try {
+            return step.get();
+        } finally {
+            long elapsed = System.nanoTime() - stepStart;
+            classNanos.computeIfAbsent(phase, p -> new HashMap<>()).merge(type, elapsed - nestedNanos, Long::sum);
+            nestedNanos = outer + elapsed;
+        }
+    }
+
+    /**
+     * Links a bean info, linking its super classes first, so that
+     * the time recorded for each class only covers its own linking.
+     */
+    void link(JaxBeanInfo<?> bi, JAXBContextImpl grammar) {
+        if (!(bi instanceof ClassBeanInfoImpl)) {
+            bi.link(grammar);
+            return;
+        }
+        ClassBeanInfoImpl<?> cbi = (ClassBeanInfoImpl<?>) bi;
+        if (cbi.superClazz != null)
+            link(cbi.superClazz, grammar);
+        time(cbi.jaxbType, () -> {
+            cbi.link(grammar);
+            return null;
+        });
+    }
+
+    RuntimeAnnotationReader wrap(RuntimeAnnotationReader reader) {
+        return new ProfilingAnnotationReader(reader);
+    }
+
+    ContextBuildProfile finish() {
+        return new ContextBuildProfile(System.nanoTime() - start, phaseNanos, classNanos);
+    }
+
+    /**
+     * Times the calls to another {@link RuntimeAnnotationReader}.
+     */
+    private final class ProfilingAnnotationReader implements RuntimeAnnotationReader {
+        private final RuntimeAnnotationReader core;
+
+        ProfilingAnnotationReader(RuntimeAnnotationReader core) {
+            this.core = core;
+        }
+
+        private void done(long callStart) {
+            annotationNanos += System.nanoTime() - callStart;
+        }
+
+        @Override
+        public void setErrorHandler(ErrorHandler errorHandler) {
+            core.setErrorHandler(errorHandler);
+        }
+
+        @Override
+        public <A extends Annotation> A getFieldAnnotation(Class<A> annotation, Field field, Locatable srcpos) {
+            long s = System.nanoTime();
+            try {
+                return core.getFieldAnnotation(annotation, field, srcpos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public boolean hasFieldAnnotation(Class<? extends Annotation> annotationType, Field field) {
+            long s = System.nanoTime();
+            try {
+                return core.hasFieldAnnotation(annotationType, field);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public boolean hasClassAnnotation(Class clazz, Class<? extends Annotation> annotationType) {
+            long s = System.nanoTime();
+            try {
+                return core.hasClassAnnotation(clazz, annotationType);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public Annotation[] getAllFieldAnnotations(Field field, Locatable srcPos) {
+            long s = System.nanoTime();
+            try {
+                return core.getAllFieldAnnotations(field, srcPos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public <A extends Annotation> A getMethodAnnotation(Class<A> annotation, Method getter, Method setter, Locatable srcpos) {
+            long s = System.nanoTime();
+            try {
+                return core.getMethodAnnotation(annotation, getter, setter, srcpos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public boolean hasMethodAnnotation(Class<? extends Annotation> annotation, String propertyName, Method getter, Method setter, Locatable srcPos) {
+            long s = System.nanoTime();
+            try {
+                return core.hasMethodAnnotation(annotation, propertyName, getter, setter, srcPos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public Annotation[] getAllMethodAnnotations(Method method, Locatable srcPos) {
+            long s = System.nanoTime();
+            try {
+                return core.getAllMethodAnnotations(method, srcPos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public <A extends Annotation> A getMethodAnnotation(Class<A> annotation, Method method, Locatable srcpos) {
+            long s = System.nanoTime();
+            try {
+                return core.getMethodAnnotation(annotation, method, srcpos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public boolean hasMethodAnnotation(Class<? extends Annotation> annotation, Method method) {
+            long s = System.nanoTime();
+            try {
+                return core.hasMethodAnnotation(annotation, method);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public <A extends Annotation> A getMethodParameterAnnotation(Class<A> annotation, Method method, int paramIndex, Locatable srcPos) {
+            long s = System.nanoTime();
+            try {
+                return core.getMethodParameterAnnotation(annotation, method, paramIndex, srcPos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public <A extends Annotation> A getClassAnnotation(Class<A> annotation, Class clazz, Locatable srcpos) {
+            long s = System.nanoTime();
+            try {
+                return core.getClassAnnotation(annotation, clazz, srcpos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public <A extends Annotation> A getPackageAnnotation(Class<A> annotation, Class clazz, Locatable srcpos) {
+            long s = System.nanoTime();
+            try {
+                return core.getPackageAnnotation(annotation, clazz, srcpos);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public Type getClassValue(Annotation a, String name) {
+            long s = System.nanoTime();
+            try {
+                return core.getClassValue(a, name);
+            } finally {
+                done(s);
+            }
+        }
+
+        @Override
+        public Type[] getClassArrayValue(Annotation a, String name) {
+            long s = System.nanoTime();
+            try {
+                return core.getClassArrayValue(a, name);
+            } finally {
+                done(s);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -102,6 +102,13 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
     private /*final*/ Property<BeanT>[] uriProperties;
 
     private final Method factoryMethod;
+
+    /**
+     * Writes the element content of {@link #properties} instead of them, if there is one.
+     *
+     * @see JAXBContextImpl#fastSerializers
+     */
+    private /*final*/ BeanSerializer<BeanT> serializer;
     
     /*package*/ ClassBeanInfoImpl(JAXBContextImpl owner, RuntimeClassInfo ci) {
         super(owner,ci,ci.getClazz(),ci.getTypeName(),ci.isElement(),false,true);
@@ -163,9 +170,31 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         else
             tagName = null;
 
+        if(owner.fastSerializers && !retainPropertyInfo && owner.nameBuilder!=null)
+            serializer = createSerializer(owner.nameBuilder);
+
         setLifecycleFlags();
     }
 
+    /**
+     * Creates the {@link BeanSerializer} generated for {@link #jaxbType}, if there is one.
+     */
+    @SuppressWarnings("unchecked")
+    private BeanSerializer<BeanT> createSerializer(NameBuilder names) {
+        Class<?> c;
+        try {
+            c = Class.forName(jaxbType.getName()+BeanSerializer.SUFFIX, true, jaxbType.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        try {
+            return c.asSubclass(BeanSerializer.class).getConstructor(NameBuilder.class).newInstance(names);
+        } catch (ReflectiveOperationException | ClassCastException | SecurityException e) {
+            logger.log(Level.WARNING,Messages.UNUSABLE_SERIALIZER.format(c.getName(),jaxbType.getName()),e);
+            return null;
+        }
+    }
+
     private void checkOverrideProperties(Property p) {
         ClassBeanInfoImpl bi = this;
         while ((bi = bi.superClazz) != null) {
@@ -227,6 +256,31 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
             uriProperties = EMPTY_PROPERTIES;
         else
             uriProperties = uriProps.toArray(new Property[0]);
+
+        if(serializer!=null) {
+            for (Property p : properties) {
+                if(p.isHiddenByOverride()) {
+                    // a sub class redeclares it, which the serializer doesn't know about
+                    serializer = null;
+                    return;
+                }
+            }
+            serializer.link(grammar,this);
+        }
+    }
+
+    /**
+     * Returns the property declared by {@link #jaxbType} with the given name.
+     *
+     * @return
+     *      null if there is none.
+     */
+    public Property<BeanT> getProperty(String fieldName) {
+        for (Property<BeanT> p : properties) {
+            if(fieldName.equals(p.getFieldName()))
+                return p;
+        }
+        return null;
     }
 
     @Override
@@ -324,6 +378,10 @@ public final class ClassBeanInfoImpl<BeanT> extends JaxBeanInfo<BeanT> implement
         if (superClazz != null) {
             superClazz.serializeBody(bean, target);
         }
+        if (serializer != null) {
+            serializer.serializeBody(bean, target);
+            return;
+        }
         try {
             for (Property<BeanT> p : properties) {
                 if (retainPropertyInfo) {
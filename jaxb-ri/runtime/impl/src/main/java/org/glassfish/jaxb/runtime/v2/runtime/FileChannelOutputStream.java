@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link OutputStream} that writes a file with positional {@link FileChannel} writes
+ * from a direct buffer.
+ *
+ * <p>
+ * The marshaller's output is collected into a direct buffer that's reused for the
+ * whole file, so each write system call takes a large block without the copy into
+ * a temporary direct buffer that writing a heap buffer would take.
+ *
+ * <p>
+ * The file isn't memory mapped: a mapping can't be released on demand, which keeps
+ * the file from being truncated or deleted on Windows, and running out of disk space
+ * while writing through a mapping crashes the VM instead of throwing an {@link IOException}.
+ */
+final class FileChannelOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 1<<16;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    /** File position where {@link #buffer} goes. */
+    private long position;
+
+    FileChannelOutputStream(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            position += channel.write(buffer,position);
+        buffer.clear();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if(!buffer.hasRemaining())
+            flushBuffer();
+        buffer.put((byte)b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while(len>0) {
+            if(!buffer.hasRemaining())
+                flushBuffer();
+            int n = Math.min(len,buffer.remaining());
+            buffer.put(b,off,n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(buffer==null)
+            return;
+        try {
+            flushBuffer();
+        } finally {
+            buffer = null;
+            channel.close();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -27,10 +27,12 @@ import org.glassfish.jaxb.runtime.v2.model.impl.RuntimeModelBuilder;
 import org.glassfish.jaxb.core.v2.model.nav.Navigator;
 import org.glassfish.jaxb.core.v2.runtime.RuntimeUtil;
 import org.glassfish.jaxb.runtime.v2.runtime.output.Encoded;
+import org.glassfish.jaxb.runtime.v2.runtime.output.FastInfosetVocabulary;
 import org.glassfish.jaxb.runtime.v2.runtime.property.AttributeProperty;
 import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
 import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Loader;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.NameTable;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.TagName;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
@@ -63,12 +65,15 @@ import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * This class provides the implementation of JAXBContext.
@@ -95,6 +100,22 @@ public final class JAXBContextImpl extends JAXBRIContext {
      */
     private final Map<Class,JaxBeanInfo> beanInfoMap = new LinkedHashMap<>();
 
+    /**
+     * Remembers which key of {@link #beanInfoMap} handles objects of a given runtime class,
+     * as computed by {@link #getBeanInfo(Object)}, so that proxies and unbound subclasses
+     * don't walk their type hierarchy for every object. Null if there's none.
+     *
+     * <p>
+     * The key is cached instead of the {@link JaxBeanInfo} itself, since a value that
+     * refers back to this context would keep it alive as long as the class is.
+     */
+    private final ClassValue<Class> beanInfoKeys = new ClassValue<Class>() {
+        @Override
+        protected Class computeValue(Class type) {
+            return findBeanInfoKey(type);
+        }
+    };
+
     /**
      * All created {@link JaxBeanInfo}s.
      * Updated from each {@link JaxBeanInfo}s constructors to avoid infinite recursion
@@ -111,7 +132,7 @@ public final class JAXBContextImpl extends JAXBRIContext {
     /**
      * Pool of {@link Marshaller}s.
      */
-    public final Pool<Marshaller> marshallerPool = new Pool.Impl<>() {
+    public final Pool<Marshaller> marshallerPool = new ContextPool<>(Marshaller.class) {
         protected @NotNull
         @Override
         Marshaller create() {
@@ -119,7 +140,7 @@ public final class JAXBContextImpl extends JAXBRIContext {
         }
     };
 
-    public final Pool<Unmarshaller> unmarshallerPool = new Pool.Impl<>() {
+    public final Pool<Unmarshaller> unmarshallerPool = new ContextPool<>(Unmarshaller.class) {
         protected @NotNull
         @Override
         Unmarshaller create() {
@@ -127,6 +148,47 @@ public final class JAXBContextImpl extends JAXBRIContext {
         }
     };
 
+    /**
+     * Same as {@link Pool.Impl}, but reports hits and misses to the {@link #instrumentation}.
+     */
+    private abstract class ContextPool<T> implements Pool<T> {
+        private final Class<T> type;
+        private volatile WeakReference<ConcurrentLinkedQueue<T>> queue;
+
+        ContextPool(Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public final T take() {
+            T t = getQueue().poll();
+            if(instrumentation!=null)
+                instrumentation.pooled(type,t!=null);
+            if(t==null)
+                return create();
+            return t;
+        }
+
+        @Override
+        public final void recycle(T t) {
+            getQueue().offer(t);
+        }
+
+        private ConcurrentLinkedQueue<T> getQueue() {
+            WeakReference<ConcurrentLinkedQueue<T>> q = queue;
+            if(q!=null) {
+                ConcurrentLinkedQueue<T> d = q.get();
+                if(d!=null)
+                    return d;
+            }
+            ConcurrentLinkedQueue<T> d = new ConcurrentLinkedQueue<>();
+            queue = new WeakReference<>(d);
+            return d;
+        }
+
+        protected abstract T create();
+    }
+
     /**
      * Used to assign indices to known names in this grammar.
      * Reset to null once the build phase is completed.
@@ -217,6 +279,30 @@ public final class JAXBContextImpl extends JAXBRIContext {
      */
     public final int maxErrorsCount;
 
+    /**
+     * Observes this context, or null.
+     *
+     * @see JAXBRIContext#INSTRUMENTATION
+     */
+    public final JAXBInstrumentation instrumentation;
+
+    /**
+     * Where the time went while building this context, if asked for with {@link JAXBRIContext#BUILD_PROFILE}.
+     */
+    private final ContextBuildProfile buildProfile;
+
+    /**
+     * If true, the classes are marshalled with their {@link BeanSerializer}s, where they have one.
+     *
+     * @see JAXBRIContext#FAST_SERIALIZERS
+     */
+    public final boolean fastSerializers;
+
+    /**
+     * Non-null while this context is being built with a {@link #buildProfile}.
+     */
+    private BuildProfiler profiler;
+
     /**
      * Returns declared XmlNs annotations (from package-level annotation XmlSchema
      *
@@ -241,6 +327,9 @@ public final class JAXBContextImpl extends JAXBRIContext {
         this.disableSecurityProcessing = builder.disableSecurityProcessing;
         this.backupWithParentNamespace = builder.backupWithParentNamespace;
         this.maxErrorsCount = builder.maxErrorsCount;
+        this.instrumentation = builder.instrumentation;
+        this.fastSerializers = builder.fastSerializers;
+        this.profiler = builder.buildProfile ? new BuildProfiler() : null;
 
         Collection<TypeReference> typeRefs = builder.typeRefs;
 
@@ -252,7 +341,10 @@ public final class JAXBContextImpl extends JAXBRIContext {
         }
         this.fastBoot = fastB;
 
+        if(profiler!=null)  profiler.begin(ContextBuildProfile.Phase.MODEL);
         RuntimeTypeInfoSet typeSet = getTypeInfoSet();
+        if(profiler!=null)  profiler.end();
+        if(profiler!=null)  profiler.begin(ContextBuildProfile.Phase.BEAN_INFOS);
 
         // at least prepare the empty table so that we don't have to check for null later
         elements.put(null,new LinkedHashMap<>());
@@ -316,16 +408,25 @@ public final class JAXBContextImpl extends JAXBRIContext {
         beanInfoMap.put(CompositeStructure.class,new CompositeStructureBeanInfo(this));
 
         getOrCreate(typeSet.getAnyTypeInfo());
+        if(profiler!=null)  profiler.end();
 
         // then link them all!
-        for (JaxBeanInfo bi : beanInfos.values())
-            bi.link(this);
+        if(profiler==null) {
+            for (JaxBeanInfo bi : beanInfos.values())
+                bi.link(this);
+        } else {
+            profiler.begin(ContextBuildProfile.Phase.LINK);
+            for (JaxBeanInfo bi : beanInfos.values())
+                profiler.link(bi,this);
+            profiler.end();
+        }
 
         // register primitives for boxed types just to make GrammarInfo fool-proof
         for( Map.Entry<Class<?>,Class<?>> e : RuntimeUtil.primitiveToBox.entrySet() )
             beanInfoMap.put( e.getKey(), beanInfoMap.get(e.getValue()) );
 
         // build bridges
+        if(profiler!=null)  profiler.begin(ContextBuildProfile.Phase.BRIDGES);
         Navigator<Type, Class, Field, Method> nav = typeSet.getNavigator();
 
         for (TypeReference tr : typeRefs) {
@@ -361,15 +462,31 @@ public final class JAXBContextImpl extends JAXBRIContext {
 
             bridges.put(tr,bridge);
         }
+        if(profiler!=null)  profiler.end();
 
+        if(profiler!=null)  profiler.begin(ContextBuildProfile.Phase.NAMES);
         this.nameList = nameBuilder.conclude();
+        if(profiler!=null)  profiler.end();
 
+        if(profiler!=null)  profiler.begin(ContextBuildProfile.Phase.WRAP_UP);
         for (JaxBeanInfo bi : beanInfos.values())
             bi.wrapUp();
+        if(profiler!=null)  profiler.end();
 
         // no use for them now
         nameBuilder = null;
         beanInfos = null;
+
+        if(profiler!=null) {
+            // otherwise built by the first marshalling, where it would go unnoticed
+            profiler.begin(ContextBuildProfile.Phase.UTF8_NAME_TABLE);
+            getUTF8NameTable();
+            profiler.end();
+            this.buildProfile = profiler.finish();
+            profiler = null;
+        } else {
+            this.buildProfile = null;
+        }
     }
 
     /**
@@ -380,6 +497,11 @@ public final class JAXBContextImpl extends JAXBRIContext {
         return hasSwaRef;
     }
 
+    @Override
+    public ContextBuildProfile getBuildProfile() {
+        return buildProfile;
+    }
+
     @Override
     public RuntimeTypeInfoSet getRuntimeTypeInfoSet() {
         try {
@@ -402,7 +524,9 @@ public final class JAXBContextImpl extends JAXBRIContext {
                 return r;
         }
 
-        final RuntimeModelBuilder builder = new RuntimeModelBuilder(this,annotationReader,subclassReplacements,defaultNsUri);
+        final RuntimeModelBuilder builder = new RuntimeModelBuilder(this,
+                profiler==null ? annotationReader : profiler.wrap(annotationReader),
+                subclassReplacements,defaultNsUri);
 
         IllegalAnnotationsException.Builder errorHandler = new IllegalAnnotationsException.Builder();
         builder.setErrorHandler(errorHandler);
@@ -461,7 +585,10 @@ public final class JAXBContextImpl extends JAXBRIContext {
     protected ClassBeanInfoImpl getOrCreate( RuntimeClassInfo ci ) {
         ClassBeanInfoImpl bi = (ClassBeanInfoImpl)beanInfos.get(ci);
         if(bi!=null)    return bi;
-        bi = new ClassBeanInfoImpl(this,ci);
+        if(profiler==null)
+            bi = new ClassBeanInfoImpl(this,ci);
+        else
+            bi = profiler.time(ci.getClazz(), () -> new ClassBeanInfoImpl(this,ci));
         beanInfoMap.put(bi.jaxbType,bi);
         return bi;
     }
@@ -512,16 +639,22 @@ public final class JAXBContextImpl extends JAXBRIContext {
      *      if {@code c} isn't a JAXB-bound class and {@code fatal==false}.
      */
     public JaxBeanInfo getBeanInfo(Object o) {
+        Class key = beanInfoKeys.get(o.getClass());
+        if(key==null)   return null;
+        return beanInfoMap.get(key);
+    }
+
+    private Class findBeanInfoKey(Class type) {
         // don't allow xs:anyType beanInfo to handle all the unbound objects
-        for( Class c=o.getClass(); c!=Object.class; c=c.getSuperclass()) {
-            JaxBeanInfo bi = beanInfoMap.get(c);
-            if(bi!=null)    return bi;
+        for( Class c=type; c!=Object.class; c=c.getSuperclass()) {
+            if(beanInfoMap.get(c)!=null)
+                return c;
         }
-        if(o instanceof Element)
-            return beanInfoMap.get(Object.class);   // return the BeanInfo for xs:anyType
-        for( Class c : o.getClass().getInterfaces()) {
-            JaxBeanInfo bi = beanInfoMap.get(c);
-            if(bi!=null)    return bi;
+        if(Element.class.isAssignableFrom(type))
+            return Object.class;   // the BeanInfo for xs:anyType
+        for( Class c : type.getInterfaces()) {
+            if(beanInfoMap.get(c)!=null)
+                return c;
         }
         return null;
     }
@@ -656,6 +789,29 @@ public final class JAXBContextImpl extends JAXBRIContext {
         return utf8nameTable;
     }
 
+    /**
+     * Known names, used by the unmarshaller in place of {@link String#intern()}.
+     */
+    private NameTable nameTable;
+
+    public synchronized NameTable getNameTable() {
+        if(nameTable==null)
+            nameTable = new NameTable(nameList);
+        return nameTable;
+    }
+
+    /**
+     * Names of this context as a Fast Infoset external vocabulary.
+     * Only created when Fast Infoset is used.
+     */
+    private FastInfosetVocabulary fastInfosetVocabulary;
+
+    public synchronized FastInfosetVocabulary getFastInfosetVocabulary() {
+        if(fastInfosetVocabulary==null)
+            fastInfosetVocabulary = new FastInfosetVocabulary(nameList);
+        return fastInfosetVocabulary;
+    }
+
     public int getNumberOfLocalNames() {
         return nameList.localNames.length;
     }
@@ -966,16 +1122,55 @@ public final class JAXBContextImpl extends JAXBRIContext {
     }
 
     /**
-     * Creates a  that includes the specified additional classes.
+     * Contexts created by {@link #createAugmented(Class)}, kept as long as memory allows,
+     * since the unmarshaller augments the context for each element a {@link ClassResolver} resolves.
+     * The classes are weak keys, so that they can be unloaded.
+     *
+     * Guarded by itself.
+     */
+    private final Map<Class<?>,SoftReference<JAXBContextImpl>> augmentedContexts = new WeakHashMap<>();
+
+    /**
+     * Where the references of {@link #augmentedContexts} go once cleared.
+     */
+    private final ReferenceQueue<JAXBContextImpl> clearedAugmentedContexts = new ReferenceQueue<>();
+
+    /**
+     * Creates a {@link JAXBContextImpl} that includes the specified additional class.
+     *
+     * <p>
+     * If this context already knows the class, it is returned as is,
+     * and the contexts created for other classes are reused.
      */
     public JAXBContextImpl createAugmented(Class<?> clazz) throws JAXBException {
+        if(beanInfoMap.containsKey(clazz))
+            return this;
+
+        JAXBContextImpl augmented;
+        synchronized(augmentedContexts) {
+            SoftReference<JAXBContextImpl> ref = augmentedContexts.get(clazz);
+            augmented = ref==null ? null : ref.get();
+        }
+        if(augmented!=null)
+            return augmented;
+
         Class[] newList = new Class[classes.length+1];
         System.arraycopy(classes,0,newList,0,classes.length);
         newList[classes.length] = clazz;
 
         JAXBContextBuilder builder = new JAXBContextBuilder(this);
         builder.setClasses(newList);
-        return builder.build();
+        augmented = builder.build();
+        synchronized(augmentedContexts) {
+            if(clearedAugmentedContexts.poll()!=null) {
+                // drop all the entries whose context is gone
+                while(clearedAugmentedContexts.poll()!=null)
+                    ;
+                augmentedContexts.values().removeIf(r -> r.get()==null);
+            }
+            augmentedContexts.put(clazz,new SoftReference<>(augmented,clearedAugmentedContexts));
+        }
+        return augmented;
     }
 
     private static final Comparator<QName> QNAME_COMPARATOR = new Comparator<>() {
@@ -1004,6 +1199,9 @@ public final class JAXBContextImpl extends JAXBRIContext {
         private boolean disableSecurityProcessing = true;
         private Boolean backupWithParentNamespace = null; // null for System property to be used
         private int maxErrorsCount;
+        private JAXBInstrumentation instrumentation;
+        private boolean buildProfile;
+        private boolean fastSerializers;
 
         public JAXBContextBuilder() {}
 
@@ -1021,6 +1219,9 @@ public final class JAXBContextImpl extends JAXBRIContext {
             this.disableSecurityProcessing = baseImpl.disableSecurityProcessing;
             this.backupWithParentNamespace = baseImpl.backupWithParentNamespace;
             this.maxErrorsCount = baseImpl.maxErrorsCount;
+            this.instrumentation = baseImpl.instrumentation;
+            this.buildProfile = baseImpl.buildProfile!=null;
+            this.fastSerializers = baseImpl.fastSerializers;
         }
 
         public JAXBContextBuilder setRetainPropertyInfo(boolean val) {
@@ -1093,6 +1294,21 @@ public final class JAXBContextImpl extends JAXBRIContext {
             return this;
         }
 
+        public JAXBContextBuilder setInstrumentation(JAXBInstrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
+        public JAXBContextBuilder setBuildProfile(boolean buildProfile) {
+            this.buildProfile = buildProfile;
+            return this;
+        }
+
+        public JAXBContextBuilder setFastSerializers(boolean fastSerializers) {
+            this.fastSerializers = fastSerializers;
+            return this;
+        }
+
         public JAXBContextImpl build() throws JAXBException {
 
             // fool-proof
@@ -1112,7 +1328,24 @@ public final class JAXBContextImpl extends JAXBRIContext {
                 this.typeRefs = Collections.emptyList();
             }
 
-            return new JAXBContextImpl(this);
+            if (this.instrumentation == null) {
+                return new JAXBContextImpl(this);
+            }
+
+            Object token = instrumentation.started(JAXBInstrumentation.Kind.CONTEXT_BUILD);
+            long start = System.nanoTime();
+            JAXBContextImpl context = null;
+            Throwable failure = null;
+            try {
+                context = new JAXBContextImpl(this);
+                return context;
+            } catch (JAXBException | RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                instrumentation.finished(new JAXBInstrumentation.Operation(JAXBInstrumentation.Kind.CONTEXT_BUILD,
+                        context, null, System.nanoTime() - start, -1, -1, false, failure), token);
+            }
         }
 
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -25,6 +25,9 @@ import javax.xml.datatype.XMLGregorianCalendar;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.AccessController;
@@ -458,7 +461,7 @@ public abstract class JaxBeanInfo<BeanT> {
                 }
                 jt = (Class<BeanT>) jt.getSuperclass();
             }
-        } catch (SecurityException e) {
+        } catch (SecurityException | IllegalAccessException e) {
             // this happens when we don't have enough permission.
             logger.log(Level.WARNING, Messages.UNABLE_TO_DISCOVER_EVENTHANDLER.format(
                     jaxbType.getName(), e), e);
@@ -477,7 +480,7 @@ public abstract class JaxBeanInfo<BeanT> {
      * @param lifecycleFlag byte representing which of the 4 lifecycle methods
      *        is being cached
      */
-    private void cacheLifecycleMethod(Method m, short lifecycleFlag) {
+    private void cacheLifecycleMethod(Method m, short lifecycleFlag) throws IllegalAccessException {
         //LifecycleMethods lcm = getLifecycleMethods();
         if(lcm==null) {
             lcm = new LifecycleMethods();
@@ -486,22 +489,30 @@ public abstract class JaxBeanInfo<BeanT> {
 
         m.setAccessible(true);
 
-        flag |= lifecycleFlag;
-
         switch (lifecycleFlag) {
         case FLAG_HAS_BEFORE_UNMARSHAL_METHOD:
-            lcm.beforeUnmarshal = m;
+            lcm.beforeUnmarshal = bind(m, LifecycleMethods.UNMARSHAL_EVENT);
             break;
         case FLAG_HAS_AFTER_UNMARSHAL_METHOD:
-            lcm.afterUnmarshal = m;
+            lcm.afterUnmarshal = bind(m, LifecycleMethods.UNMARSHAL_EVENT);
             break;
         case FLAG_HAS_BEFORE_MARSHAL_METHOD:
-            lcm.beforeMarshal = m;
+            lcm.beforeMarshal = bind(m, LifecycleMethods.MARSHAL_EVENT);
             break;
         case FLAG_HAS_AFTER_MARSHAL_METHOD:
-            lcm.afterMarshal = m;
+            lcm.afterMarshal = bind(m, LifecycleMethods.MARSHAL_EVENT);
             break;
         }
+
+        flag |= lifecycleFlag;
+    }
+
+    /**
+     * Turns an accessible lifecycle method into a handle of the given type,
+     * so that the callers can use {@code invokeExact}.
+     */
+    private static MethodHandle bind(Method m, MethodType type) throws IllegalAccessException {
+        return MethodHandles.lookup().unreflect(m).asType(type);
     }
 
     /**
@@ -517,7 +528,7 @@ public abstract class JaxBeanInfo<BeanT> {
      * Invokes the beforeUnmarshal method if applicable.
      */
     public final void invokeBeforeUnmarshalMethod(UnmarshallerImpl unm, Object child, Object parent) throws SAXException {
-        Method m = getLifecycleMethods().beforeUnmarshal;
+        MethodHandle m = getLifecycleMethods().beforeUnmarshal;
         invokeUnmarshallCallback(m, child, unm, parent);
     }
 
@@ -525,15 +536,16 @@ public abstract class JaxBeanInfo<BeanT> {
      * Invokes the afterUnmarshal method if applicable.
      */
     public final void invokeAfterUnmarshalMethod(UnmarshallerImpl unm, Object child, Object parent) throws SAXException {
-        Method m = getLifecycleMethods().afterUnmarshal;
+        MethodHandle m = getLifecycleMethods().afterUnmarshal;
         invokeUnmarshallCallback(m, child, unm, parent);
     }
 
-    private void invokeUnmarshallCallback(Method m, Object child, UnmarshallerImpl unm, Object parent) throws SAXException {
+    private void invokeUnmarshallCallback(MethodHandle m, Object child, UnmarshallerImpl unm, Object parent) throws SAXException {
         try {
-            m.invoke(child,unm,parent);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            UnmarshallingContext.getInstance().handleError(e, false);
+            m.invokeExact(child, (Unmarshaller) unm, parent);
+        } catch (Throwable e) {
+            // report it the same way as a reflective call would
+            UnmarshallingContext.getInstance().handleError(new InvocationTargetException(e), false);
         }
     }
 
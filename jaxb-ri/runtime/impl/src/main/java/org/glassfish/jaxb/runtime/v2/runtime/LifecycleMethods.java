@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,23 +10,40 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime;
 
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Loader;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 
 /**
  * This class is a simple container for caching lifecycle methods that are
  * discovered during construction of (@link JAXBContext}.
+ *
+ * <p>
+ * The methods are kept as {@link MethodHandle}s adapted to
+ * {@link #MARSHAL_EVENT} and {@link #UNMARSHAL_EVENT}, so that they can be
+ * called with {@code invokeExact} instead of reflectively for every object.
  * 
  * @see JaxBeanInfo#lcm
  * @see Loader#fireBeforeUnmarshal(JaxBeanInfo, Object, UnmarshallingContext.State)
  * @see Loader#fireAfterUnmarshal(JaxBeanInfo, Object, UnmarshallingContext.State) 
- * @see XMLSerializer#fireMarshalEvent(Object, Method)
+ * @see XMLSerializer#fireMarshalEvent(Object, MethodHandle)
  */
 final class LifecycleMethods {
-    Method beforeUnmarshal;
-    Method afterUnmarshal;
-    Method beforeMarshal;
-    Method afterMarshal;
+    /**
+     * {@code void (Object bean, Marshaller marshaller)}
+     */
+    static final MethodType MARSHAL_EVENT = MethodType.methodType(void.class, Object.class, Marshaller.class);
+    /**
+     * {@code void (Object bean, Unmarshaller unmarshaller, Object parent)}
+     */
+    static final MethodType UNMARSHAL_EVENT = MethodType.methodType(void.class, Object.class, Unmarshaller.class, Object.class);
+
+    MethodHandle beforeUnmarshal;
+    MethodHandle afterUnmarshal;
+    MethodHandle beforeMarshal;
+    MethodHandle afterMarshal;
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import org.glassfish.jaxb.runtime.ChangeTracking;
+import org.glassfish.jaxb.runtime.v2.runtime.output.NamespaceContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.output.UTF8XmlOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the bytes produced for the contents of {@link ChangeTracking} beans
+ * in the last document, so that unchanged beans can be copied to the output
+ * the next time the same graph is marshalled.
+ *
+ * <p>
+ * The output of a document is teed into a byte log by {@link #record(OutputStream)}.
+ * Every bean body that {@link XMLSerializer} writes while recording becomes an entry,
+ * allocated in document order, that remembers where the body is in the log,
+ * the modification count of the bean and the namespace bindings it was written with.
+ * The entries of a subtree are contiguous, so when a body is replayed, the entries
+ * of the beans inside are carried over to the new document by shifting their offsets.
+ *
+ * <p>
+ * An entry is only reusable if writing the body had no side effect on the marshaller,
+ * such as registering IDs, firing events or reporting errors.
+ */
+final class MarshalCache {
+
+    /**
+     * The last completely written document, or null.
+     */
+    private Document last;
+
+    /**
+     * The document being written, or null if we are not recording.
+     */
+    private Document current;
+
+    /**
+     * Starts recording a new document written to the given stream.
+     *
+     * @return
+     *      the stream that the document shall be written to.
+     */
+    OutputStream record(OutputStream os) {
+        current = new Document(os);
+        return current;
+    }
+
+    boolean isRecording() {
+        return current!=null;
+    }
+
+    /**
+     * Forgets everything, for example because the marshaller was reconfigured.
+     */
+    void clear() {
+        last = null;
+        current = null;
+    }
+
+    /**
+     * Called when the document being recorded is completely written.
+     */
+    void commit() {
+        if(current==null)
+            return;
+        current.buildIndex();
+        last = current;
+        last.out = null;
+        current = null;
+    }
+
+    /**
+     * Called when the document being recorded is abandoned.
+     */
+    void abort() {
+        current = null;
+    }
+
+    /**
+     * If the body of the given bean can be taken from the last document,
+     * writes it to the output and returns true.
+     *
+     * @param nsHash
+     *      value of {@link #hashBindings(NamespaceContextImpl)} for the body.
+     */
+    boolean replay(Object bean, long nsHash, UTF8XmlOutput out) throws IOException {
+        if(last==null)
+            return false;
+        Integer idx = last.index.get(bean);
+        if(idx==null)
+            return false;
+        int i = idx;
+        if(last.counts[i]!=((ChangeTracking)bean).getModificationCount() || last.nsHashes[i]!=nsHash)
+            return false;
+
+        int start = last.starts[i];
+        int len = last.lengths[i];
+        int pos = position(out);
+        int ext = last.extents[i];
+        for( int j=i; j<=i+ext; j++ ) {
+            int e = current.alloc();
+            current.beans[e] = last.beans[j];
+            current.counts[e] = last.counts[j];
+            current.nsHashes[e] = last.nsHashes[j];
+            current.starts[e] = last.starts[j]-start+pos;
+            current.lengths[e] = last.lengths[j];
+            current.extents[e] = last.extents[j];
+        }
+        out.writeBody(last.bytes,start,len);
+        return true;
+    }
+
+    /**
+     * Called before the body of a bean is written.
+     *
+     * @return
+     *      the entry index to be passed to {@link #end}.
+     */
+    int begin(Object bean, long nsHash, UTF8XmlOutput out) {
+        int e = current.alloc();
+        current.beans[e] = bean;
+        current.counts[e] = ((ChangeTracking)bean).getModificationCount();
+        current.nsHashes[e] = nsHash;
+        current.starts[e] = position(out);
+        return e;
+    }
+
+    /**
+     * Called after the body of a bean is written.
+     *
+     * @param reusable
+     *      false if writing the body had side effects, in which case
+     *      the entry is kept for its offsets but never replayed.
+     */
+    void end(int e, boolean reusable, UTF8XmlOutput out) {
+        Document d = current;
+        d.lengths[e] = position(out)-d.starts[e];
+        d.extents[e] = d.size-e-1;
+        if(!reusable)
+            d.beans[e] = null;
+    }
+
+    private int position(UTF8XmlOutput out) {
+        return current.count+out.getPendingBytes();
+    }
+
+    /**
+     * Hashes the namespace bindings in scope, which determine
+     * the prefixes and the namespace declarations in the body.
+     */
+    static long hashBindings(NamespaceContextImpl nsContext) {
+        long h = 1;
+        int sz = nsContext.count();
+        for( int i=0; i<sz; i++ ) {
+            h = h*31+nsContext.getPrefix(i).hashCode();
+            h = h*31+nsContext.getNamespaceURI(i).hashCode();
+        }
+        return h*31+sz;
+    }
+
+    /**
+     * The byte log of a document and the entries in it.
+     */
+    private static final class Document extends OutputStream {
+        private OutputStream out;
+
+        byte[] bytes = new byte[1024];
+        int count;
+
+        Object[] beans = new Object[16];
+        long[] counts = new long[16];
+        long[] nsHashes = new long[16];
+        int[] starts = new int[16];
+        int[] lengths = new int[16];
+        /** Number of entries that belong to the subtree of this entry. */
+        int[] extents = new int[16];
+        int size;
+
+        /**
+         * Bean to the entry index, for reusable entries.
+         */
+        final Map<Object,Integer> index = new IdentityHashMap<>();
+
+        Document(OutputStream out) {
+            this.out = out;
+        }
+
+        int alloc() {
+            if(size==beans.length) {
+                int n = size*2;
+                beans = Arrays.copyOf(beans,n);
+                counts = Arrays.copyOf(counts,n);
+                nsHashes = Arrays.copyOf(nsHashes,n);
+                starts = Arrays.copyOf(starts,n);
+                lengths = Arrays.copyOf(lengths,n);
+                extents = Arrays.copyOf(extents,n);
+            }
+            return size++;
+        }
+
+        void buildIndex() {
+            for( int i=0; i<size; i++ ) {
+                if(beans[i]!=null)
+                    index.put(beans[i],i);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            ensure(1);
+            bytes[count++] = (byte)b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b,off,len);
+            ensure(len);
+            System.arraycopy(b,off,bytes,count,len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void ensure(int len) {
+            if(count+len>bytes.length)
+                bytes = Arrays.copyOf(bytes,Math.max(count+len,bytes.length*2));
+        }
+    }
+}
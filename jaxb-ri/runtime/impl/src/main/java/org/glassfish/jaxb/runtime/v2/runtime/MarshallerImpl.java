@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -11,6 +11,7 @@
 package org.glassfish.jaxb.runtime.v2.runtime;
 
 import org.glassfish.jaxb.core.marshaller.*;
+import org.glassfish.jaxb.runtime.api.JAXBInstrumentation;
 import org.glassfish.jaxb.runtime.api.JAXBRIContext;
 import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
 import org.glassfish.jaxb.runtime.marshaller.NioEscapeHandler;
@@ -38,6 +39,10 @@ import javax.xml.validation.ValidatorHandler;
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -83,6 +88,18 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     /** Configured for c14n? */
     private boolean c14nSupport;
 
+    /** Configured for exclusive c14n? */
+    private boolean c14nExclusive;
+
+    /** Refer to the {@link FastInfosetVocabulary} of the context when writing Fast Infoset? */
+    private boolean fastInfosetVocabulary;
+
+    /**
+     * Counts the bytes written by the current operation, if instrumented
+     * and writing to an {@link OutputStream}.
+     */
+    private CountingOutputStream byteCounter;
+
     // while createing XmlOutput those values may be set.
     // if these are non-null they need to be cleaned up
     private Flushable toBeFlushed;
@@ -118,9 +135,48 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         write(obj, createWriter(out), new StAXPostInitAction(inscopeNamespace,serializer));
     }
 
+    /**
+     * Marshals into the given file, writing large blocks from a direct buffer
+     * instead of going through a {@link FileOutputStream}.
+     *
+     * <p>
+     * The file is created, or truncated if it exists.
+     *
+     * @since 4.0.3
+     */
+    public void marshal(Object obj, Path path) throws JAXBException {
+        if(obj==null || path==null)
+            throw new IllegalArgumentException();
+        try (OutputStream out = new FileChannelOutputStream(path)) {
+            marshal(obj,out);
+        } catch (IOException e) {
+            throw new MarshalException(e);
+        }
+    }
+
+    /**
+     * Marshals on another thread, producing the document as a stream of byte chunks.
+     *
+     * <p>
+     * Marshalling starts on the given executor when the subscriber first signals demand,
+     * and it blocks whenever a chunk is ready but the subscriber hasn't asked for one,
+     * so the document is never held in memory as a whole. Since this holds a thread
+     * of the executor until the document is done, the executor should be dedicated
+     * to this, and not shared with the subscriber.
+     * This marshaller must not be used for anything else until the publisher
+     * completes, fails or is cancelled.
+     *
+     * @since 4.0.3
+     */
+    public Flow.Publisher<ByteBuffer> blockingPublisher(Object obj, Executor executor) {
+        if(obj==null || executor==null)
+            throw new IllegalArgumentException();
+        return new BlockingMarshalPublisher(this,obj,executor);
+    }
+
     @Override
     public void marshal(Object obj, XMLStreamWriter writer) throws JAXBException {
-        write(obj, XMLStreamWriterOutput.create(writer,context, escapeHandler), new StAXPostInitAction(writer,serializer));
+        write(obj, XMLStreamWriterOutput.create(writer,context, escapeHandler, fastInfosetVocabulary), new StAXPostInitAction(writer,serializer));
     }
 
     @Override
@@ -132,6 +188,14 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         write(obj, output, null );
     }
 
+    /**
+     * Marshals with the given output, which writes under the given DOM node,
+     * taking the namespace bindings in scope at that node into account.
+     */
+    void marshal(Object obj, Node node, XmlOutput output) throws JAXBException {
+        write(obj, output, new DomPostInitAction(node,serializer));
+    }
+
     /**
      * Creates {@link XmlOutput} from the given {@link Result} object.
      */
@@ -145,9 +209,9 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             if (node == null) {
                 Document doc = JAXBContextImpl.createDom(getContext().disableSecurityProcessing);
                 ((DOMResult) result).setNode(doc);
-                return new SAXOutput(new SAX2DOMEx(doc));
+                return new DOMOutput(doc);
             } else {
-                return new SAXOutput(new SAX2DOMEx(node));
+                return new DOMOutput(node);
             }
         }
         if (result instanceof StreamResult) {
@@ -232,6 +296,30 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
      * All the marshal method invocation eventually comes down to this call.
      */
     private void write(Object obj, XmlOutput out, Runnable postInitAction) throws JAXBException {
+        final JAXBInstrumentation instrumentation = context.instrumentation;
+        if(instrumentation==null) {
+            write0(obj,out,postInitAction);
+            return;
+        }
+
+        Object token = instrumentation.started(JAXBInstrumentation.Kind.MARSHAL);
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            write0(obj,out,postInitAction);
+        } catch (JAXBException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            long bytes = byteCounter==null ? -1 : byteCounter.count;
+            byteCounter = null;
+            instrumentation.finished(new JAXBInstrumentation.Operation(JAXBInstrumentation.Kind.MARSHAL, context,
+                    obj==null ? null : obj.getClass(), System.nanoTime()-start, bytes,
+                    serializer.getElementCount(), schema!=null, failure), token);
+        }
+    }
+
+    private void write0(Object obj, XmlOutput out, Runnable postInitAction) throws JAXBException {
         try {
             if( obj == null )
                 throw new IllegalArgumentException(Messages.NOT_MARSHALLABLE.format());
@@ -390,6 +478,9 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         // otherwise createWriter(Writer) inserts a buffering,
         // so no point in doing a buffering here.
 
+        if(context.instrumentation!=null)
+            os = byteCounter = new CountingOutputStream(os);
+
         if(encoding.equals("UTF-8")) {
             Encoded[] table = context.getUTF8NameTable();
             final UTF8XmlOutput out;
@@ -397,10 +488,13 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             if(isFormattedOutput())
                 out = new IndentingUTF8XmlOutput(os, indent, table, ceh);
             else {
-                if(c14nSupport)
-                    out = new C14nXmlOutput(os, table, context.c14nSupport, ceh);
-                else
+                if(c14nSupport || c14nExclusive)
+                    out = new C14nXmlOutput(os, table, context.c14nSupport, c14nExclusive, ceh);
+                else {
+                    if(serializer.marshalCache!=null)
+                        os = serializer.marshalCache.record(os);
                     out = new UTF8XmlOutput(os, table, ceh);
+                }
             }
             if(header!=null)
                 out.setHeader(header);
@@ -433,6 +527,12 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             return header;
         if( C14N.equals(name) )
             return c14nSupport;
+        if( EXCLUSIVE_C14N.equals(name) )
+            return c14nExclusive;
+        if( INCREMENTAL.equals(name) )
+            return serializer.marshalCache!=null;
+        if( FAST_INFOSET_VOCABULARY.equals(name) )
+            return fastInfosetVocabulary;
         if ( OBJECT_IDENTITY_CYCLE_DETECTION.equals(name)) 
         	return serializer.getObjectIdentityCycleDetection();
 
@@ -454,6 +554,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
                             CharacterEscapeHandler.class.getName(),
                             value.getClass().getName() ) );
             escapeHandler = (CharacterEscapeHandler)value;
+            clearMarshalCache();
             return;
         }
         if( PREFIX_MAPPER.equals(name) ) {
@@ -464,6 +565,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
                             NamespacePrefixMapper.class.getName(),
                             value.getClass().getName() ) );
             prefixMapper = (NamespacePrefixMapper)value;
+            clearMarshalCache();
             return;
         }
         if( XMLDECLARATION.equals(name) ) {
@@ -483,6 +585,21 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
             c14nSupport = (Boolean)value;
             return;
         }
+        if( EXCLUSIVE_C14N.equals(name) ) {
+            checkBoolean(name,value);
+            c14nExclusive = (Boolean)value;
+            return;
+        }
+        if( INCREMENTAL.equals(name) ) {
+            checkBoolean(name,value);
+            serializer.marshalCache = (Boolean)value ? new MarshalCache() : null;
+            return;
+        }
+        if( FAST_INFOSET_VOCABULARY.equals(name) ) {
+            checkBoolean(name,value);
+            fastInfosetVocabulary = (Boolean)value;
+            return;
+        }
         if (OBJECT_IDENTITY_CYCLE_DETECTION.equals(name)) {
         	checkBoolean(name,value);
             serializer.setObjectIdentityCycleDetection((Boolean)value);
@@ -492,6 +609,20 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         super.setProperty(name, value);
     }
 
+    /**
+     * Forgets the output remembered for {@link #INCREMENTAL}, as the same beans
+     * would now be written differently.
+     *
+     * <p>
+     * Only needed for what changes how an element is written to the output the cache
+     * is used with. The other properties only change the prolog, switch to an output
+     * the cache isn't used with, or change the namespace bindings, which the cache compares.
+     */
+    private void clearMarshalCache() {
+        if(serializer.marshalCache!=null)
+            serializer.marshalCache.clear();
+    }
+
     /*
      * assert that the given object is a Boolean
      */
@@ -521,6 +652,7 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
         if(type==null)
             throw new IllegalArgumentException();
         serializer.putAdapter(type,adapter);
+        clearMarshalCache();
     }
 
     @Override
@@ -581,5 +713,44 @@ public /*to make unit tests happy*/ final class MarshallerImpl extends AbstractM
     protected static final String XMLDECLARATION = "org.glassfish.jaxb.xmlDeclaration";
     protected static final String XML_HEADERS = "org.glassfish.jaxb.xmlHeaders";
     protected static final String C14N = JAXBRIContext.CANONICALIZATION_SUPPORT;
+    /**
+     * Produces exclusive canonical XML, in which namespace declarations only appear
+     * on the elements that visibly use them. Implies {@link #C14N}.
+     */
+    protected static final String EXCLUSIVE_C14N = "org.glassfish.jaxb.exclusiveCanonicalization";
+    /**
+     * Remembers the output produced for {@link org.glassfish.jaxb.runtime.ChangeTracking} objects
+     * and reuses it while they stay unmodified. Only effective when writing UTF-8
+     * to an {@link OutputStream} without formatting or canonicalization.
+     * Experimental, see {@link org.glassfish.jaxb.runtime.ChangeTracking}.
+     */
+    protected static final String INCREMENTAL = "org.glassfish.jaxb.incrementalMarshalling";
+    /**
+     * Makes the documents written to a Fast Infoset {@link XMLStreamWriter} refer to
+     * the {@link FastInfosetVocabulary} of the context instead of spelling out its names.
+     * The receiver has to know the same vocabulary, which the unmarshaller of
+     * an equivalent context does.
+     */
+    public static final String FAST_INFOSET_VOCABULARY = "org.glassfish.jaxb.fastInfosetVocabulary";
     protected static final String OBJECT_IDENTITY_CYCLE_DETECTION = "org.glassfish.jaxb.objectIdentitityCycleDetection";
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -11,7 +11,10 @@
 package org.glassfish.jaxb.runtime.v2.runtime;
 
 import com.sun.istack.SAXException2;
+import org.glassfish.jaxb.runtime.ChangeTracking;
 import org.glassfish.jaxb.runtime.CycleRecoverable;
+import org.glassfish.jaxb.runtime.ElementBuffer;
+import org.glassfish.jaxb.runtime.ElementBufferHandler;
 import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.runtime.util.ValidationEventLocatorExImpl;
@@ -19,6 +22,7 @@ import org.glassfish.jaxb.runtime.v2.model.runtime.RuntimeBuiltinLeafInfo;
 import org.glassfish.jaxb.runtime.v2.runtime.output.MTOMXmlOutput;
 import org.glassfish.jaxb.runtime.v2.runtime.output.NamespaceContextImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.output.Pcdata;
+import org.glassfish.jaxb.runtime.v2.runtime.output.UTF8XmlOutput;
 import org.glassfish.jaxb.runtime.v2.runtime.output.XmlOutput;
 import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Base64Data;
@@ -42,7 +46,8 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.sax.SAXResult;
 import java.io.IOException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -161,6 +166,27 @@ public final class XMLSerializer extends Coordinator {
 
     public AttachmentMarshaller attachmentMarshaller;
 
+    /**
+     * Set by {@link MarshallerImpl} if the incremental marshalling is enabled.
+     */
+    MarshalCache marshalCache;
+
+    /**
+     * {@link #marshalCache} if the current document is being recorded into it, or null.
+     */
+    private MarshalCache activeCache;
+
+    /**
+     * Incremented whenever marshalling has an effect other than the output,
+     * so that {@link MarshalCache} knows which bodies can't be replayed.
+     */
+    private int sideEffects;
+
+    /**
+     * Number of elements started since {@link #startDocument}.
+     */
+    private int elementCount;
+
     /*package*/ XMLSerializer( MarshallerImpl _owner ) {
         this.marshaller = _owner;
         this.grammar = marshaller.context;
@@ -198,6 +224,7 @@ public final class XMLSerializer extends Coordinator {
 
 
     public void reportError( ValidationEvent ve ) throws SAXException {
+        sideEffects++;
         ValidationEventHandler handler;
 
         try {
@@ -284,6 +311,7 @@ public final class XMLSerializer extends Coordinator {
     public void leafElement( Name tagName, String data, String fieldName ) throws SAXException, IOException, XMLStreamException {
         if(seenRoot) {
             textHasAlreadyPrinted = false;
+            elementCount++;
             nse = nse.push();
             out.beginStartTag(tagName);
             out.endStartTag();
@@ -313,6 +341,7 @@ public final class XMLSerializer extends Coordinator {
     public void leafElement(Name tagName, Pcdata data, String fieldName ) throws SAXException, IOException, XMLStreamException {
         if(seenRoot) {
             textHasAlreadyPrinted = false;
+            elementCount++;
             nse = nse.push();
             out.beginStartTag(tagName);
             out.endStartTag();
@@ -414,11 +443,13 @@ public final class XMLSerializer extends Coordinator {
     
     
     public String onID( Object owner, String value ) {
+        sideEffects++;
         objectsWithId.add(owner);
         return value;
     }
     
     public String onIDREF( Object obj ) throws SAXException {
+        sideEffects++;
         String id;
         try {
             id = getIdFromObject(obj);
@@ -646,7 +677,7 @@ public final class XMLSerializer extends Coordinator {
             endNamespaceDecls(child);
             if(!asExpected) {
                 attribute(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI,"type",
-                    DatatypeConverter.printQName(actualTypeName,getNamespaceContext()));
+                    printXsiType(actualTypeName));
             }
 
             actual.serializeAttributes(child,this);
@@ -656,7 +687,10 @@ public final class XMLSerializer extends Coordinator {
             }
             
             endAttributes();
-            actual.serializeBody(child,this);
+            if(activeCache!=null && child instanceof ChangeTracking)
+                serializeBodyIncrementally(actual,child);
+            else
+                actual.serializeBody(child,this);
 
             if (actual.lookForLifecycleMethods()) {
                 fireAfterMarshalEvents(actual, child);
@@ -666,6 +700,59 @@ public final class XMLSerializer extends Coordinator {
         }
     }
 
+    /**
+     * Writes the body of a {@link ChangeTracking} bean,
+     * reusing the bytes from the last document if it hasn't changed.
+     */
+    private void serializeBodyIncrementally(JaxBeanInfo beanInfo, Object child) throws SAXException, IOException, XMLStreamException {
+        UTF8XmlOutput o = (UTF8XmlOutput)out;
+        long nsHash = MarshalCache.hashBindings(nsContext);
+        if(activeCache.replay(child,nsHash,o))
+            return;
+
+        int before = sideEffects;
+        int e = activeCache.begin(child,nsHash,o);
+        beanInfo.serializeBody(child,this);
+        activeCache.end(e,before==sideEffects,o);
+    }
+
+    /**
+     * Recently printed @xsi:type values, keyed by the identity of the type name
+     * and the prefix its namespace URI was bound to.
+     */
+    private final QName[] xsiTypeNames = new QName[16];
+    private final String[] xsiTypePrefixes = new String[16];
+    private final String[] xsiTypeValues = new String[16];
+
+    /**
+     * Prints the type name as the lexical value of @xsi:type.
+     *
+     * <p>
+     * Equivalent to {@link DatatypeConverter#printQName(QName, javax.xml.namespace.NamespaceContext)},
+     * but documents that repeat the same few types reuse the previously
+     * printed string as long as the prefix stays the same.
+     */
+    private String printXsiType(QName typeName) {
+        String prefix = nsContext.getPrefix(typeName.getNamespaceURI());
+        int slot = System.identityHashCode(typeName) & (xsiTypeNames.length-1);
+        if(xsiTypeNames[slot]==typeName) {
+            String p = xsiTypePrefixes[slot];
+            if(p==prefix || (p!=null && p.equals(prefix)))
+                return xsiTypeValues[slot];
+        }
+
+        String value;
+        if(prefix==null || prefix.length()==0)
+            value = typeName.getLocalPart();
+        else
+            value = prefix+':'+typeName.getLocalPart();
+
+        xsiTypeNames[slot] = typeName;
+        xsiTypePrefixes[slot] = prefix;
+        xsiTypeValues[slot] = value;
+        return value;
+    }
+
     /**
      * Invoke the afterMarshal api on the external listener (if it exists) and on the bean embedded
      * afterMarshal api(if it exists).
@@ -674,9 +761,10 @@ public final class XMLSerializer extends Coordinator {
      *
      */
     private void fireAfterMarshalEvents(final JaxBeanInfo beanInfo, Object currentTarget) {
+        sideEffects++;
         // first invoke bean embedded listener
         if (beanInfo.hasAfterMarshalMethod()) {
-            Method m = beanInfo.getLifecycleMethods().afterMarshal;
+            MethodHandle m = beanInfo.getLifecycleMethods().afterMarshal;
             fireMarshalEvent(currentTarget, m);
         }
 
@@ -696,9 +784,10 @@ public final class XMLSerializer extends Coordinator {
      *
      */
     private void fireBeforeMarshalEvents(final JaxBeanInfo beanInfo, Object currentTarget) {
+        sideEffects++;
         // first invoke bean embedded listener
         if (beanInfo.hasBeforeMarshalMethod()) {
-            Method m = beanInfo.getLifecycleMethods().beforeMarshal;
+            MethodHandle m = beanInfo.getLifecycleMethods().beforeMarshal;
             fireMarshalEvent(currentTarget, m);
         }
 
@@ -709,12 +798,11 @@ public final class XMLSerializer extends Coordinator {
         }
     }
 
-    private void fireMarshalEvent(Object target, Method m) {
+    private void fireMarshalEvent(Object target, MethodHandle m) {
         try {
-            m.invoke(target, marshaller);
-        } catch (Exception e) {
-            // this really only happens if there is a bug in the ri
-            throw new IllegalStateException(e);
+            m.invokeExact(target, (Marshaller) marshaller);
+        } catch (Throwable e) {
+            throw new IllegalStateException(new InvocationTargetException(e));
         }
     }
 
@@ -757,9 +845,14 @@ public final class XMLSerializer extends Coordinator {
     }
 
     public <E> void writeDom(E element, DomHandler<E, ?> domHandler, Object parentBean, String fieldName) throws SAXException {
-        Source source = domHandler.marshal(element,this);
         if(contentHandlerAdapter==null)
             contentHandlerAdapter = new ContentHandlerAdaptor(this);
+        if(domHandler instanceof ElementBufferHandler) {
+            // replay the recorded events without an identity transformation
+            ((ElementBuffer)element).writeTo(contentHandlerAdapter);
+            return;
+        }
+        Source source = domHandler.marshal(element,this);
         try {
             getIdentityTransformer().transform(source,new SAXResult(contentHandlerAdapter));
         } catch (TransformerException e) {
@@ -796,6 +889,7 @@ public final class XMLSerializer extends Coordinator {
         idReferencedObjects.clear();
         textHasAlreadyPrinted = false;
         seenRoot = false;
+        elementCount = 0;
         this.schemaLocation = schemaLocation;
         this.noNsSchemaLocation = noNsSchemaLocation;
         this.fragment = fragment;
@@ -803,14 +897,40 @@ public final class XMLSerializer extends Coordinator {
         this.expectedMimeType = null;
         cycleDetectionStack.reset();
 
+        activeCache = null;
+        if(marshalCache!=null) {
+            // replaying bytes only works if they are written as they were produced
+            if(marshalCache.isRecording() && out.getClass()==UTF8XmlOutput.class
+            && marshaller.getListener()==null && attachmentMarshaller==null)
+                activeCache = marshalCache;
+            else
+                marshalCache.abort();
+        }
+
         out.startDocument(this,fragment,knownUri2prefixIndexMap,nsContext);
     }
 
+    /**
+     * Gets the number of elements written since the document was started.
+     */
+    int getElementCount() {
+        return elementCount;
+    }
+
     public void endDocument() throws IOException, SAXException, XMLStreamException {
         out.endDocument(fragment);
+        if(activeCache!=null) {
+            activeCache.commit();
+            activeCache = null;
+        }
     }
 
     public void close() {
+        if(activeCache!=null) {
+            // the document was not completely written
+            activeCache.abort();
+            activeCache = null;
+        }
         out = null;
         clearCurrentProperty();
         popCoordinator();
@@ -851,6 +971,7 @@ public final class XMLSerializer extends Coordinator {
     }
 
     private void startElement() {
+        elementCount++;
         nse = nse.push();
 
         if( !seenRoot ) {
@@ -991,6 +1112,7 @@ public final class XMLSerializer extends Coordinator {
 
     @Override
     public boolean handleEvent(ValidationEvent event) {
+        sideEffects++;
         try {
             return marshaller.getEventHandler().handleEvent(event);
         } catch (JAXBException e) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,50 +10,75 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.output;
 
-import com.sun.istack.FinalArrayList;
 import org.glassfish.jaxb.core.marshaller.CharacterEscapeHandler;
 import org.glassfish.jaxb.runtime.api.JAXBRIContext;
 import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
-import java.util.Collections;
 
 /**
  * {@link XmlOutput} that generates canonical XML.
  *
+ * <p>
+ * Attributes of a start tag are buffered in parallel arrays and written
+ * in the canonical order by {@link #endStartTag()}. Statically known attributes
+ * normally arrive already sorted, so the sort is an insertion sort that
+ * degenerates into a merge of the few wildcard attributes, and nothing
+ * is allocated per element.
+ *
+ * <p>
+ * In the exclusive mode, namespace declarations follow
+ * <a href="https://www.w3.org/TR/xml-exc-c14n/">Exclusive XML Canonicalization</a>:
+ * a declaration is only written on an element that visibly uses its prefix,
+ * and only if the nearest output ancestor doesn't already have the same binding.
+ * The {@code xml} prefix is never declared. The prefixes the marshaller writes into
+ * QName values, such as {@code xsi:type} or a {@code QName} property, are treated
+ * as visibly used by the element, as if they were on the InclusiveNamespaces
+ * PrefixList, so that the output can still be unmarshalled.
+ *
  * @author Kohsuke Kawaguchi
  */
 public class C14nXmlOutput extends UTF8XmlOutput {
     public C14nXmlOutput(OutputStream out, Encoded[] localNames, boolean namedAttributesAreOrdered, CharacterEscapeHandler escapeHandler) {
+        this(out, localNames, namedAttributesAreOrdered, false, escapeHandler);
+    }
+
+    public C14nXmlOutput(OutputStream out, Encoded[] localNames, boolean namedAttributesAreOrdered, boolean exclusive, CharacterEscapeHandler escapeHandler) {
         super(out, localNames, escapeHandler);
         this.namedAttributesAreOrdered = namedAttributesAreOrdered;
-
-        for( int i=0; i<staticAttributes.length; i++ )
-            staticAttributes[i] = new StaticAttribute();
+        this.exclusive = exclusive;
     }
 
     /**
-     * Hosts statically known attributes.
+     * Attributes of the current start tag.
      *
-     * {@link StaticAttribute} instances are reused.
+     * {@link #attNames} is null for attributes whose name is not statically known
+     * (AKA attribute wildcard), in which case {@link #attPrefixes} and {@link #attLocalNames}
+     * are used instead.
      */
-    private StaticAttribute[] staticAttributes = new StaticAttribute[8];
+    private Name[] attNames = new Name[8];
+    private int[] attPrefixes = new int[8];
+    private String[] attLocalNames = new String[8];
+    private String[] attValues = new String[8];
     private int len = 0;
 
     /**
-     * Used to sort namespace declarations. Reused.
+     * True if the current start tag has attributes not in {@link #attNames}.
+     * As long as this is false, there's no need for sorting.
      */
-    private int[] nsBuf = new int[8];
+    private boolean hasOtherAttributes;
 
     /**
-     * Hosts other attributes whose name are not statically known
-     * (AKA attribute wildcard.)
-     *
-     * As long as this map is empty, there's no need for sorting.
+     * Used to sort namespace declarations. Reused.
      */
-    private final FinalArrayList<DynamicAttribute> otherAttributes = new FinalArrayList<>();
+    private int[] nsBuf = new int[8];
 
     /**
      * True if {@link JAXBRIContext} is created with c14n support on,
@@ -62,120 +87,160 @@ public class C14nXmlOutput extends UTF8XmlOutput {
      */
     private final boolean namedAttributesAreOrdered;
 
-    final class StaticAttribute implements Comparable<StaticAttribute> {
-        Name name;
-        String value;
-
-        public void set(Name name, String value) {
-            this.name = name;
-            this.value = value;
-        }
-
-        void write() throws IOException {
-            C14nXmlOutput.super.attribute(name,value);
-        }
+    /**
+     * True to produce exclusive canonical XML.
+     */
+    private final boolean exclusive;
 
-        DynamicAttribute toDynamicAttribute() {
-            int nsUriIndex = name.nsUriIndex;
-            int prefix;
-            if(nsUriIndex==-1)
-                prefix = -1;
-            else
-                prefix = nsUriIndex2prefixIndex[nsUriIndex];
-            return new DynamicAttribute(
-                prefix, name.localName, value );
-        }
+    /**
+     * Prefix index of the element being started. Only used in the exclusive mode.
+     */
+    private int elementPrefix;
 
-        @Override
-        public int compareTo(StaticAttribute that) {
-            return this.name.compareTo(that.name);
-        }
+    /**
+     * Namespace bindings that are in scope in the output, as prefix/URI pairs.
+     * {@link #renderedMarks} remembers the size for each open element.
+     * Only used in the exclusive mode.
+     */
+    private String[] rendered = new String[16];
+    private int renderedSize;
+    private int[] renderedMarks = new int[16];
+    private int depth;
 
+    @Override
+    public void startDocument(XMLSerializer serializer, boolean fragment, int[] nsUriIndex2prefixIndex, NamespaceContextImpl nsContext) throws IOException, SAXException, XMLStreamException {
+        super.startDocument(serializer, fragment, nsUriIndex2prefixIndex, nsContext);
+        if(exclusive)
+            nsContext.recordContentPrefixes();
     }
 
-    final class DynamicAttribute implements Comparable<DynamicAttribute> {
-        final int prefix;
-        final String localName;
-        final String value;
-
-        public DynamicAttribute(int prefix, String localName, String value) {
-            this.prefix = prefix;
-            this.localName = localName;
-            this.value = value;
-        }
+    @Override
+    public void beginStartTag(Name name) throws IOException {
+        if(exclusive)
+            pushElement(nsUriIndex2prefixIndex[name.nsUriIndex]);
+        super.beginStartTag(name);
+    }
 
-        private String getURI() {
-            if(prefix==-1)  return "";
-            else            return nsContext.getNamespaceURI(prefix);
-        }
+    @Override
+    public void beginStartTag(int prefix, String localName) throws IOException {
+        if(exclusive)
+            pushElement(prefix);
+        super.beginStartTag(prefix, localName);
+    }
 
-        @Override
-        public int compareTo(DynamicAttribute that) {
-            int r = this.getURI().compareTo(that.getURI());
-            if(r!=0)    return r;
-            return this.localName.compareTo(that.localName);
-        }
+    private void pushElement(int prefix) {
+        elementPrefix = prefix;
+        if(depth==renderedMarks.length)
+            renderedMarks = Arrays.copyOf(renderedMarks,depth*2);
+        renderedMarks[depth++] = renderedSize;
     }
 
     @Override
     public void attribute(Name name, String value) throws IOException {
-        if(staticAttributes.length==len) {
-            // reallocate
-            int newLen = len*2;
-            StaticAttribute[] newbuf = new StaticAttribute[newLen];
-            System.arraycopy(staticAttributes,0,newbuf,0,len);
-            for(int i=len;i<newLen;i++)
-                staticAttributes[i] = new StaticAttribute();
-            staticAttributes = newbuf;
-        }
-
-        staticAttributes[len++].set(name,value);
+        int i = allocAttribute();
+        attNames[i] = name;
+        attPrefixes[i] = name.nsUriIndex==-1 ? -1 : nsUriIndex2prefixIndex[name.nsUriIndex];
+        attLocalNames[i] = name.localName;
+        attValues[i] = value;
     }
 
     @Override
     public void attribute(int prefix, String localName, String value) throws IOException {
-        otherAttributes.add(new DynamicAttribute(prefix,localName,value));
+        int i = allocAttribute();
+        attNames[i] = null;
+        attPrefixes[i] = prefix;
+        attLocalNames[i] = localName;
+        attValues[i] = value;
+        hasOtherAttributes = true;
+    }
+
+    private int allocAttribute() {
+        if(attNames.length==len) {
+            // reallocate
+            int newLen = len*2;
+            attNames = Arrays.copyOf(attNames,newLen);
+            attPrefixes = Arrays.copyOf(attPrefixes,newLen);
+            attLocalNames = Arrays.copyOf(attLocalNames,newLen);
+            attValues = Arrays.copyOf(attValues,newLen);
+        }
+        return len++;
     }
 
     @Override
     public void endStartTag() throws IOException {
-        if(otherAttributes.isEmpty()) {
-            if(len!=0) {
-                // sort is expensive even for size 0 array,
-                // so it's worth checking len==0
-                if(!namedAttributesAreOrdered)
-                    Arrays.sort(staticAttributes,0,len);
-                // this is the common case
-                for( int i=0; i<len; i++ )
-                    staticAttributes[i].write();
-                len = 0;
-            }
-        } else {
-            // this is the exceptional case
+        if(exclusive)
+            writeVisiblyUsedNsDecls();
 
-            // sort all the attributes, not just the other attributes
-            for( int i=0; i<len; i++ )
-                otherAttributes.add(staticAttributes[i].toDynamicAttribute());
-            len = 0;
-            Collections.sort(otherAttributes);
+        if(len!=0) {
+            // sorting is unnecessary in the common case
+            if(hasOtherAttributes || !namedAttributesAreOrdered)
+                sortAttributes();
 
-            // write them all
-            int size = otherAttributes.size();
-            for( int i=0; i<size; i++ ) {
-                DynamicAttribute a = otherAttributes.get(i);
-                super.attribute(a.prefix,a.localName,a.value);
+            for( int i=0; i<len; i++ ) {
+                if(attNames[i]!=null)
+                    super.attribute(attNames[i],attValues[i]);
+                else
+                    super.attribute(attPrefixes[i],attLocalNames[i],attValues[i]);
+                attValues[i] = null;
             }
-            otherAttributes.clear();
+            len = 0;
+            hasOtherAttributes = false;
         }
         super.endStartTag();
     }
 
+    /**
+     * Sorts attributes by their namespace URI, then by their local name.
+     *
+     * <p>
+     * This is an insertion sort, which is linear for the already sorted
+     * named attributes and cheap for the handful of others.
+     */
+    private void sortAttributes() {
+        for( int i=1; i<len; i++ ) {
+            Name n = attNames[i];
+            int p = attPrefixes[i];
+            String l = attLocalNames[i];
+            String v = attValues[i];
+            String uri = getAttributeURI(i);
+
+            int j = i-1;
+            while(j>=0 && compare(getAttributeURI(j),attLocalNames[j],uri,l)>0) {
+                attNames[j+1] = attNames[j];
+                attPrefixes[j+1] = attPrefixes[j];
+                attLocalNames[j+1] = attLocalNames[j];
+                attValues[j+1] = attValues[j];
+                j--;
+            }
+            attNames[j+1] = n;
+            attPrefixes[j+1] = p;
+            attLocalNames[j+1] = l;
+            attValues[j+1] = v;
+        }
+    }
+
+    private String getAttributeURI(int i) {
+        if(attNames[i]!=null)   return attNames[i].nsUri;
+        if(attPrefixes[i]==-1)  return "";
+        return nsContext.getNamespaceURI(attPrefixes[i]);
+    }
+
+    private static int compare(String uri1, String local1, String uri2, String local2) {
+        int r = uri1.compareTo(uri2);
+        if(r!=0)    return r;
+        return local1.compareTo(local2);
+    }
+
     /**
      * Write namespace declarations after sorting them.
      */
     @Override
     protected void writeNsDecls(int base) throws IOException {
-        int count = nsContext.getCurrent().count();
+        if(exclusive)
+            return; // written from endStartTag, once attributes are known
+
+        NamespaceContextImpl.Element ns = nsContext.getCurrent();
+        int count = ns.count();
 
         if(count==0)
             return; // quickly reject the most common case
@@ -183,26 +248,117 @@ public class C14nXmlOutput extends UTF8XmlOutput {
         if(count>nsBuf.length)
             nsBuf = new int[count];
 
-        for( int i=count-1; i>=0; i-- )
-            nsBuf[i] = base+i;
+        for( int i=0; i<count; i++ )
+            nsBuf[i] = ns.getBase()+i;
 
-        // do a bubble sort. Hopefully # of ns decls are small enough to justify bubble sort.
-        // faster algorithm is more compliated to implement
-        for( int i=0; i<count; i++ ) {
-            for( int j=i+1; j<count; j++ ) {
-                String p = nsContext.getPrefix(nsBuf[i]);
-                String q = nsContext.getPrefix(nsBuf[j]);
-                if( p.compareTo(q) > 0 ) {
-                    // swap
-                    int t = nsBuf[j];
-                    nsBuf[j] = nsBuf[i];
-                    nsBuf[i] = t;
-                }
-            }
-        }
+        sortNsDecls(count);
 
         // write them out
         for( int i=0; i<count; i++ )
             writeNsDecl(nsBuf[i]);
     }
+
+    /**
+     * Writes declarations for the prefixes used by the element being started
+     * and its attributes, unless they are already in scope in the output.
+     */
+    private void writeVisiblyUsedNsDecls() throws IOException {
+        int contentCount = nsContext.getContentPrefixCount();
+        if(len+1+contentCount>nsBuf.length)
+            nsBuf = new int[Math.max(len+1+contentCount,nsBuf.length*2)];
+
+        int count = 0;
+        count = addIfNotRendered(elementPrefix,count);
+        for( int i=0; i<len; i++ ) {
+            if(attPrefixes[i]!=-1)
+                count = addIfNotRendered(attPrefixes[i],count);
+        }
+        // prefixes of QName values, of the attributes and of the content of this element
+        for( int i=0; i<contentCount; i++ )
+            count = addIfNotRendered(nsContext.getContentPrefix(i),count);
+        nsContext.clearContentPrefixes();
+
+        if(count==0)
+            return;
+
+        sortNsDecls(count);
+
+        for( int i=0; i<count; i++ ) {
+            int idx = nsBuf[i];
+            String p = nsContext.getPrefix(idx);
+            String uri = nsContext.getNamespaceURI(idx);
+            if(renderedSize+2>rendered.length)
+                rendered = Arrays.copyOf(rendered,rendered.length*2);
+            rendered[renderedSize++] = p;
+            rendered[renderedSize++] = uri;
+
+            writeNsDecl(p,uri);
+        }
+    }
+
+    private int addIfNotRendered(int prefixIndex, int count) {
+        String p = nsContext.getPrefix(prefixIndex);
+        if(p.equals(XMLConstants.XML_NS_PREFIX))
+            return count;   // bound by definition, never declared
+        String uri = nsContext.getNamespaceURI(prefixIndex);
+
+        for( int i=0; i<count; i++ ) {
+            if(nsContext.getPrefix(nsBuf[i]).equals(p))
+                return count;   // already added
+        }
+
+        // find the binding currently in scope in the output
+        String inScope = p.length()==0 ? "" : null;
+        for( int i=renderedSize-2; i>=0; i-=2 ) {
+            if(rendered[i].equals(p)) {
+                inScope = rendered[i+1];
+                break;
+            }
+        }
+        if(uri.equals(inScope))
+            return count;
+
+        nsBuf[count] = prefixIndex;
+        return count+1;
+    }
+
+    /**
+     * Sorts the first {@code count} prefix indices in {@link #nsBuf} by prefix.
+     * The default namespace comes first.
+     */
+    private void sortNsDecls(int count) {
+        // insertion sort. Hopefully # of ns decls are small enough to justify it.
+        for( int i=1; i<count; i++ ) {
+            int t = nsBuf[i];
+            String p = nsContext.getPrefix(t);
+            int j = i-1;
+            while(j>=0 && nsContext.getPrefix(nsBuf[j]).compareTo(p)>0) {
+                nsBuf[j+1] = nsBuf[j];
+                j--;
+            }
+            nsBuf[j+1] = t;
+        }
+    }
+
+    @Override
+    public void endTag(Name name) throws IOException {
+        if(exclusive)
+            popElement();
+        super.endTag(name);
+    }
+
+    @Override
+    public void endTag(int prefix, String localName) throws IOException {
+        if(exclusive)
+            popElement();
+        super.endTag(prefix, localName);
+    }
+
+    private void popElement() {
+        // QName values printed in the text were already declared on the start tag
+        nsContext.clearContentPrefixes();
+        int mark = renderedMarks[--depth];
+        Arrays.fill(rendered,mark,renderedSize,null);
+        renderedSize = mark;
+    }
 }
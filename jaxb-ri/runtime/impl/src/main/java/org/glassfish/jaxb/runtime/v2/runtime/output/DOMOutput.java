@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,42 +10,188 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.output;
 
-import org.glassfish.jaxb.core.marshaller.SAX2DOMEx;
 import org.glassfish.jaxb.runtime.v2.runtime.AssociationMap;
+import org.glassfish.jaxb.runtime.v2.runtime.Name;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import java.util.Arrays;
 
 /**
- * {@link XmlOutput} implementation that does associative marshalling to DOM.
+ * {@link XmlOutput} implementation that builds a DOM tree.
+ *
+ * <p>
+ * Nodes are created directly from the marshaller's namespace context,
+ * without going through SAX events. Qualified names of indexed {@link Name}s
+ * are cached, so that elements and attributes that repeat in a document
+ * don't create the same qualified name strings over and over.
  *
  * <p>
- * This is used for binder.
+ * This is used for binder, in which case the {@link AssociationMap}
+ * is maintained, and for marshalling to a {@link javax.xml.transform.dom.DOMResult}.
  *
  * @author Kohsuke Kawaguchi
  */
-public final class DOMOutput extends SAXOutput {
+public final class DOMOutput extends XmlOutputAbstractImpl {
+    /**
+     * Can be null if the association is not maintained.
+     */
     private final AssociationMap assoc;
 
+    private final Document document;
+
+    /**
+     * Nodes under construction. The first item is the node
+     * that we are writing under.
+     */
+    private Node[] stack = new Node[16];
+    private int depth;
+
+    /**
+     * Element currently being started.
+     */
+    private Element current;
+
+    /**
+     * Cached qualified names, indexed by {@link Name#qNameIndex}, and the prefixes they are built with.
+     * Elements and attributes use separate indices.
+     */
+    private String[] elementQNames = new String[0], elementPrefixes = new String[0];
+    private String[] attributeQNames = new String[0], attributePrefixes = new String[0];
+
+    public DOMOutput(Node node) {
+        this(node,null);
+    }
+
     public DOMOutput(Node node, AssociationMap assoc) {
-        super(new SAX2DOMEx(node));
         this.assoc = assoc;
-        assert assoc!=null;
+        this.document = node instanceof Document ? (Document)node : node.getOwnerDocument();
+        stack[0] = node;
+    }
+
+    @Override
+    public void beginStartTag(Name name) {
+        int prefix = nsUriIndex2prefixIndex[name.nsUriIndex];
+        String p = nsContext.getPrefix(prefix);
+        int idx = name.qNameIndex;
+        if(idx>=elementQNames.length) {
+            elementQNames = grow(elementQNames,idx);
+            elementPrefixes = grow(elementPrefixes,idx);
+        }
+        if(!p.equals(elementPrefixes[idx])) {
+            elementQNames[idx] = qname(p,name.localName);
+            elementPrefixes[idx] = p;
+        }
+        startElement(name.nsUri,elementQNames[idx]);
+    }
+
+    @Override
+    public void beginStartTag(int prefix, String localName) {
+        startElement(nsContext.getNamespaceURI(prefix),qname(nsContext.getPrefix(prefix),localName));
     }
 
-    private SAX2DOMEx getBuilder() {
-        return (SAX2DOMEx)out;
+    private void startElement(String nsUri, String qname) {
+        Element e = document.createElementNS(nsUri.length()==0 ? null : nsUri, qname);
+
+        NamespaceContextImpl.Element ns = nsContext.getCurrent();
+        if(ns!=null) {
+            int sz = ns.count();
+            for( int i=0; i<sz; i++ ) {
+                String p = ns.getPrefix(i);
+                String uri = ns.getNsUri(i);
+                if(uri.length()==0 && ns.getBase()==1)
+                    continue;   // no point in defining xmlns='' on the root
+                e.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+                        p.length()==0 ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE+':'+p, uri);
+            }
+        }
+
+        stack[depth].appendChild(e);
+        if(++depth==stack.length)
+            stack = Arrays.copyOf(stack,depth*2);
+        stack[depth] = e;
+        current = e;
     }
 
     @Override
-    public void endStartTag() throws SAXException {
-        super.endStartTag();
+    public void attribute(Name name, String value) {
+        short nsIdx = name.nsUriIndex;
+        if(nsIdx==-1) {
+            current.setAttributeNS(null,name.localName,value);
+            return;
+        }
+        String p = nsContext.getPrefix(nsUriIndex2prefixIndex[nsIdx]);
+        if(p.length()==0) {
+            // see SAXOutput.attribute for how this can happen
+            current.setAttributeNS(name.nsUri,name.localName,value);
+            return;
+        }
+        int idx = name.qNameIndex;
+        if(idx>=attributeQNames.length) {
+            attributeQNames = grow(attributeQNames,idx);
+            attributePrefixes = grow(attributePrefixes,idx);
+        }
+        if(!p.equals(attributePrefixes[idx])) {
+            attributeQNames[idx] = p+':'+name.localName;
+            attributePrefixes[idx] = p;
+        }
+        current.setAttributeNS(name.nsUri,attributeQNames[idx],value);
+    }
+
+    @Override
+    public void attribute(int prefix, String localName, String value) {
+        if(prefix==-1) {
+            current.setAttributeNS(null,localName,value);
+        } else {
+            String nsUri = nsContext.getNamespaceURI(prefix);
+            current.setAttributeNS(nsUri.length()==0 ? null : nsUri, qname(nsContext.getPrefix(prefix),localName), value);
+        }
+    }
+
+    @Override
+    public void endStartTag() {
+        if(assoc==null)
+            return;
 
         Object op = nsContext.getCurrent().getOuterPeer();
         if(op!=null)
-            assoc.addOuter( getBuilder().getCurrentElement(), op );
+            assoc.addOuter( current, op );
 
         Object ip = nsContext.getCurrent().getInnerPeer();
         if(ip!=null)
-            assoc.addInner( getBuilder().getCurrentElement(), ip );
+            assoc.addInner( current, ip );
+    }
+
+    @Override
+    public void endTag(Name name) {
+        stack[depth--] = null;
+    }
+
+    @Override
+    public void endTag(int prefix, String localName) {
+        stack[depth--] = null;
+    }
+
+    @Override
+    public void text(String value, boolean needsSP) {
+        stack[depth].appendChild(document.createTextNode(needsSP ? ' '+value : value));
+    }
+
+    @Override
+    public void text(Pcdata value, boolean needsSP) {
+        text(value.toString(),needsSP);
+    }
+
+    private static String qname(String prefix, String localName) {
+        if(prefix.length()==0)
+            return localName;
+        else
+            return prefix+':'+localName;
+    }
+
+    private static String[] grow(String[] a, int idx) {
+        return Arrays.copyOf(a,Math.max(idx+1,a.length*2));
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -194,6 +194,11 @@ public final class FastInfosetStreamWriterOutput extends XMLStreamWriterOutput {
                 new WeakHashMap<>();
         final Collection<TablesPerJAXBContext> collectionOfContexts = contexts.values();
 
+        /**
+         * The external vocabulary installed on the serializer, if any.
+         */
+        FastInfosetVocabulary vocabulary;
+
         /**
          * Clear all the tables.
          */
@@ -206,6 +211,18 @@ public final class FastInfosetStreamWriterOutput extends XMLStreamWriterOutput {
     
     public FastInfosetStreamWriterOutput(StAXDocumentSerializer out,
             JAXBContextImpl context) {
+        this(out, context, false);
+    }
+
+    /**
+     * @param useVocabulary
+     *      true to make the serializer refer to the {@link FastInfosetVocabulary}
+     *      of the context, instead of starting with empty tables.
+     *      Once installed, the vocabulary stays with the serializer.
+     */
+    @SuppressWarnings("exports")
+    public FastInfosetStreamWriterOutput(StAXDocumentSerializer out,
+            JAXBContextImpl context, boolean useVocabulary) {
         super(out, NoEscapeHandler.theInstance);
         
         this.fiout = out;
@@ -219,6 +236,16 @@ public final class FastInfosetStreamWriterOutput extends XMLStreamWriterOutput {
         } else {
             appData = (AppData)vocabAppData;
         }
+
+        final FastInfosetVocabulary vocabulary = useVocabulary || appData.vocabulary != null
+                ? context.getFastInfosetVocabulary() : null;
+        if (useVocabulary) {
+            if (appData.vocabulary != vocabulary) {
+                // must be done before the index values are computed below
+                vocabulary.install(fiout);
+                appData.vocabulary = vocabulary;
+            }
+        }
         
         final TablesPerJAXBContext tablesPerContext = appData.contexts.get(context);
         if (tablesPerContext != null) {
@@ -232,6 +259,13 @@ public final class FastInfosetStreamWriterOutput extends XMLStreamWriterOutput {
             tables = new TablesPerJAXBContext(context, out.getLocalNameIndex());
             appData.contexts.put(context, tables);
         }
+
+        if (vocabulary != null && appData.vocabulary == vocabulary) {
+            // local names of the context are known from the start
+            final int[] indexes = appData.vocabulary.localNameIndexes;
+            for (int i = 0; i < indexes.length; i++)
+                tables.localNameIndexes[i] = indexes[i] + tables.indexOffset;
+        }
     }
     
     @Override
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.output;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import com.sun.xml.fastinfoset.vocab.ParserVocabulary;
+import jakarta.xml.bind.JAXBContext;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.NameList;
+import org.jvnet.fastinfoset.ExternalVocabulary;
+import org.jvnet.fastinfoset.Vocabulary;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fast Infoset external vocabulary made of the names known to a {@link JAXBContext}.
+ *
+ * <p>
+ * A Fast Infoset document normally starts with empty vocabulary tables,
+ * so every message spells out each namespace URI and local name once.
+ * Since both ends of a service-to-service hop usually share the same JAXB classes,
+ * those names can be pre-agreed instead: the sender refers to this vocabulary by its URI
+ * and the receiver resolves the URI to the same tables.
+ *
+ * <p>
+ * The URI is derived from the names themselves, so two contexts built from
+ * the same classes agree on it, and a receiver that doesn't have a matching vocabulary
+ * rejects the document instead of misreading it.
+ *
+ * <p>
+ * The unmarshaller adds the vocabulary to those of every {@link StAXDocumentParser}
+ * it reads from. The marshaller uses it when the
+ * {@link org.glassfish.jaxb.runtime.v2.runtime.MarshallerImpl#FAST_INFOSET_VOCABULARY}
+ * property is set, as it has to know that the receiver understands it.
+ *
+ * <p>
+ * This object is immutable and thus can be shared by all the marshallers and unmarshallers
+ * of a context, which creates it when first used.
+ *
+ * @see JAXBContextImpl#getFastInfosetVocabulary()
+ *
+ * @since 4.0.3
+ */
+public final class FastInfosetVocabulary {
+
+    private final ExternalVocabulary external;
+    private final ParserVocabulary parserVocabulary;
+
+    /**
+     * Fast Infoset local name index of each {@link NameList#localNames}.
+     */
+    final int[] localNameIndexes;
+
+    public FastInfosetVocabulary(NameList nameList) {
+        Vocabulary v = new Vocabulary();
+        for (String uri : nameList.namespaceURIs) {
+            if (uri.length() > 0)
+                v.namespaceNames.add(uri);
+        }
+
+        Map<String, Integer> indexes = new HashMap<>();
+        localNameIndexes = new int[nameList.localNames.length];
+        for (int i = 0; i < localNameIndexes.length; i++) {
+            String name = nameList.localNames[i];
+            if (v.localNames.add(name))
+                indexes.put(name, indexes.size());
+            localNameIndexes[i] = indexes.get(name);
+        }
+
+        external = new ExternalVocabulary(computeURI(v), v);
+        parserVocabulary = new ParserVocabulary(v);
+    }
+
+    private static String computeURI(Vocabulary v) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (String s : v.namespaceNames) {
+                md.update(s.getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+            }
+            md.update((byte) 1);
+            for (String s : v.localNames) {
+                md.update(s.getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+            }
+            StringBuilder sb = new StringBuilder("urn:org.glassfish.jaxb:vocabulary:");
+            byte[] digest = md.digest();
+            for (int i = 0; i < 16; i++)
+                sb.append(Character.forDigit((digest[i] >> 4) & 0xF, 16)).append(Character.forDigit(digest[i] & 0xF, 16));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * The URI by which documents refer to this vocabulary.
+     */
+    public String getURI() {
+        return external.URI;
+    }
+
+    /**
+     * Makes the serializer refer to this vocabulary from the next document on.
+     * Must not be called in the middle of a document.
+     */
+    void install(StAXDocumentSerializer serializer) {
+        serializer.setExternalVocabulary(external);
+    }
+
+    /**
+     * Lets the parser read documents that refer to this vocabulary,
+     * in addition to the external vocabularies it already knows.
+     * Must be called before the parser reads the document header.
+     */
+    // Fast Infoset is an optional dependency, needed only by those who have a parser
+    @SuppressWarnings("exports")
+    public void register(StAXDocumentParser parser) {
+        Map<String, ParserVocabulary> current = parser.getExternalVocabularies();
+        if (current != null && current.get(external.URI) == parserVocabulary)
+            return;     // a parser used again
+        Map<String, ParserVocabulary> map = current == null ? new HashMap<>() : new HashMap<>(current);
+        map.put(external.URI, parserVocabulary);
+        // the parser keeps a copy
+        parser.setExternalVocabularies(map);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -22,6 +22,7 @@ import org.xml.sax.SAXException;
 import javax.xml.XMLConstants;
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 
@@ -68,6 +69,18 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
      */
     private int size;
 
+    /**
+     * Bindings indexed by namespace URI and by prefix, so that look ups don't
+     * scan the whole stack. Each index maps a key to its topmost binding, and
+     * {@link #uriNext}/{@link #prefixNext} chain a binding to the next lower one
+     * with the same key (or -1), which is what the index goes back to when
+     * the binding is popped.
+     */
+    private final Index uriIndex = new Index();
+    private final Index prefixIndex = new Index();
+    private int[] uriNext = new int[4];
+    private int[] prefixNext = new int[4];
+
     private Element current;
 
     /**
@@ -90,6 +103,15 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
      */
     public boolean collectionMode;
 
+    /**
+     * Prefix indices handed out by {@link #declareNamespace(String, String, boolean)}
+     * and {@link #getPrefix(String)}, which is how prefixes get into QName values
+     * like {@code xsi:type}, since the last {@link #clearContentPrefixes()}.
+     * Null unless {@link #recordContentPrefixes()} was called.
+     */
+    private int[] contentPrefixes;
+    private int contentPrefixCount;
+
 
     public NamespaceContextImpl(XMLSerializer owner) {
         this.owner = owner;
@@ -111,8 +133,79 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
 
     public void reset() {
         current = top;
-        size = 1;
+        truncate(1);
         collectionMode = false;
+        contentPrefixCount = 0;
+    }
+
+    /**
+     * Starts recording the prefixes used in the content, for an output that
+     * only declares the prefixes it sees used, like the exclusive canonicalization.
+     */
+    public void recordContentPrefixes() {
+        if(contentPrefixes==null)
+            contentPrefixes = new int[4];
+    }
+
+    /**
+     * Number of prefix indices recorded since the last {@link #clearContentPrefixes()}.
+     */
+    public int getContentPrefixCount() {
+        return contentPrefixCount;
+    }
+
+    public int getContentPrefix(int i) {
+        return contentPrefixes[i];
+    }
+
+    public void clearContentPrefixes() {
+        contentPrefixCount = 0;
+    }
+
+    private void addContentPrefix(int prefixIndex) {
+        if(contentPrefixCount==contentPrefixes.length)
+            contentPrefixes = Arrays.copyOf(contentPrefixes,contentPrefixCount*2);
+        contentPrefixes[contentPrefixCount++] = prefixIndex;
+    }
+
+    /**
+     * Pops the bindings above the given size.
+     */
+    private void truncate(int newSize) {
+        for( int i=size-1; i>=newSize; i-- ) {
+            uriIndex.set(nsUris[i],uriNext[i]);
+            prefixIndex.set(prefixes[i],prefixNext[i]);
+        }
+        size = newSize;
+    }
+
+    /**
+     * Changes the namespace URI of an existing binding.
+     */
+    private void rebind(int idx, String uri) {
+        // unlink from the old chain
+        String oldUri = nsUris[idx];
+        int j = uriIndex.get(oldUri);
+        if(j==idx) {
+            uriIndex.set(oldUri,uriNext[idx]);
+        } else {
+            while(uriNext[j]!=idx)
+                j = uriNext[j];
+            uriNext[j] = uriNext[idx];
+        }
+
+        // chains are kept in the stack order
+        j = uriIndex.get(uri);
+        if(j<idx) {
+            uriNext[idx] = j;
+            uriIndex.set(uri,idx);
+        } else {
+            while(uriNext[j]>idx)
+                j = uriNext[j];
+            uriNext[idx] = uriNext[j];
+            uriNext[j] = idx;
+        }
+        nsUris[idx] = uri;
     }
 
     /**
@@ -123,57 +216,57 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
         preferedPrefix = prefixMapper.getPreferredPrefix(uri,preferedPrefix,requirePrefix);
 
         if(uri.length()==0) {
-            for( int i=size-1; i>=0; i-- ) {
-                if(nsUris[i].length()==0)
-                    return i; // already declared
-                if(prefixes[i].length()==0) {
-                    // the default prefix is already taken.
-                    // move that URI to another prefix, then assign "" to the default prefix.
-                    assert current.defaultPrefixIndex==-1 && current.oldDefaultNamespaceUriIndex==-1;
-
-                    String oldUri = nsUris[i];
-                    String[] knownURIs = owner.nameList.namespaceURIs;
-
-                    if(current.baseIndex<=i) {
-                        // this default prefix is declared in this context. just reassign it
-
-                        nsUris[i] = "";
-
-                        int subst = put(oldUri,null);
-
-                        // update uri->prefix table if necessary
-                        for( int j=knownURIs.length-1; j>=0; j-- ) {
-                            if(knownURIs[j].equals(oldUri)) {
-                                owner.knownUri2prefixIndexMap[j] = subst;
-                                break;
-                            }
-                        }
-                        if (current.elementLocalName != null) {
-                            current.setTagName(subst, current.elementLocalName, current.getOuterPeer());
-                        }
-                        return i;
-                    } else {
-                        // first, if the previous URI assigned to "" is
-                        // a "known URI", remember what we've reallocated
-                        // so that we can fix it when this context pops.
-                        for( int j=knownURIs.length-1; j>=0; j-- ) {
-                            if(knownURIs[j].equals(oldUri)) {
-                                current.defaultPrefixIndex = i;
-                                current.oldDefaultNamespaceUriIndex = j;
-                                // assert commented out; too strict/not valid any more
-                                // assert owner.knownUri2prefixIndexMap[j]==current.defaultPrefixIndex;
-                                // update the table to point to the prefix we'll declare
-                                owner.knownUri2prefixIndexMap[j] = size;
-                                break;
-                            }
+            int declared = uriIndex.get("");
+            int i = prefixIndex.get("");
+            if(declared>=0 && declared>=i)
+                return declared; // already declared
+            if(i>=0) {
+                // the default prefix is already taken.
+                // move that URI to another prefix, then assign "" to the default prefix.
+                assert current.defaultPrefixIndex==-1 && current.oldDefaultNamespaceUriIndex==-1;
+
+                String oldUri = nsUris[i];
+                String[] knownURIs = owner.nameList.namespaceURIs;
+
+                if(current.baseIndex<=i) {
+                    // this default prefix is declared in this context. just reassign it
+
+                    rebind(i,"");
+
+                    int subst = put(oldUri,null);
+
+                    // update uri->prefix table if necessary
+                    for( int j=knownURIs.length-1; j>=0; j-- ) {
+                        if(knownURIs[j].equals(oldUri)) {
+                            owner.knownUri2prefixIndexMap[j] = subst;
+                            break;
                         }
-                        if (current.elementLocalName!=null) {
-    						current.setTagName(size, current.elementLocalName, current.getOuterPeer());
+                    }
+                    if (current.elementLocalName != null) {
+                        current.setTagName(subst, current.elementLocalName, current.getOuterPeer());
+                    }
+                    return i;
+                } else {
+                    // first, if the previous URI assigned to "" is
+                    // a "known URI", remember what we've reallocated
+                    // so that we can fix it when this context pops.
+                    for( int j=knownURIs.length-1; j>=0; j-- ) {
+                        if(knownURIs[j].equals(oldUri)) {
+                            current.defaultPrefixIndex = i;
+                            current.oldDefaultNamespaceUriIndex = j;
+                            // assert commented out; too strict/not valid any more
+                            // assert owner.knownUri2prefixIndexMap[j]==current.defaultPrefixIndex;
+                            // update the table to point to the prefix we'll declare
+                            owner.knownUri2prefixIndexMap[j] = size;
+                            break;
                         }
-                        
-                        put(nsUris[i],null);
-                        return put("", "");
                     }
+                    if (current.elementLocalName!=null) {
+						current.setTagName(size, current.elementLocalName, current.getOuterPeer());
+                    }
+                    
+                    put(nsUris[i],null);
+                    return put("", "");
                 }
             }
 
@@ -181,17 +274,14 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
             return put("", "");
         } else {
             // check for the existing binding
-            for( int i=size-1; i>=0; i-- ) {
-                String p = prefixes[i];
-                if(nsUris[i].equals(uri)) {
-                    if (!requirePrefix || p.length()>0)
-                        return i;
-                    // declared but this URI is bound to empty. Look further
-                }
-                if(p.equals(preferedPrefix)) {
-                    // the suggested prefix is already taken. can't use it
-                    preferedPrefix = null;
-                }
+            for( int i=uriIndex.get(uri); i>=0; i=uriNext[i] ) {
+                if (!requirePrefix || prefixes[i].length()>0)
+                    return i;
+                // declared but this URI is bound to empty. Look further
+            }
+            if(preferedPrefix!=null && prefixIndex.get(preferedPrefix)>=0) {
+                // the suggested prefix is already taken. can't use it
+                preferedPrefix = null;
             }
 
             if(preferedPrefix==null && requirePrefix)
@@ -208,17 +298,11 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
     @Override
     public int force(@NotNull String uri, @NotNull String prefix) {
         // check for the existing binding
+        int i = prefixIndex.get(prefix);
+        if(i>=0 && nsUris[i].equals(uri))
+            return i;   // found duplicate
 
-        for( int i=size-1; i>=0; i-- ) {
-            if(prefixes[i].equals(prefix)) {
-                if(nsUris[i].equals(uri))
-                    return i;   // found duplicate
-                else
-                    // the prefix is used for another namespace. we need to declare it
-                    break;
-            }
-        }
-
+        // otherwise the prefix is unused or used for another namespace. we need to declare it
         return put(uri, prefix);
     }
 
@@ -243,6 +327,8 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
             System.arraycopy(prefixes,0,p,0,prefixes.length);
             nsUris = u;
             prefixes = p;
+            uriNext = Arrays.copyOf(uriNext,u.length);
+            prefixNext = Arrays.copyOf(prefixNext,p.length);
         }
         if(prefix==null) {
             if(size==1)
@@ -254,14 +340,17 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
         }
         nsUris[size] = uri;
         prefixes[size] = prefix;
+        uriNext[size] = uriIndex.get(uri);
+        uriIndex.set(uri,size);
+        prefixNext[size] = prefixIndex.get(prefix);
+        prefixIndex.set(prefix,size);
 
         return size++;
     }
 
     private String makeUniquePrefix() {
-        String prefix;
-        prefix = new StringBuilder(5).append("ns").append(size).toString();
-        while(getNamespaceURI(prefix)!=null) {
+        String prefix = size<GENERATED_PREFIXES.length ? GENERATED_PREFIXES[size] : "ns"+size;
+        while(prefixIndex.get(prefix)>=0) {
             prefix += '_';  // under a rare circumstance there might be existing 'nsNNN', so rename them
         }
         return prefix;
@@ -277,11 +366,10 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
      * It is an error if the URI is not declared.
      */
     public int getPrefixIndex( String uri ) {
-        for( int i=size-1; i>=0; i-- ) {
-                if(nsUris[i].equals(uri))
-                    return i;
-        }
-        throw new IllegalStateException();
+        int i = uriIndex.get(uri);
+        if(i<0)
+            throw new IllegalStateException();
+        return i;
     }
 
     /**
@@ -305,10 +393,8 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
      */
     @Override
     public String getNamespaceURI(String prefix) {
-        for( int i=size-1; i>=0; i-- )
-            if(prefixes[i].equals(prefix))
-                return nsUris[i];
-        return null;
+        int i = prefixIndex.get(prefix);
+        return i<0 ? null : nsUris[i];
     }
 
     /**
@@ -320,10 +406,12 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
         if(collectionMode) {
             return declareNamespace(uri,null,false);
         } else {
-            for( int i=size-1; i>=0; i-- )
-                if(nsUris[i].equals(uri))
-                    return prefixes[i];
-            return null;
+            int i = uriIndex.get(uri);
+            if(i<0)
+                return null;
+            if(contentPrefixes!=null)
+                addContentPrefix(i);
+            return prefixes[i];
         }
     }
 
@@ -339,6 +427,8 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
     @Override
     public String declareNamespace(String namespaceUri, String preferedPrefix, boolean requirePrefix) {
         int idx = declareNsUri(namespaceUri,preferedPrefix,requirePrefix);
+        if(contentPrefixes!=null)
+            addContentPrefix(idx);
         return getPrefix(idx);
     }
 
@@ -436,7 +526,7 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
                 // restore the old default namespace URI binding
                 context.owner.knownUri2prefixIndexMap[oldDefaultNamespaceUriIndex] = defaultPrefixIndex;
             }
-            context.size = baseIndex;
+            context.truncate(baseIndex);
             context.current = prev;
             // release references to user objects
             outerPeer = innerPeer = null;
@@ -529,6 +619,81 @@ public final class NamespaceContextImpl implements NamespaceContext2 {
     }
 
 
+    /**
+     * Map from a namespace URI or a prefix to the index of a binding, or -1.
+     *
+     * <p>
+     * Open addressing with linear probing. Keys are never removed,
+     * they are just mapped to -1, as the same few keys come back
+     * over and over again during marshalling.
+     */
+    private static final class Index {
+        private String[] keys = new String[16];
+        private int[] values = new int[16];
+        private int count;
+
+        int get(String key) {
+            if(key==null)
+                return -1;
+            int mask = keys.length-1;
+            for( int i=hash(key)&mask; keys[i]!=null; i=(i+1)&mask ) {
+                String k = keys[i];
+                if(k==key || k.equals(key))
+                    return values[i];
+            }
+            return -1;
+        }
+
+        void set(String key, int value) {
+            int mask = keys.length-1;
+            int i = hash(key)&mask;
+            for( ; keys[i]!=null; i=(i+1)&mask ) {
+                String k = keys[i];
+                if(k==key || k.equals(key)) {
+                    values[i] = value;
+                    return;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            if(++count*2>keys.length)
+                rehash();
+        }
+
+        private void rehash() {
+            String[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new String[oldKeys.length*2];
+            values = new int[oldKeys.length*2];
+            int mask = keys.length-1;
+            for( int j=0; j<oldKeys.length; j++ ) {
+                if(oldKeys[j]==null)
+                    continue;
+                int i = hash(oldKeys[j])&mask;
+                while(keys[i]!=null)
+                    i = (i+1)&mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+
+        private static int hash(String key) {
+            int h = key.hashCode();
+            return h^(h>>>16);
+        }
+    }
+
+    /**
+     * Prefixes given to namespace URIs without a preferred one, by their binding index,
+     * so that they aren't created over and over again.
+     */
+    private static final String[] GENERATED_PREFIXES = new String[64];
+
+    static {
+        for( int i=0; i<GENERATED_PREFIXES.length; i++ )
+            GENERATED_PREFIXES[i] = ("ns"+i).intern();
+    }
+
     /**
      * Default {@link NamespacePrefixMapper} implementation used when
      * it is not specified by the user.
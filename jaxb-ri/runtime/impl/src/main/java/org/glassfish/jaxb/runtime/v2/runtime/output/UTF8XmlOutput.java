@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -201,6 +201,23 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         write('\"');
     }
 
+    /**
+     * Writes a namespace declaration that doesn't necessarily correspond
+     * to a prefix declared in the current element.
+     */
+    protected final void writeNsDecl(String prefix, String nsUri) throws IOException {
+        if(prefix.length()==0) {
+            write(XMLNS_EQUALS);
+        } else {
+            write(XMLNS_COLON);
+            textBuffer.set(prefix);
+            textBuffer.write(this);
+            write(EQUALS);
+        }
+        doText(nsUri,true);
+        write('\"');
+    }
+
     private void writePrefix(int prefix) throws IOException {
         prefixes[prefix].write(this);
     }
@@ -394,6 +411,24 @@ public class UTF8XmlOutput extends XmlOutputAbstractImpl {
         octetBufferIndex = 0;
     }
 
+    /**
+     * Number of bytes written but not yet passed to the underlying stream.
+     */
+    public final int getPendingBytes() {
+        return octetBufferIndex;
+    }
+
+    /**
+     * Writes the previously produced bytes of an element body,
+     * which start with the {@code '>'} that closes the start tag, unless the body is empty.
+     */
+    public final void writeBody(byte[] b, int start, int length) throws IOException {
+        if(length==0)
+            return;
+        closeStartTagPending = false;
+        write(b, start, length);
+    }
+
     static byte[] toBytes(String s) {
         byte[] buf = new byte[s.length()];
         for( int i=s.length()-1; i>=0; i-- )
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -39,11 +39,22 @@ public class XMLStreamWriterOutput extends XmlOutputAbstractImpl {
      * This method recognizes an FI StAX writer.
      */
     public static XmlOutput create(XMLStreamWriter out, JAXBContextImpl context, CharacterEscapeHandler escapeHandler) {
+        return create(out, context, escapeHandler, false);
+    }
+
+    /**
+     * Creates a new {@link XmlOutput} from a {@link XMLStreamWriter}.
+     *
+     * @param fastInfosetVocabulary
+     *      true to use the {@link FastInfosetVocabulary} of the context
+     *      if the writer is a Fast Infoset one.
+     */
+    public static XmlOutput create(XMLStreamWriter out, JAXBContextImpl context, CharacterEscapeHandler escapeHandler, boolean fastInfosetVocabulary) {
         // try optimized path
         final Class writerClass = out.getClass();
         if (writerClass==FI_STAX_WRITER_CLASS) {
             try {
-                return FI_OUTPUT_CTOR.newInstance(out, context);
+                return FI_OUTPUT_CTOR.newInstance(out, context, fastInfosetVocabulary);
             } catch (Exception e) {
             }  
         } 
@@ -178,7 +189,7 @@ public class XMLStreamWriterOutput extends XmlOutputAbstractImpl {
             if (FI_STAX_WRITER_CLASS == null)
                 return null;
             Class c = Class.forName("org.glassfish.jaxb.runtime.v2.runtime.output.FastInfosetStreamWriterOutput");
-            return c.getConstructor(FI_STAX_WRITER_CLASS, JAXBContextImpl.class);
+            return c.getConstructor(FI_STAX_WRITER_CLASS, JAXBContextImpl.class, boolean.class);
         } catch (Throwable e) {
             return null;
         }
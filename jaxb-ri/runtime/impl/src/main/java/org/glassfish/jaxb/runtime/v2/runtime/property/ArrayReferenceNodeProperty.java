@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,6 +10,8 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.property;
 
+import org.glassfish.jaxb.runtime.ElementBuffer;
+import org.glassfish.jaxb.runtime.ElementBufferHandler;
 import org.glassfish.jaxb.core.v2.ClassFactory;
 import org.glassfish.jaxb.core.v2.model.core.PropertyKind;
 import org.glassfish.jaxb.core.v2.model.core.WildcardMode;
@@ -73,6 +75,9 @@ class ArrayReferenceNodeProperty<BeanT,ListT,ItemT> extends ArrayERProperty<Bean
                 if (item != null) {
                     if(isMixed && item.getClass()==String.class) {
                         w.text((String)item,null);
+                    } else if(item instanceof ElementBuffer && domHandler instanceof ElementBufferHandler) {
+                        // not bound to any class, so the DomHandler replays it
+                        w.writeDom(item,domHandler,o,fieldName);
                     } else {
                         JaxBeanInfo bi = w.grammar.getBeanInfo(item,true);
                         if(bi.jaxbType==Object.class && domHandler!=null)
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,6 +10,8 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.property;
 
+import org.glassfish.jaxb.runtime.ElementBuffer;
+import org.glassfish.jaxb.runtime.ElementBufferHandler;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.core.v2.ClassFactory;
 import org.glassfish.jaxb.core.v2.model.core.PropertyKind;
@@ -76,6 +78,11 @@ final class SingleReferenceNodeProperty<BeanT,ValueT> extends PropertyImpl<BeanT
         ValueT v = acc.get(o);
         if(v!=null) {
             try {
+                if(v instanceof ElementBuffer && domHandler instanceof ElementBufferHandler) {
+                    // not bound to any class, so the DomHandler replays it
+                    w.writeDom(v,domHandler,o,fieldName);
+                    return;
+                }
                 JaxBeanInfo bi = w.grammar.getBeanInfo(v,true);
                 if(bi.jaxbType==Object.class && domHandler!=null)
                     // even if 'v' is a DOM node, it always derive from Object,
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -23,8 +23,7 @@ import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 import org.glassfish.jaxb.runtime.v2.runtime.Name;
 import org.glassfish.jaxb.runtime.v2.runtime.Transducer;
 import org.glassfish.jaxb.runtime.v2.runtime.XMLSerializer;
-import org.glassfish.jaxb.core.v2.runtime.unmarshaller.LocatorEx;
-import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.Patcher;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.ForwardReferences;
 import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallingContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.annotation.XmlValue;
@@ -236,7 +235,7 @@ public abstract class TransducedAccessor<BeanT> {
      * BeanT: the type of the bean that contains this the IDREF field.
      * TargetT: the type of the bean pointed by IDREF.
      */
-    private static final class IDREFTransducedAccessorImpl<BeanT,TargetT> extends DefaultTransducedAccessor<BeanT> {
+    private static final class IDREFTransducedAccessorImpl<BeanT,TargetT> extends DefaultTransducedAccessor<BeanT> implements ForwardReferences.Assigner {
         private final Accessor<BeanT,TargetT> acc;
         /**
          * The object that an IDREF resolves to should be
@@ -266,11 +265,12 @@ public abstract class TransducedAccessor<BeanT> {
             }
         }
 
-        private void assign( BeanT bean, TargetT t, UnmarshallingContext context ) throws AccessorException {
+        @Override
+        public void assign( Object bean, Object t, UnmarshallingContext context ) throws AccessorException {
             if(!targetType.isInstance(t))
                 context.handleError(Messages.UNASSIGNABLE_TYPE.format(targetType,t.getClass()));
             else
-                acc.set(bean,t);
+                acc.set((BeanT)bean,(TargetT)t);
         }
 
         @Override
@@ -297,26 +297,7 @@ public abstract class TransducedAccessor<BeanT> {
                 assign(bean,t,context);
             } else {
                 // try again later
-                final LocatorEx loc = new LocatorEx.Snapshot(context.getLocator());
-                context.addPatcher(new Patcher() {
-                    @Override
-                    public void run() throws SAXException {
-                        try {
-                            TargetT t = (TargetT)callable.call();
-                            if(t==null) {
-                                context.errorUnresolvedIDREF(bean,idref,loc);
-                            } else {
-                                assign(bean,t,context);
-                            }
-                        } catch (AccessorException e) {
-                            context.handleError(e);
-                        } catch (SAXException | RuntimeException e) {// from callable.call
-                            throw e;
-                        } catch (Exception e) {// from callable.call
-                            throw new SAXException2(e);
-                        }
-                    }
-                });
+                context.addForwardReference(bean,this,idref,callable);
             }
         }
 
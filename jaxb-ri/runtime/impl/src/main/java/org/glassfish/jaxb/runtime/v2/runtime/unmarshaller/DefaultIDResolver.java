@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -14,38 +14,101 @@ import org.glassfish.jaxb.runtime.IDResolver;
 import jakarta.xml.bind.ValidationEventHandler;
 import org.xml.sax.SAXException;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 /**
  * Default implementation of {@link IDResolver}.
  *
+ * <p>
+ * IDs are kept in an open addressing hash table. Each entry of the table
+ * is also the {@link Callable} returned from {@link #resolve(String, Class)},
+ * so resolving an IDREF doesn't allocate anything once its ID is known,
+ * and all the forward references to the same ID share a single entry
+ * that gets filled in when the ID is bound.
+ *
  * @author Kohsuke Kawaguchi
  */
 final class DefaultIDResolver extends IDResolver {
-    /** Records ID-{@literal >}Object map. */
-    private HashMap<String,Object> idmap = null;
+    /** Records ID-{@literal >}Object map. Length is always a power of two. */
+    private Slot[] table = null;
+    /** Number of slots in use. */
+    private int size;
 
     @Override
     public void startDocument(ValidationEventHandler eventHandler) throws SAXException {
-        if(idmap!=null)
-            idmap.clear();
+        if(table!=null) {
+            if(table.length>INITIAL_CAPACITY*16) {
+                // don't keep a huge table around just because one document was large
+                table = null;
+            } else {
+                Arrays.fill(table,null);
+            }
+            size = 0;
+        }
     }
 
     @Override
     public void bind(String id, Object obj) {
-        if(idmap==null)     idmap = new HashMap<>();
-        idmap.put(id,obj);
+        slot(id).value = obj;
     }
 
     @Override
     public Callable resolve(final String id, Class targetType) {
-        return new Callable() {
-            @Override
-            public Object call() throws Exception {
-                if(idmap==null)     return null;
-                return idmap.get(id);
-            }
-        };
+        return slot(id);
+    }
+
+    /**
+     * Gets the slot for the given ID, creating one if necessary.
+     */
+    private Slot slot(String id) {
+        if(table==null)
+            table = new Slot[INITIAL_CAPACITY];
+
+        int mask = table.length-1;
+        int i = id.hashCode() & mask;
+        for( Slot s=table[i]; s!=null; s=table[i] ) {
+            if(s.id.equals(id))
+                return s;
+            i = (i+1) & mask;
+        }
+
+        Slot s = new Slot(id);
+        table[i] = s;
+        if(++size*2 > table.length)
+            rehash();
+        return s;
     }
+
+    private void rehash() {
+        Slot[] old = table;
+        table = new Slot[old.length*2];
+        int mask = table.length-1;
+        for (Slot s : old) {
+            if(s==null)     continue;
+            int i = s.id.hashCode() & mask;
+            while(table[i]!=null)
+                i = (i+1) & mask;
+            table[i] = s;
+        }
+    }
+
+    /**
+     * An ID and the object bound to it, if any yet.
+     */
+    private static final class Slot implements Callable<Object> {
+        final String id;
+        Object value;
+
+        Slot(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public Object call() {
+            return value;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 64;
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,11 +10,14 @@
 
 package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
 
+import org.glassfish.jaxb.runtime.ElementBufferHandler;
 import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 import jakarta.xml.bind.annotation.DomHandler;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 
 import javax.xml.transform.Result;
+import javax.xml.transform.sax.SAXResult;
 import javax.xml.transform.sax.TransformerHandler;
 
 /**
@@ -34,7 +37,7 @@ public class DomLoader<ResultT extends Result> extends Loader {
     private final class State {
         
         /** This handler will receive SAX events. */
-        private TransformerHandler handler = null;
+        private final ContentHandler handler;
 
         /** {@link #handler} will produce this result. */
         private final ResultT result;
@@ -43,10 +46,16 @@ public class DomLoader<ResultT extends Result> extends Loader {
         int depth = 1;
 
         public State( UnmarshallingContext context ) throws SAXException {
-            handler = JAXBContextImpl.createTransformerHandler(context.getJAXBContext().disableSecurityProcessing);
             result = dom.createUnmarshaller(context);
 
-            handler.setResult(result);
+            if(dom instanceof ElementBufferHandler) {
+                // it records the SAX events anyway, so no need to go through a transformer
+                handler = ((SAXResult)result).getHandler();
+            } else {
+                TransformerHandler th = JAXBContextImpl.createTransformerHandler(context.getJAXBContext().disableSecurityProcessing);
+                th.setResult(result);
+                handler = th;
+            }
 
             // emulate the start of documents
             try {
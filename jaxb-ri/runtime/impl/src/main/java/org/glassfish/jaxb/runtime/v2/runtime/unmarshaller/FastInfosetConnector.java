@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -45,6 +45,8 @@ final class FastInfosetConnector extends StAXConnector {
             XmlVisitor visitor) {
         super(visitor);
         fastInfosetStreamReader.setStringInterning(true);
+        // documents may refer to the vocabulary of the context
+        visitor.getContext().getJAXBContext().getFastInfosetVocabulary().register(fastInfosetStreamReader);
         this.fastInfosetStreamReader = fastInfosetStreamReader;
     }
 
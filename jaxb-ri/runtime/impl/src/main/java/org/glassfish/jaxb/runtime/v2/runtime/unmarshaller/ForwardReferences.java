@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import com.sun.istack.SAXException2;
+import org.glassfish.jaxb.core.v2.runtime.unmarshaller.LocatorEx;
+import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.LocatorImpl;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Forward IDREFs found in a document, patched in one batch
+ * at the end of the unmarshalling.
+ *
+ * <p>
+ * Registering a separate {@link Patcher} (and a {@link LocatorEx.Snapshot})
+ * for each forward reference gets expensive for graph-shaped documents.
+ * This object keeps them in parallel arrays instead, so that recording
+ * a forward reference doesn't allocate anything other than the occasional
+ * array expansion. The whole batch is registered as a single {@link Patcher}.
+ *
+ * @see UnmarshallingContext#addForwardReference
+ */
+public final class ForwardReferences implements Patcher {
+
+    /**
+     * Receives the object that an IDREF eventually resolves to.
+     */
+    public interface Assigner {
+        void assign(Object bean, Object target, UnmarshallingContext context) throws AccessorException;
+    }
+
+    private final UnmarshallingContext context;
+
+    private Object[] beans;
+    private Assigner[] assigners;
+    private Callable<?>[] callables;
+    private String[] idrefs;
+    /**
+     * Line and column number pairs of the references.
+     */
+    private int[] positions;
+    private String[] systemIds;
+    /**
+     * Full snapshots of the location, only for input that doesn't have line numbers
+     * (such as DOM.) Lazily created.
+     */
+    private LocatorEx[] snapshots;
+
+    private int size;
+
+    ForwardReferences(UnmarshallingContext context) {
+        this.context = context;
+    }
+
+    boolean isEmpty() {
+        return size==0;
+    }
+
+    void add(Object bean, Assigner assigner, String idref, Callable<?> callable, LocatorEx loc) {
+        if(beans==null || size==beans.length)
+            grow();
+
+        beans[size] = bean;
+        assigners[size] = assigner;
+        callables[size] = callable;
+        idrefs[size] = idref;
+
+        int line = loc.getLineNumber();
+        if(line<0) {
+            if(snapshots==null)
+                snapshots = new LocatorEx[beans.length];
+            snapshots[size] = new LocatorEx.Snapshot(loc);
+        } else {
+            positions[size*2] = line;
+            positions[size*2+1] = loc.getColumnNumber();
+            systemIds[size] = loc.getSystemId();
+        }
+        size++;
+    }
+
+    private void grow() {
+        int len = beans==null ? 32 : beans.length*2;
+        beans = beans==null ? new Object[len] : Arrays.copyOf(beans,len);
+        assigners = assigners==null ? new Assigner[len] : Arrays.copyOf(assigners,len);
+        callables = callables==null ? new Callable<?>[len] : Arrays.copyOf(callables,len);
+        idrefs = idrefs==null ? new String[len] : Arrays.copyOf(idrefs,len);
+        positions = positions==null ? new int[len*2] : Arrays.copyOf(positions,len*2);
+        systemIds = systemIds==null ? new String[len] : Arrays.copyOf(systemIds,len);
+        if(snapshots!=null)
+            snapshots = Arrays.copyOf(snapshots,len);
+    }
+
+    @Override
+    public void run() throws SAXException {
+        try {
+            for( int i=0; i<size; i++ ) {
+                Object t;
+                try {
+                    t = callables[i].call();
+                } catch (SAXException | RuntimeException e) {// from callable.call
+                    throw e;
+                } catch (Exception e) {// from callable.call
+                    throw new SAXException2(e);
+                }
+
+                try {
+                    if(t==null) {
+                        context.errorUnresolvedIDREF(beans[i],idrefs[i],getLocation(i));
+                    } else {
+                        assigners[i].assign(beans[i],t,context);
+                    }
+                } catch (AccessorException e) {
+                    context.handleError(e);
+                }
+            }
+        } finally {
+            clear();
+        }
+    }
+
+    private LocatorEx getLocation(int i) {
+        if(snapshots!=null && snapshots[i]!=null)
+            return snapshots[i];
+        LocatorImpl loc = new LocatorImpl();
+        loc.setSystemId(systemIds[i]);
+        loc.setLineNumber(positions[i*2]);
+        loc.setColumnNumber(positions[i*2+1]);
+        return new LocatorExWrapper(loc);
+    }
+
+    /**
+     * Forgets all the recorded references, so that they can be garbage collected.
+     */
+    void clear() {
+        if(size==0)
+            return;
+        Arrays.fill(beans,0,size,null);
+        Arrays.fill(assigners,0,size,null);
+        Arrays.fill(callables,0,size,null);
+        Arrays.fill(idrefs,0,size,null);
+        Arrays.fill(systemIds,0,size,null);
+        snapshots = null;
+        size = 0;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -11,6 +11,7 @@
 package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
 
 import org.glassfish.jaxb.core.v2.runtime.unmarshaller.LocatorEx;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -19,15 +20,23 @@ import javax.xml.namespace.NamespaceContext;
 /**
  * {@link XmlVisitor} decorator that interns all string tokens.
  *
+ * <p>
+ * Names known to the {@link JAXBContextImpl} are resolved through its
+ * {@link NameTable}, so that the global string table is only consulted
+ * for names the context doesn't know about.
+ *
  * @author Kohsuke Kawaguchi
  */
 public final class InterningXmlVisitor implements XmlVisitor {
     private final XmlVisitor next;
 
+    private final NameTable names;
+
     private final AttributesImpl attributes = new AttributesImpl();
 
     public InterningXmlVisitor(XmlVisitor next) {
         this.next = next;
+        this.names = next.getContext().getJAXBContext().getNameTable();
     }
 
     @Override
@@ -81,7 +90,7 @@ public final class InterningXmlVisitor implements XmlVisitor {
         return next.getPredictor();
     }
 
-    private static class AttributesImpl implements Attributes {
+    private final class AttributesImpl implements Attributes {
         private Attributes core;
 
         void setAttributes(Attributes att) {
@@ -154,8 +163,7 @@ public final class InterningXmlVisitor implements XmlVisitor {
         }
     }
 
-    private static String intern(String s) {
-        if(s==null)     return null;
-        else            return s.intern();
+    private String intern(String s) {
+        return names.intern(s);
     }
 }
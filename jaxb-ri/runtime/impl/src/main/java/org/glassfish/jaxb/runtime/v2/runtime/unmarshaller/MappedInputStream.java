@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link InputStream} that reads a file through memory mapped windows.
+ *
+ * <p>
+ * The parser reads straight from the page cache into its own buffer,
+ * so there's no read system call per buffer and no intermediate
+ * {@link java.io.BufferedInputStream} copy. The file is mapped a window
+ * at a time, so files larger than 2GB work, too.
+ */
+final class MappedInputStream extends InputStream {
+
+    private static final long WINDOW = 1L<<26;
+
+    private final FileChannel channel;
+    private final long size;
+    /** File position where the next window starts. */
+    private long next;
+    private MappedByteBuffer window;
+
+    MappedInputStream(Path path) throws IOException {
+        this.channel = FileChannel.open(path,StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    /**
+     * @return false at the end of the file.
+     */
+    private boolean fill() throws IOException {
+        if(window!=null && window.hasRemaining())
+            return true;
+        if(next>=size)
+            return false;
+        long len = Math.min(WINDOW,size-next);
+        window = channel.map(FileChannel.MapMode.READ_ONLY,next,len);
+        next += len;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if(!fill())
+            return -1;
+        return window.get()&0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if(len==0)
+            return 0;
+        if(!fill())
+            return -1;
+        int n = Math.min(len,window.remaining());
+        window.get(b,off,n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        long n = size-next;
+        if(window!=null)
+            n += window.remaining();
+        return (int)Math.min(n,Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
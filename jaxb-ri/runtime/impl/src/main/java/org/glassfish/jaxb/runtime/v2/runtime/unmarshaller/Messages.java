@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -26,6 +26,21 @@ enum Messages {
     UNABLE_TO_CREATE_MAP, // 1 arg
     UNINTERNED_STRINGS, // no args
     ERRORS_LIMIT_EXCEEDED, // no arg
+    UNEXPECTED_EOF, // no arg
+    CONTENT_OUTSIDE_ROOT, // no arg
+    DOCTYPE_NOT_ALLOWED, // no arg
+    MALFORMED_MARKUP, // no arg
+    MALFORMED_UTF8, // no arg
+    UNSUPPORTED_ENCODING, // 1 arg
+    MISMATCHED_END_TAG, // 2 args
+    UNDEFINED_ENTITY, // 1 arg
+    UNDECLARED_PREFIX, // 1 arg
+    DUPLICATE_ATTRIBUTE, // 1 arg
+    TOO_MANY_ATTRIBUTES, // 1 arg
+    TOKEN_TOO_LARGE, // 1 arg
+    TEXT_TOO_LARGE, // 1 arg
+    INVALID_CHARACTER, // 1 arg
+    INVALID_NAME, // 1 arg
     ;
 
     private static final ResourceBundle rb = ResourceBundle.getBundle(Messages.class.getName());
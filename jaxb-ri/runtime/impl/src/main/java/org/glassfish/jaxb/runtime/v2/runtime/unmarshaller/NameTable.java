@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+import org.glassfish.jaxb.runtime.v2.runtime.NameList;
+
+import javax.xml.XMLConstants;
+
+/**
+ * Table of the namespace URIs and local names known to a {@link JAXBContextImpl}.
+ *
+ * <p>
+ * The unmarshaller compares names by identity, so names coming from a parser
+ * that doesn't intern them need to be replaced by the canonical instance.
+ * {@link String#intern()} does that through the global string table,
+ * which is comparatively expensive. Since almost all the names in a document
+ * are known to the context, this table is consulted first and
+ * {@link String#intern()} is only used for the names that aren't in it.
+ *
+ * <p>
+ * This object is immutable and thus can be shared by all the unmarshallers
+ * of a context.
+ *
+ * @see InterningXmlVisitor
+ */
+@SuppressWarnings({"StringEquality"})
+public final class NameTable {
+    /**
+     * Canonical (interned) strings, open addressing with linear probing.
+     */
+    private final String[] table;
+    private final int mask;
+
+    public NameTable(NameList nameList) {
+        int size = nameList.namespaceURIs.length + nameList.localNames.length + EXTRA.length;
+        int capacity = 16;
+        while (capacity < size * 2)
+            capacity <<= 1;
+        table = new String[capacity];
+        mask = capacity - 1;
+
+        for (String s : nameList.namespaceURIs)
+            add(s);
+        for (String s : nameList.localNames)
+            add(s);
+        for (String s : EXTRA)
+            add(s);
+    }
+
+    private void add(String s) {
+        int i = hash(s) & mask;
+        while (table[i] != null) {
+            if (table[i] == s)
+                return;
+            i = (i + 1) & mask;
+        }
+        table[i] = s;
+    }
+
+    /**
+     * Returns the canonical instance of the given name,
+     * or null if this table doesn't know it.
+     */
+    public String get(String s) {
+        final String[] t = table;
+        int i = hash(s) & mask;
+        while (true) {
+            String k = t[i];
+            if (k == null)
+                return null;
+            if (k == s || k.equals(s))
+                return k;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the canonical instance of the given name, falling back
+     * to {@link String#intern()} for names this table doesn't know.
+     */
+    public String intern(String s) {
+        if (s == null)
+            return null;
+        String r = get(s);
+        if (r != null)
+            return r;
+        return s.intern();
+    }
+
+    /**
+     * Spreads the higher bits, as the table is indexed by the lower ones.
+     */
+    private static int hash(String s) {
+        int h = s.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Names that show up in documents regardless of the model.
+     */
+    private static final String[] EXTRA = {
+        "",
+        XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI,
+        XMLConstants.XML_NS_URI,
+        XMLConstants.XMLNS_ATTRIBUTE_NS_URI,
+        XMLConstants.XMLNS_ATTRIBUTE,
+        "type",
+        "nil",
+        "schemaLocation",
+        "noNamespaceSchemaLocation",
+        "CDATA"
+    };
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -352,7 +352,7 @@ class StAXStreamConnector extends StAXConnector {
                 return null;
             
             Class c = Class.forName(
-                    "org.glassfish.jaxb.core.v2.runtime.unmarshaller.FastInfosetConnector");                
+                    "org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.FastInfosetConnector");
             return c.getConstructor(FI_STAX_READER_CLASS,XmlVisitor.class);
         } catch (Throwable e) {
             return null;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -22,6 +22,7 @@ import org.glassfish.jaxb.runtime.v2.runtime.property.StructureLoaderBuilder;
 import org.glassfish.jaxb.runtime.v2.runtime.property.UnmarshallerChain;
 import org.glassfish.jaxb.runtime.v2.runtime.reflect.Accessor;
 import org.glassfish.jaxb.runtime.v2.runtime.reflect.TransducedAccessor;
+import org.glassfish.jaxb.runtime.v2.util.CompiledQNameMap;
 import org.glassfish.jaxb.runtime.v2.util.QNameMap;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -51,6 +52,12 @@ public final class StructureLoader extends Loader {
      */
     private final QNameMap<ChildLoader> childUnmarshallers = new QNameMap<>();
 
+    /**
+     * Collision-free copy of {@link #childUnmarshallers} used for the
+     * per-tag look up. Built at the end of {@link #init}.
+     */
+    private /*final*/ CompiledQNameMap<ChildLoader> childDispatch;
+
     /**
      * Loader that processes elements that didn't match anf of the {@link #childUnmarshallers}.
      * Can be null.
@@ -68,6 +75,12 @@ public final class StructureLoader extends Loader {
      */
     private /*final*/ QNameMap<TransducedAccessor> attUnmarshallers;
 
+    /**
+     * Collision-free copy of {@link #attUnmarshallers}.
+     * Null if and only if {@link #attUnmarshallers} is null.
+     */
+    private /*final*/ CompiledQNameMap<TransducedAccessor> attDispatch;
+
     /**
      * This will receive all the attributes
      * that were not processed. Never be null.
@@ -133,6 +146,10 @@ public final class StructureLoader extends Loader {
         } else {
             attCatchAll = null;
         }
+
+        childDispatch = new CompiledQNameMap<>(childUnmarshallers);
+        if(attUnmarshallers!=null)
+            attDispatch = attUnmarshallers==EMPTY ? EMPTY_DISPATCH : new CompiledQNameMap<>(attUnmarshallers);
     }
 
     @Override
@@ -164,7 +181,7 @@ public final class StructureLoader extends Loader {
 
         context.startScope(frameSize);
 
-        if(attUnmarshallers!=null) {
+        if(attDispatch!=null) {
             Attributes atts = ea.atts;
             for (int i = 0; i < atts.getLength(); i ++){
                 String auri = atts.getURI(i);
@@ -174,7 +191,7 @@ public final class StructureLoader extends Loader {
                     alocal = atts.getQName(i);
                 }
                 String avalue = atts.getValue(i);                
-                TransducedAccessor xacc = attUnmarshallers.get(auri, alocal);
+                TransducedAccessor xacc = attDispatch.get(auri, alocal);
                 try {
                     if(xacc!=null) {
                         xacc.parse(child,avalue);
@@ -215,7 +232,7 @@ public final class StructureLoader extends Loader {
 
     @Override
     public void childElement(UnmarshallingContext.State state, TagName arg) throws SAXException {
-        ChildLoader child = childUnmarshallers.get(arg.uri,arg.local);
+        ChildLoader child = childDispatch.get(arg.uri,arg.local);
         if(child == null) {
             Boolean backupWithParentNamespace = state.getContext().getJAXBContext().backupWithParentNamespace;
 			backupWithParentNamespace = backupWithParentNamespace != null
@@ -227,7 +244,7 @@ public final class StructureLoader extends Loader {
                 if ((typeNamesIt != null) && (typeNamesIt.hasNext()) && (catchAll == null)) {
                     parentQName = (QName) typeNamesIt.next();
                     String parentUri = parentQName.getNamespaceURI();
-                    child = childUnmarshallers.get(parentUri, arg.local);
+                    child = childDispatch.get(parentUri, arg.local);
                 }
             }
             if (child == null) {
@@ -266,6 +283,7 @@ public final class StructureLoader extends Loader {
     }
 
     private static final QNameMap<TransducedAccessor> EMPTY = new QNameMap<>();
+    private static final CompiledQNameMap<TransducedAccessor> EMPTY_DISPATCH = new CompiledQNameMap<>(EMPTY);
 
     public JaxBeanInfo getBeanInfo() {
         return beanInfo;
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBException;
+import org.xml.sax.SAXException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Unmarshals a UTF-8 encoded document that is pushed in chunks,
+ * without ever blocking for input.
+ *
+ * <p>
+ * Created by {@link UnmarshallerImpl#createFeed()}. Each chunk given to {@link #feed(ByteBuffer)}
+ * is unmarshalled as far as it goes right away, so a request body can be unmarshalled
+ * on an event loop thread as it arrives. The {@link UnmarshallerImpl} must not be used
+ * for anything else until {@link #endOfInput()} is called or an error is thrown.
+ *
+ * <pre>
+ * UnmarshalFeed feed = unmarshaller.createFeed();
+ * // as data arrives
+ * feed.feed(chunk);
+ * // when the body ends
+ * Object o = feed.endOfInput();
+ * </pre>
+ *
+ * @since 4.0.3
+ */
+public final class UnmarshalFeed {
+    private final UnmarshallerImpl unmarshaller;
+    private final XmlVisitor visitor;
+    private final XmlTokenizer tokenizer;
+
+    UnmarshalFeed(UnmarshallerImpl unmarshaller, XmlVisitor visitor) {
+        this.unmarshaller = unmarshaller;
+        this.visitor = visitor;
+        this.tokenizer = new XmlTokenizer(visitor);
+    }
+
+    /**
+     * Parses the remaining bytes of the given buffer.
+     * The buffer is not used after this method returns.
+     */
+    public void feed(ByteBuffer chunk) throws JAXBException {
+        try {
+            tokenizer.feed(chunk);
+        } catch (SAXException e) {
+            throw unmarshaller.createUnmarshalException(e);
+        } catch (RuntimeException | Error e) {
+            visitor.getContext().operationFailed(e);
+            throw e;
+        }
+    }
+
+    public void feed(byte[] chunk, int off, int len) throws JAXBException {
+        try {
+            tokenizer.feed(chunk,off,len);
+        } catch (SAXException e) {
+            throw unmarshaller.createUnmarshalException(e);
+        } catch (RuntimeException | Error e) {
+            visitor.getContext().operationFailed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns true once the root element is complete,
+     * in which case {@link #endOfInput()} will return the unmarshalled object.
+     */
+    public boolean isComplete() {
+        return tokenizer.isComplete();
+    }
+
+    /**
+     * Signals the end of the document.
+     *
+     * @return
+     *      the unmarshalled object, just like {@link jakarta.xml.bind.Unmarshaller#unmarshal(java.io.InputStream)}.
+     * @throws JAXBException
+     *      if the document is incomplete or otherwise can't be unmarshalled.
+     */
+    public Object endOfInput() throws JAXBException {
+        try {
+            tokenizer.endOfInput();
+        } catch (SAXException e) {
+            throw unmarshaller.createUnmarshalException(e);
+        } catch (RuntimeException | Error e) {
+            visitor.getContext().operationFailed(e);
+            throw e;
+        }
+        Object retVal = visitor.getContext().getResult();
+        visitor.getContext().clearResult();
+        return retVal;
+    }
+}
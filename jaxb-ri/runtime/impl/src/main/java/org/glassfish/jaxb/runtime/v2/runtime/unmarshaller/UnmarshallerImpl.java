@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -12,6 +12,7 @@ package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
 
 import org.glassfish.jaxb.runtime.IDResolver;
 import org.glassfish.jaxb.runtime.api.ClassResolver;
+import org.glassfish.jaxb.runtime.api.JAXBInstrumentation;
 import org.glassfish.jaxb.core.unmarshaller.DOMScanner;
 import org.glassfish.jaxb.core.unmarshaller.InfosetScanner;
 import org.glassfish.jaxb.core.v2.ClassFactory;
@@ -45,8 +46,10 @@ import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import java.io.Closeable;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * Default Unmarshaller implementation.
@@ -73,6 +76,12 @@ import java.io.InputStream;
     /** Unmarshaller.Listener */
     private Listener externalListener;
 
+    /**
+     * Counts the bytes read by the current operation, if instrumented
+     * and reading from an {@link InputStream}.
+     */
+    private CountingInputStream byteCounter;
+
     /**
      * The attachment unmarshaller used to support MTOM and swaRef.
      */
@@ -197,6 +206,55 @@ import java.io.InputStream;
     }
 
     private Object unmarshal0( XMLReader reader, InputSource source, JaxBeanInfo expectedType ) throws JAXBException {
+        InputStream in = source.getByteStream();
+        if(context.instrumentation==null || in==null) {
+            return instrumented(() -> parse(reader,source,expectedType));
+        }
+        source.setByteStream(byteCounter = new CountingInputStream(in));
+        try {
+            return instrumented(() -> parse(reader,source,expectedType));
+        } finally {
+            source.setByteStream(in);
+            byteCounter = null;
+        }
+    }
+
+    /**
+     * Runs an unmarshal operation and reports it as failed to the {@link JAXBInstrumentation}
+     * if it ended before the end of the document. An {@link UnmarshalException} is reported
+     * as it's created, but nothing else would report a {@link RuntimeException}.
+     */
+    private Object instrumented(Operation op) throws JAXBException {
+        if(context.instrumentation==null) {
+            return op.run();
+        }
+        Throwable failure = null;
+        try {
+            return op.run();
+        } catch (JAXBException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            coordinator.operationFailed(failure);
+        }
+    }
+
+    private interface Operation {
+        Object run() throws JAXBException;
+    }
+
+    /**
+     * Gets the number of bytes read by the current operation, or -1 if not known.
+     */
+    long getBytesRead() {
+        return byteCounter==null ? -1 : byteCounter.count;
+    }
+
+    private Object parse( XMLReader reader, InputSource source, JaxBeanInfo expectedType ) throws JAXBException {
+        if(fastTokenizer && reader==this.reader && source.getByteStream()!=null && source.getCharacterStream()==null
+                && (source.getEncoding()==null || source.getEncoding().equalsIgnoreCase("UTF-8"))) {
+            return unmarshal0(source.getByteStream(),source.getSystemId(),expectedType);
+        }
 
         SAXConnector connector = getUnmarshallerHandler(needsInterning(reader),expectedType);
 
@@ -218,6 +276,7 @@ import java.io.InputStream;
             reader.parse(source);
         } catch( IOException e ) {
             coordinator.clearStates();
+            coordinator.operationFailed(e);
             throw new UnmarshalException(e);
         } catch( SAXException e ) {
             coordinator.clearStates();
@@ -235,6 +294,63 @@ import java.io.InputStream;
         return result;
     }
 
+    /**
+     * Unmarshals the given file, reading it through memory mapped windows
+     * instead of a {@link java.io.FileInputStream}.
+     *
+     * @since 4.0.3
+     */
+    public Object unmarshal(Path path) throws JAXBException {
+        if(path==null) {
+            throw new IllegalArgumentException();
+        }
+        return unmarshal0(path,null);
+    }
+
+    /**
+     * Unmarshals the given file as the given type,
+     * reading it through memory mapped windows.
+     *
+     * @since 4.0.3
+     */
+    public <T> JAXBElement<T> unmarshal(Path path, Class<T> expectedType) throws JAXBException {
+        if(path==null || expectedType==null) {
+            throw new IllegalArgumentException();
+        }
+        return (JAXBElement)unmarshal0(path,getBeanInfo(expectedType));
+    }
+
+    private Object unmarshal0( Path path, JaxBeanInfo expectedType ) throws JAXBException {
+        try (InputStream in = new MappedInputStream(path)) {
+            InputSource source = new InputSource(in);
+            source.setSystemId(path.toUri().toString());
+            return unmarshal0(getXMLReader(),source,expectedType);
+        } catch( IOException e ) {
+            throw new UnmarshalException(e);
+        }
+    }
+
+    /**
+     * Parses the stream with {@link XmlTokenizer} instead of the SAX parser.
+     */
+    private Object unmarshal0( InputStream input, String systemId, JaxBeanInfo expectedType ) throws JAXBException {
+        XmlVisitor h = createUnmarshallerHandler(null,false,expectedType);
+        try {
+            new XmlTokenizer(h,systemId).parse(input);
+        } catch( IOException e ) {
+            coordinator.clearStates();
+            coordinator.operationFailed(e);
+            throw new UnmarshalException(e);
+        } catch( SAXException e ) {
+            coordinator.clearStates();
+            throw createUnmarshalException(e);
+        }
+
+        Object retVal = h.getContext().getResult();
+        h.getContext().clearResult();
+        return retVal;
+    }
+
     @Override
     public <T> JAXBElement<T> unmarshal( Source source, Class<T> expectedType ) throws JAXBException {
         if (source instanceof SAXSource) {
@@ -320,6 +436,10 @@ import java.io.InputStream;
     }
 
     public Object unmarshal0(Node node, JaxBeanInfo expectedType ) throws JAXBException {
+        return instrumented(() -> scan(node,expectedType));
+    }
+
+    private Object scan(Node node, JaxBeanInfo expectedType ) throws JAXBException {
         try {
             final DOMScanner scanner = new DOMScanner();
 
@@ -369,6 +489,10 @@ import java.io.InputStream;
                 Messages.format(Messages.ILLEGAL_READER_STATE,eventType));
         }
 
+        return instrumented(() -> bridge(reader,expectedType));
+    }
+
+    private Object bridge(XMLStreamReader reader, JaxBeanInfo expectedType) throws JAXBException {
         XmlVisitor h = createUnmarshallerHandler(null,false,expectedType);
         StAXConnector connector=StAXStreamConnector.create(reader,h);
 
@@ -383,6 +507,30 @@ import java.io.InputStream;
         return retVal;
     }
 
+    /**
+     * Starts unmarshalling a UTF-8 document that will be pushed in chunks.
+     *
+     * @see UnmarshalFeed
+     * @since 4.0.3
+     */
+    public UnmarshalFeed createFeed() {
+        return new UnmarshalFeed(this,createUnmarshallerHandler(null,false,null));
+    }
+
+    /**
+     * Starts unmarshalling a UTF-8 document that will be pushed in chunks,
+     * as the given type. {@link UnmarshalFeed#endOfInput()} returns a {@link JAXBElement}.
+     *
+     * @see UnmarshalFeed
+     * @since 4.0.3
+     */
+    public UnmarshalFeed createFeed(Class<?> expectedType) throws JAXBException {
+        if(expectedType==null) {
+            throw new IllegalArgumentException();
+        }
+        return new UnmarshalFeed(this,createUnmarshallerHandler(null,false,getBeanInfo(expectedType)));
+    }
+
     @Override
     public <T> JAXBElement<T> unmarshal(XMLEventReader reader, Class<T> expectedType) throws JAXBException {
         if(expectedType==null) {
@@ -401,7 +549,10 @@ import java.io.InputStream;
             throw new IllegalArgumentException(
                     Messages.format(Messages.NULL_READER));
         }
+        return instrumented(() -> bridge(reader,expectedType));
+    }
 
+    private Object bridge(XMLEventReader reader,JaxBeanInfo expectedType) throws JAXBException {
         try {
             XMLEvent event = reader.peek();
 
@@ -429,7 +580,9 @@ import java.io.InputStream;
         return unmarshal0(getXMLReader(),new InputSource(input),expectedType);
     }
 
-    private static JAXBException handleStreamException(XMLStreamException e) {
+    private JAXBException handleStreamException(XMLStreamException e) {
+        coordinator.operationFailed(e);
+
         // StAXStreamConnector wraps SAXException to XMLStreamException.
         // XMLStreamException doesn't print its nested stack trace when it prints
         // its stack trace, so if we wrap XMLStreamException in JAXBException,
@@ -451,6 +604,9 @@ import java.io.InputStream;
         if(name.equals(IDResolver.class.getName())) {
             return idResolver;
         }
+        if(name.equals(FAST_TOKENIZER)) {
+            return fastTokenizer;
+        }
         return super.getProperty(name);
     }
 
@@ -472,11 +628,35 @@ import java.io.InputStream;
             coordinator.classLoader = (ClassLoader)value;
             return;
         }
+        if(name.equals(FAST_TOKENIZER)) {
+            if(!(value instanceof Boolean)) {
+                throw new PropertyException(name, value);
+            }
+            fastTokenizer = (Boolean)value;
+            return;
+        }
         super.setProperty(name, value);
     }
 
     public static final String FACTORY = "org.glassfish.jaxb.core.ObjectFactory";
 
+    /**
+     * When set to {@link Boolean#TRUE}, documents read from an {@link InputStream}
+     * (including a {@link StreamSource} or an {@link InputSource} with a byte stream)
+     * are parsed by a built-in UTF-8 tokenizer instead of the SAX parser.
+     *
+     * <p>
+     * The tokenizer doesn't accept a DOCTYPE nor any encoding other than UTF-8,
+     * and it doesn't validate beyond well-formedness, so this is meant for
+     * documents exchanged between programs. A client-supplied {@link XMLReader}
+     * is always used as is.
+     *
+     * @since 4.0.3
+     */
+    public static final String FAST_TOKENIZER = "org.glassfish.jaxb.fastTokenizer";
+
+    private boolean fastTokenizer;
+
     @Override
     public void setSchema(Schema schema) {
         this.schema = schema;
@@ -536,6 +716,7 @@ import java.io.InputStream;
     // opening up for public use
     @Override
     public UnmarshalException createUnmarshalException( SAXException e ) {
+        coordinator.operationFailed(e);
         return super.createUnmarshalException(e);
     }
 
@@ -593,4 +774,35 @@ import java.io.InputStream;
         ClassFactory.cleanCache();
     }
     
+
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if(b>=0)
+                count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if(n>0)
+                count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -16,6 +16,7 @@ import com.sun.istack.SAXParseException2;
 import org.glassfish.jaxb.runtime.IDResolver;
 import org.glassfish.jaxb.runtime.api.AccessorException;
 import org.glassfish.jaxb.runtime.api.ClassResolver;
+import org.glassfish.jaxb.runtime.api.JAXBInstrumentation;
 import org.glassfish.jaxb.core.unmarshaller.InfosetScanner;
 import org.glassfish.jaxb.core.v2.ClassFactory;
 import org.glassfish.jaxb.runtime.v2.runtime.AssociationMap;
@@ -106,6 +107,18 @@ public final class UnmarshallingContext extends Coordinator
     private boolean isUnmarshalInProgress = true;
     private boolean aborted = false;
 
+    /**
+     * Number of elements started since {@link #startDocument}.
+     */
+    private int elementCount;
+
+    /**
+     * True while an operation reported to the {@link JAXBInstrumentation} is in progress.
+     */
+    private boolean instrumenting;
+    private Object instrumentationToken;
+    private long operationStart;
+
     public final UnmarshallerImpl parent;
 
     /**
@@ -490,9 +503,12 @@ public final class UnmarshallingContext extends Coordinator
         current = root;
 
         patchersLen=0;
+        if(forwardReferences!=null)
+            forwardReferences.clear();
         aborted = false;
         isUnmarshalInProgress = true;
         nsLen=0;
+        nsEpoch++;  // the environment namespace context may have changed, too
 
         if(expectedType!=null)
             root.loader = EXPECTED_TYPE_ROOT_LOADER;
@@ -500,6 +516,14 @@ public final class UnmarshallingContext extends Coordinator
             root.loader = DEFAULT_ROOT_LOADER;
 
         idResolver.startDocument(this);
+
+        elementCount = 0;
+        JAXBInstrumentation instrumentation = parent.context.instrumentation;
+        if(instrumentation!=null) {
+            instrumentationToken = instrumentation.started(JAXBInstrumentation.Kind.UNMARSHAL);
+            operationStart = System.nanoTime();
+            instrumenting = true;
+        }
     }
 
     @Override
@@ -520,6 +544,7 @@ public final class UnmarshallingContext extends Coordinator
         if( assoc!=null )
             currentElement = scanner.getCurrentElement();
 
+        elementCount++;
         Loader h = current.loader;
         current.push();
 
@@ -583,6 +608,31 @@ public final class UnmarshallingContext extends Coordinator
 
         // at the successful completion, scope must be all closed
         assert root==current;
+
+        finishOperation(null);
+    }
+
+    /**
+     * Reports the operation in progress, if any, as failed to the {@link JAXBInstrumentation}.
+     * Does nothing once the end of the document or an earlier failure reported it.
+     *
+     * @param failure
+     *      why the operation failed, or null if that's not known.
+     */
+    void operationFailed(Throwable failure) {
+        finishOperation(failure);
+    }
+
+    private void finishOperation(Throwable failure) {
+        if(!instrumenting)
+            return;
+        instrumenting = false;
+        Object token = instrumentationToken;
+        instrumentationToken = null;
+        Class<?> type = failure==null && result!=null ? result.getClass() : null;
+        parent.context.instrumentation.finished(new JAXBInstrumentation.Operation(
+                JAXBInstrumentation.Kind.UNMARSHAL, parent.context, type, System.nanoTime()-operationStart,
+                parent.getBytesRead(), elementCount, parent.getSchema()!=null, failure), token);
     }
 
     /**
@@ -781,6 +831,31 @@ public final class UnmarshallingContext extends Coordinator
         patchers[patchersLen++] = job;
     }
 
+    /**
+     * Forward IDREFs of the current document. Lazily created.
+     */
+    private ForwardReferences forwardReferences;
+
+    /**
+     * Records an IDREF whose target isn't known yet, to be resolved
+     * at the end of the unmarshalling.
+     *
+     * <p>
+     * This is equivalent to registering a {@link Patcher} that calls the
+     * {@link Callable} and passes the result to the {@link ForwardReferences.Assigner},
+     * but all such references are kept in a single compact batch.
+     *
+     * @param callable
+     *      The object returned from {@link IDResolver#resolve(String, Class)}.
+     */
+    public void addForwardReference( Object bean, ForwardReferences.Assigner assigner, String idref, Callable<?> callable ) {
+        if(forwardReferences==null)
+            forwardReferences = new ForwardReferences(this);
+        if(forwardReferences.isEmpty())
+            addPatcher(forwardReferences);
+        forwardReferences.add(bean,assigner,idref,callable,locator);
+    }
+
     /** Executes all the patchers. */
     private void runPatchers() throws SAXException {
         if( patchers!=null ) {
@@ -846,8 +921,38 @@ public final class UnmarshallingContext extends Coordinator
     private String[] nsBind = new String[16];
     private int nsLen=0;
 
+    /**
+     * Changes every time the in-scope namespace bindings change,
+     * so that values resolved against the current bindings can be cached
+     * as long as the epoch stays the same.
+     */
+    private int nsEpoch=0;
+
+    /**
+     * Resolved @xsi:type values. Lazily created.
+     */
+    private XsiTypeLoader.TypeCache xsiTypeCache;
+
+    /**
+     * Gets the current namespace binding epoch.
+     *
+     * <p>
+     * Two calls return the same value only if no prefix mapping
+     * has been started or ended in between.
+     */
+    public int getNamespaceEpoch() {
+        return nsEpoch;
+    }
+
+    XsiTypeLoader.TypeCache getXsiTypeCache() {
+        if(xsiTypeCache==null)
+            xsiTypeCache = new XsiTypeLoader.TypeCache();
+        return xsiTypeCache;
+    }
+
     @Override
     public void startPrefixMapping( String prefix, String uri ) {
+        nsEpoch++;
         if(nsBind.length==nsLen) {
             // expand the buffer
             String[] n = new String[nsLen*2];
@@ -859,6 +964,7 @@ public final class UnmarshallingContext extends Coordinator
     }
     @Override
     public void endPrefixMapping( String prefix ) {
+        nsEpoch++;
         nsLen-=2;
     }
     private String resolveNamespacePrefix( String prefix ) {
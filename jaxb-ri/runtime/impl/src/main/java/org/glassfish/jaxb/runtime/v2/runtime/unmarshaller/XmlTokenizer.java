@@ -0,0 +1,1098 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import org.glassfish.jaxb.core.WhiteSpaceProcessor;
+import org.glassfish.jaxb.core.v2.runtime.unmarshaller.LocatorEx;
+import jakarta.xml.bind.ValidationEventLocator;
+import jakarta.xml.bind.helpers.ValidationEventLocatorImpl;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.XMLConstants;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Namespace-aware XML tokenizer that parses UTF-8 bytes as they are fed
+ * and sends the events to {@link XmlVisitor}.
+ *
+ * <p>
+ * The tokenizer never blocks. {@link #feed(byte[], int, int)} parses every token
+ * that is complete in the data so far and keeps the incomplete rest for the next call,
+ * so chunks can be split at arbitrary byte boundaries. Text is decoded as it arrives,
+ * but is passed to the visitor in one piece, as the other connectors do.
+ *
+ * <p>
+ * Documents with a DOCTYPE are rejected, so there are no external entities
+ * and no entity expansion to worry about. Only the predefined entities and character
+ * references are recognized, and only UTF-8 (or its ASCII subset) is accepted.
+ * Since a token is held in memory until it is complete, a token is limited to
+ * {@link #MAX_TOKEN_SIZE} bytes, the text between two tags to as many characters,
+ * and a start tag to {@link #MAX_ATTRIBUTES} attributes, so that an unterminated tag
+ * or endless text can't take all the memory. Ignored text, comments and processing
+ * instructions are checked for well-formedness all the same.
+ *
+ * <p>
+ * Element and attribute names are looked up by their bytes in a cache
+ * that holds the interned prefix and local name, so a name that occurs again
+ * costs neither decoding nor a {@link NameTable} lookup. Text is collected into
+ * a single reused buffer that's passed to the visitor as is.
+ */
+final class XmlTokenizer implements LocatorEx {
+
+    private static final int PROLOG = 0, CONTENT = 1, EPILOG = 2;
+
+    /**
+     * The most bytes a tag, a comment, a CDATA section or a processing instruction
+     * can take, as they are buffered as a whole, and the most characters of text
+     * that can be collected between two tags.
+     */
+    static final int MAX_TOKEN_SIZE = 16*1024*1024;
+
+    /**
+     * The most attributes, including namespace declarations, a start tag can have.
+     * This is the default of the {@code jdk.xml.elementAttributeLimit} of the JDK parser.
+     */
+    static final int MAX_ATTRIBUTES = 10000;
+
+    /** Decoding modes. */
+    private static final int NAME = 0, TEXT = 1, ATTRIBUTE = 2, CDATA = 3;
+
+    private static final byte[] COMMENT = {'<','!','-','-'};
+    private static final byte[] COMMENT_END = {'-','-','>'};
+    private static final byte[] CDATA_START = {'<','!','[','C','D','A','T','A','['};
+    private static final byte[] CDATA_END = {']',']','>'};
+    private static final byte[] DOCTYPE = {'<','!','D','O','C','T','Y','P','E'};
+    private static final byte[] PI_END = {'?','>'};
+
+    private final XmlVisitor visitor;
+    private final UnmarshallingContext context;
+    private final XmlVisitor.TextPredictor predictor;
+    private final NameTable names;
+    private final String systemId;
+
+    /** Unparsed data is {@code buf[pos..end)}. */
+    private byte[] buf = new byte[8192];
+    private int pos, end;
+    /** Number of bytes discarded from the head of {@link #buf}. */
+    private long base;
+
+    /**
+     * Where the search for the end of the current token resumes,
+     * or -1 if no search is in progress, so that a token that spans many chunks
+     * isn't scanned from its start every time.
+     */
+    private int scan = -1;
+    /** Quote character the search is in, or 0. */
+    private byte quote;
+
+    private int state = PROLOG;
+    private boolean started;
+
+    private int line = 1;
+    private long lineStart;
+
+    /** Decoded characters. */
+    private char[] cbuf = new char[256];
+    private int clen;
+
+    private final StringBuilder text = new StringBuilder();
+
+    /** Namespace bindings in scope. */
+    private String[] nsPrefixes = new String[16];
+    private String[] nsUris = new String[16];
+    private int nsSize;
+
+    /** Open elements. */
+    private String[] qnames = new String[16];
+    private String[] uris = new String[16];
+    private String[] locals = new String[16];
+    private int[] nsMarks = new int[16];
+    private int depth;
+
+    /** Attributes of the start tag being parsed, as entries of the name cache. */
+    private int[] attNames = new int[8];
+    private String[] attValues = new String[8];
+    private int attCount;
+    /**
+     * Number of the start tag being parsed, which {@link #nameTags} records
+     * for the names of its attributes, to find duplicates in constant time.
+     */
+    private int tagNumber;
+    private final AttributesImpl atts = new AttributesImpl();
+
+    /**
+     * Cache of the element and attribute names seen so far, keyed by their bytes,
+     * so that a name is decoded and looked up in the {@link NameTable} only the first time.
+     * {@code nameIndex} is an open addressing table of entry indices plus one.
+     */
+    private int[] nameIndex = new int[256];
+    private byte[][] nameBytes = new byte[64][];
+    private int[] nameHashes = new int[64];
+    private String[] nameQNames = new String[64];
+    /** Interned prefix, or "" */
+    private String[] namePrefixes = new String[64];
+    /** Interned local name. */
+    private String[] nameLocals = new String[64];
+    /** The last {@link #tagNumber} that had the name as an attribute. */
+    private int[] nameTags = new int[64];
+    private int nameCount;
+
+    /**
+     * The cache is cleared beyond this many names, which only happens
+     * with documents that don't follow any schema.
+     */
+    private static final int MAX_NAMES = 4096;
+
+    private final class TagNameImpl extends TagName {
+        String qname;
+        @Override
+        public String getQname() {
+            return qname;
+        }
+    }
+
+    private final TagNameImpl tagName = new TagNameImpl();
+
+    XmlTokenizer(XmlVisitor visitor) {
+        this(visitor,null);
+    }
+
+    XmlTokenizer(XmlVisitor visitor, String systemId) {
+        this.visitor = visitor;
+        this.systemId = systemId;
+        this.context = visitor.getContext();
+        this.predictor = visitor.getPredictor();
+        this.names = context.getJAXBContext().getNameTable();
+    }
+
+    /**
+     * True once the end tag of the root element has been parsed.
+     */
+    boolean isComplete() {
+        return state==EPILOG;
+    }
+
+    void feed(ByteBuffer chunk) throws SAXException {
+        if(chunk.hasArray()) {
+            feed(chunk.array(),chunk.arrayOffset()+chunk.position(),chunk.remaining());
+            chunk.position(chunk.limit());
+        } else {
+            int len = chunk.remaining();
+            reserve(len);
+            chunk.get(buf,end,len);
+            end += len;
+            parse(false);
+        }
+    }
+
+    void feed(byte[] b, int off, int len) throws SAXException {
+        reserve(len);
+        System.arraycopy(b,off,buf,end,len);
+        end += len;
+        parse(false);
+    }
+
+    /**
+     * Parses the whole document from the stream, reading straight into the buffer.
+     */
+    void parse(InputStream in) throws SAXException, IOException {
+        while(true) {
+            reserve(4096);
+            int n = in.read(buf,end,buf.length-end);
+            if(n<0)
+                break;
+            end += n;
+            parse(false);
+        }
+        endOfInput();
+    }
+
+    /**
+     * Signals that there is no more data.
+     */
+    void endOfInput() throws SAXException {
+        parse(true);
+        if(state!=EPILOG)
+            throw error(Messages.UNEXPECTED_EOF.format());
+    }
+
+    /**
+     * Makes room for {@code len} more bytes.
+     */
+    private void reserve(int len) {
+        if(end+len<=buf.length)
+            return;
+        if(pos>0) {
+            System.arraycopy(buf,pos,buf,0,end-pos);
+            base += pos;
+            if(scan>=0)
+                scan -= pos;
+            end -= pos;
+            pos = 0;
+        }
+        if(end+len>buf.length)
+            buf = Arrays.copyOf(buf,Math.max(end+len,buf.length*2));
+    }
+
+    private void parse(boolean last) throws SAXException {
+        if(pos==0 && base==0 && !skipBom(last))
+            return;
+
+        while(pos<end) {
+            boolean progress;
+            if(buf[pos]=='<')
+                progress = markup(last);
+            else
+                progress = text(last);
+            if(!progress)
+                break;
+        }
+        if(end-pos>MAX_TOKEN_SIZE)
+            throw error(Messages.TOKEN_TOO_LARGE.format(MAX_TOKEN_SIZE));
+    }
+
+    /**
+     * @return false if more data is needed to tell.
+     */
+    private boolean skipBom(boolean last) {
+        if(end>0 && buf[0]==(byte)0xEF) {
+            if(end<3)
+                return last;
+            if(buf[1]==(byte)0xBB && buf[2]==(byte)0xBF)
+                pos = 3;
+        }
+        return true;
+    }
+
+//
+// tokens
+//
+    private boolean text(boolean last) throws SAXException {
+        int lt = indexOf((byte)'<',pos);
+        if(state!=CONTENT) {
+            int to = lt<0 ? end : lt;
+            for( int i=pos; i<to; i++ ) {
+                if(!isWhitespace(buf[i]))
+                    throw error(Messages.CONTENT_OUTSIDE_ROOT.format());
+            }
+            consume(to);
+            return lt>=0;
+        }
+
+        if(lt>=0) {
+            appendText(pos,lt);
+            consume(lt);
+            return true;
+        }
+
+        // pass on what we have, except for a partial reference or character
+        int limit = last ? end : safeTextEnd();
+        appendText(pos,limit);
+        consume(limit);
+        return false;
+    }
+
+    private int safeTextEnd() {
+        int limit = end;
+        // a reference only has letters, digits and '#' after the '&',
+        // but any number of them, as in "&#0000065;"
+        for( int i=end-1; i>=pos; i-- ) {
+            byte b = buf[i];
+            if(b=='&') {
+                limit = i;
+                break;
+            }
+            if(!(b>='a' && b<='z') && !(b>='A' && b<='Z') && !(b>='0' && b<='9') && b!='#')
+                break;
+        }
+        // nor a "]]>", which isn't allowed in text
+        for( int k=0; k<2 && limit>pos && buf[limit-1]==']'; k++ )
+            limit--;
+        // don't split a multi-byte character
+        int i = limit-1;
+        while(i>=pos && (buf[i]&0xC0)==0x80)
+            i--;
+        if(i>=pos && (buf[i]&0x80)!=0 && i+utf8Length(buf[i]&0xFF)>limit)
+            limit = i;
+        // '\r' followed by '\n' is one line break
+        if(limit>pos && buf[limit-1]=='\r')
+            limit--;
+        return limit;
+    }
+
+    private boolean markup(boolean last) throws SAXException {
+        if(end-pos<2)
+            return needMore(last);
+
+        switch(buf[pos+1]) {
+        case '/': {
+            int gt = indexOf((byte)'>',pos+2);
+            if(gt<0)
+                return needMore(last);
+            endTag(pos+2,gt);
+            consume(gt+1);
+            return true;
+        }
+        case '?': {
+            int q = indexOf(PI_END,pos+2);
+            if(q<0)
+                return needMore(last);
+            processingInstruction(pos+2,q);
+            consume(q+2);
+            return true;
+        }
+        case '!': {
+            int m = startsWith(COMMENT);
+            if(m==0) {
+                m = startsWith(CDATA_START);
+                if(m==0) {
+                    m = startsWith(DOCTYPE);
+                    if(m>0)
+                        throw error(Messages.DOCTYPE_NOT_ALLOWED.format());
+                    if(m==0)
+                        throw error(Messages.MALFORMED_MARKUP.format());
+                }
+                if(m<0)
+                    return needMore(last);
+                int q = indexOf(CDATA_END,pos+CDATA_START.length);
+                if(q<0)
+                    return needMore(last);
+                if(state!=CONTENT)
+                    throw error(Messages.CONTENT_OUTSIDE_ROOT.format());
+                decode(pos+CDATA_START.length,q,CDATA);
+                if(predictor.expectText())
+                    appendDecoded();
+                consume(q+CDATA_END.length);
+                return true;
+            }
+            if(m<0)
+                return needMore(last);
+            int q = indexOf(COMMENT_END,pos+COMMENT.length);
+            if(q<0)
+                return needMore(last);
+            comment(pos+COMMENT.length,q);
+            consume(q+COMMENT_END.length);
+            return true;
+        }
+        default: {
+            int gt = endOfStartTag();
+            if(gt<0)
+                return needMore(last);
+            startTag(pos+1,gt);
+            consume(gt+1);
+            return true;
+        }
+        }
+    }
+
+    private boolean needMore(boolean last) throws SAXException {
+        if(last)
+            throw error(Messages.UNEXPECTED_EOF.format());
+        return false;
+    }
+
+    private void comment(int from, int to) throws SAXException {
+        // "--" isn't allowed in a comment, nor is a '-' at its end
+        for( int i=from; i<to; i++ ) {
+            if(buf[i]=='-' && (i+1==to || buf[i+1]=='-'))
+                throw error(Messages.MALFORMED_MARKUP.format());
+        }
+        decode(from,to,CDATA);
+    }
+
+    private void processingInstruction(int from, int to) throws SAXException {
+        int nameEnd = from;
+        while(nameEnd<to && !isWhitespace(buf[nameEnd]))
+            nameEnd++;
+        if(nameEnd-from!=3 || buf[from]!='x' || buf[from+1]!='m' || buf[from+2]!='l') {
+            decode(from,to,CDATA);
+            return;     // ignore
+        }
+
+        if(pos!=0 || base!=0) {
+            // an XML declaration only after the byte order mark
+            if(!(base==0 && pos==3 && buf[0]==(byte)0xEF))
+                throw error(Messages.MALFORMED_MARKUP.format());
+        }
+        decode(nameEnd,to,NAME);
+        String decl = new String(cbuf,0,clen);
+        int i = decl.indexOf("encoding");
+        if(i<0)
+            return;
+        int q = i+8;
+        while(q<decl.length() && decl.charAt(q)!='"' && decl.charAt(q)!='\'')
+            q++;
+        if(q==decl.length())
+            throw error(Messages.MALFORMED_MARKUP.format());
+        int qe = decl.indexOf(decl.charAt(q),q+1);
+        if(qe<0)
+            throw error(Messages.MALFORMED_MARKUP.format());
+        String enc = decl.substring(q+1,qe);
+        if(!enc.equalsIgnoreCase("UTF-8") && !enc.equalsIgnoreCase("UTF8") && !enc.equalsIgnoreCase("US-ASCII"))
+            throw error(Messages.UNSUPPORTED_ENCODING.format(enc));
+    }
+
+    private void startTag(int from, int gt) throws SAXException {
+        if(state==EPILOG)
+            throw error(Messages.CONTENT_OUTSIDE_ROOT.format());
+        if(nameCount>MAX_NAMES)
+            clearNames();
+
+        int p = nameEnd(from,gt);
+        if(p==from)
+            throw error(Messages.MALFORMED_MARKUP.format());
+        int element = name(from,p);
+
+        attCount = 0;
+        if(++tagNumber==0) {
+            // wrapped around, so forget the old numbers
+            Arrays.fill(nameTags,0);
+            tagNumber = 1;
+        }
+        boolean empty = false;
+        while(true) {
+            int s = skipWhitespace(p,gt);
+            if(s==gt)
+                break;
+            if(buf[s]=='/') {
+                if(s+1!=gt)
+                    throw error(Messages.MALFORMED_MARKUP.format());
+                empty = true;
+                break;
+            }
+            if(s==p)    // no whitespace before the attribute
+                throw error(Messages.MALFORMED_MARKUP.format());
+            int ne = nameEnd(s,gt);
+            if(ne==s)
+                throw error(Messages.MALFORMED_MARKUP.format());
+            int att = name(s,ne);
+            int eq = skipWhitespace(ne,gt);
+            if(eq==gt || buf[eq]!='=')
+                throw error(Messages.MALFORMED_MARKUP.format());
+            int vs = skipWhitespace(eq+1,gt);
+            if(vs==gt || (buf[vs]!='"' && buf[vs]!='\''))
+                throw error(Messages.MALFORMED_MARKUP.format());
+            int ve = vs+1;
+            while(buf[ve]!=buf[vs])
+                ve++;
+            decode(vs+1,ve,ATTRIBUTE);
+            addAttribute(att,new String(cbuf,0,clen));
+            p = ve+1;
+        }
+
+        // namespace declarations
+        int mark = nsSize;
+        for( int i=0; i<attCount; i++ ) {
+            int n = attNames[i];
+            if(isNamespaceDecl(n))
+                bind(namePrefixes[n].isEmpty() ? "" : nameLocals[n],attValues[i]);
+        }
+
+        if(depth==qnames.length) {
+            int len = depth*2;
+            qnames = Arrays.copyOf(qnames,len);
+            uris = Arrays.copyOf(uris,len);
+            locals = Arrays.copyOf(locals,len);
+            nsMarks = Arrays.copyOf(nsMarks,len);
+        }
+        String qname = nameQNames[element];
+        qnames[depth] = qname;
+        uris[depth] = resolve(namePrefixes[element]);
+        locals[depth] = nameLocals[element];
+        nsMarks[depth] = mark;
+        depth++;
+
+        atts.clear();
+        int qualified = 0;
+        for( int i=0; i<attCount; i++ ) {
+            int n = attNames[i];
+            if(isNamespaceDecl(n))
+                continue;
+            // unprefixed attributes are in no namespace
+            String prefix = namePrefixes[n];
+            if(!prefix.isEmpty())
+                qualified++;
+            atts.addAttribute(prefix.isEmpty() ? "" : resolve(prefix),nameLocals[n],nameQNames[n],"CDATA",attValues[i]);
+            attValues[i] = null;
+        }
+        if(qualified>1)
+            checkExpandedNames();
+
+        if(!started) {
+            started = true;
+            visitor.startDocument(this,null);
+        }
+        state = CONTENT;
+
+        processText(true);
+        for( int i=mark; i<nsSize; i++ )
+            visitor.startPrefixMapping(nsPrefixes[i],nsUris[i]);
+
+        tagName.uri = uris[depth-1];
+        tagName.local = locals[depth-1];
+        tagName.qname = qname;
+        tagName.atts = atts;
+        visitor.startElement(tagName);
+
+        if(empty)
+            endElement();
+    }
+
+    private void endTag(int from, int gt) throws SAXException {
+        int p = nameEnd(from,gt);
+        if(skipWhitespace(p,gt)!=gt || depth==0)
+            throw error(Messages.MALFORMED_MARKUP.format());
+        String qname = qnames[depth-1];
+        String actual = nameQNames[name(from,p)];
+        // the same bytes normally map to the same string
+        if(actual!=qname && !actual.equals(qname))
+            throw error(Messages.MISMATCHED_END_TAG.format(actual,qname));
+        endElement();
+    }
+
+    private void endElement() throws SAXException {
+        processText(false);
+
+        depth--;
+        tagName.uri = uris[depth];
+        tagName.local = locals[depth];
+        tagName.qname = qnames[depth];
+        visitor.endElement(tagName);
+
+        int mark = nsMarks[depth];
+        for( int i=nsSize-1; i>=mark; i-- ) {
+            visitor.endPrefixMapping(nsPrefixes[i]);
+            nsPrefixes[i] = nsUris[i] = null;
+        }
+        nsSize = mark;
+        qnames[depth] = uris[depth] = locals[depth] = null;
+
+        if(depth==0) {
+            state = EPILOG;
+            visitor.endDocument();
+        }
+    }
+
+    private void processText(boolean ignorable) throws SAXException {
+        if( predictor.expectText() && (!ignorable || !WhiteSpaceProcessor.isWhiteSpace(text) || context.getCurrentState().isMixed()))
+            visitor.text(text);
+        text.setLength(0);
+    }
+
+    private void appendText(int from, int to) throws SAXException {
+        if(from==to)
+            return;
+        // decoded even if it's ignored, to check it
+        decode(from,to,TEXT);
+        if(predictor.expectText())
+            appendDecoded();
+    }
+
+    /**
+     * Appends what was last decoded to {@link #text}.
+     */
+    private void appendDecoded() throws SAXException {
+        text.append(cbuf,0,clen);
+        if(text.length()>MAX_TOKEN_SIZE)
+            throw error(Messages.TEXT_TOO_LARGE.format(MAX_TOKEN_SIZE));
+    }
+
+    private void addAttribute(int name, String value) throws SAXException {
+        if(nameTags[name]==tagNumber)
+            throw error(Messages.DUPLICATE_ATTRIBUTE.format(nameQNames[name]));
+        nameTags[name] = tagNumber;
+        if(attCount==MAX_ATTRIBUTES)
+            throw error(Messages.TOO_MANY_ATTRIBUTES.format(MAX_ATTRIBUTES));
+        if(attCount==attNames.length) {
+            attNames = Arrays.copyOf(attNames,attCount*2);
+            attValues = Arrays.copyOf(attValues,attCount*2);
+        }
+        attNames[attCount] = name;
+        attValues[attCount] = value;
+        attCount++;
+    }
+
+    /**
+     * Checks that no two prefixed attributes in {@link #atts} have the same
+     * namespace URI and local name. An unprefixed attribute can't have the same
+     * as a prefixed one, as a prefix can't be bound to "".
+     */
+    private void checkExpandedNames() throws SAXException {
+        int len = atts.getLength();
+        if(len<=16) {
+            for( int i=0; i<len; i++ ) {
+                String uri = atts.getURI(i);
+                if(uri.isEmpty())
+                    continue;
+                for( int j=i+1; j<len; j++ ) {
+                    if(uri.equals(atts.getURI(j)) && atts.getLocalName(i).equals(atts.getLocalName(j)))
+                        throw error(Messages.DUPLICATE_ATTRIBUTE.format(atts.getQName(j)));
+                }
+            }
+        } else {
+            Set<String> seen = new HashSet<>();
+            for( int i=0; i<len; i++ ) {
+                String uri = atts.getURI(i);
+                if(!uri.isEmpty() && !seen.add(uri+'}'+atts.getLocalName(i)))
+                    throw error(Messages.DUPLICATE_ATTRIBUTE.format(atts.getQName(i)));
+            }
+        }
+    }
+
+    private void bind(String prefix, String uri) throws SAXException {
+        if(!prefix.isEmpty() && uri.isEmpty())
+            throw error(Messages.MALFORMED_MARKUP.format());
+        if(nsSize==nsPrefixes.length) {
+            nsPrefixes = Arrays.copyOf(nsPrefixes,nsSize*2);
+            nsUris = Arrays.copyOf(nsUris,nsSize*2);
+        }
+        nsPrefixes[nsSize] = prefix;
+        nsUris[nsSize] = names.intern(uri);
+        nsSize++;
+    }
+
+    private String resolve(String prefix) throws SAXException {
+        for( int i=nsSize-1; i>=0; i-- ) {
+            if(nsPrefixes[i].equals(prefix))
+                return nsUris[i];
+        }
+        if(prefix.length()==0)
+            return "";
+        if(prefix.equals(XMLConstants.XML_NS_PREFIX))
+            return XMLConstants.XML_NS_URI;
+        throw error(Messages.UNDECLARED_PREFIX.format(prefix));
+    }
+
+//
+// names
+//
+    /**
+     * Returns the name cache entry for the name in {@code buf[from..to)}.
+     */
+    private int name(int from, int to) throws SAXException {
+        final byte[] b = buf;
+        int h = 0;
+        for( int i=from; i<to; i++ )
+            h = 31*h+b[i];
+
+        int mask = nameIndex.length-1;
+        int slot = (h^(h>>>16))&mask;
+        for( ; nameIndex[slot]!=0; slot=(slot+1)&mask ) {
+            int e = nameIndex[slot]-1;
+            if(nameHashes[e]==h && sameBytes(nameBytes[e],from,to))
+                return e;
+        }
+
+        decode(from,to,NAME);
+        int colon = checkName();
+
+        int e = nameCount++;
+        if(e==nameBytes.length) {
+            int len = e*2;
+            nameBytes = Arrays.copyOf(nameBytes,len);
+            nameHashes = Arrays.copyOf(nameHashes,len);
+            nameQNames = Arrays.copyOf(nameQNames,len);
+            namePrefixes = Arrays.copyOf(namePrefixes,len);
+            nameLocals = Arrays.copyOf(nameLocals,len);
+            nameTags = Arrays.copyOf(nameTags,len);
+        }
+        nameBytes[e] = Arrays.copyOfRange(b,from,to);
+        nameHashes[e] = h;
+        nameQNames[e] = new String(cbuf,0,clen);
+        namePrefixes[e] = colon<0 ? "" : names.intern(new String(cbuf,0,colon));
+        nameLocals[e] = names.intern(new String(cbuf,colon+1,clen-colon-1));
+        nameTags[e] = 0;
+
+        if(nameCount*2>nameIndex.length)
+            rehashNames();
+        else
+            nameIndex[slot] = e+1;
+        return e;
+    }
+
+    /**
+     * Checks that the name in {@link #cbuf} is an NCName or a prefix and an NCName.
+     *
+     * @return
+     *      the index of the colon, or -1.
+     */
+    private int checkName() throws SAXException {
+        int colon = -1;
+        boolean start = true;
+        for( int i=0; i<clen; ) {
+            int cp = Character.codePointAt(cbuf,i,clen);
+            if(cp==':') {
+                if(start || colon>=0)
+                    throw error(Messages.INVALID_NAME.format(new String(cbuf,0,clen)));
+                colon = i;
+                start = true;
+            } else if(start ? isNameStartChar(cp) : isNameChar(cp)) {
+                start = false;
+            } else {
+                throw error(Messages.INVALID_NAME.format(new String(cbuf,0,clen)));
+            }
+            i += Character.charCount(cp);
+        }
+        if(start)   // empty, or ends with the colon
+            throw error(Messages.INVALID_NAME.format(new String(cbuf,0,clen)));
+        return colon;
+    }
+
+    /**
+     * NameStartChar of XML 1.0, fifth edition, but the colon.
+     */
+    private static boolean isNameStartChar(int cp) {
+        if(cp<0x80)
+            return (cp>='a' && cp<='z') || (cp>='A' && cp<='Z') || cp=='_';
+        return (cp>=0xC0 && cp<=0xD6) || (cp>=0xD8 && cp<=0xF6) || (cp>=0xF8 && cp<=0x2FF)
+            || (cp>=0x370 && cp<=0x37D) || (cp>=0x37F && cp<=0x1FFF) || (cp>=0x200C && cp<=0x200D)
+            || (cp>=0x2070 && cp<=0x218F) || (cp>=0x2C00 && cp<=0x2FEF) || (cp>=0x3001 && cp<=0xD7FF)
+            || (cp>=0xF900 && cp<=0xFDCF) || (cp>=0xFDF0 && cp<=0xFFFD) || (cp>=0x10000 && cp<=0xEFFFF);
+    }
+
+    /**
+     * NameChar of XML 1.0, fifth edition, but the colon.
+     */
+    private static boolean isNameChar(int cp) {
+        return isNameStartChar(cp) || (cp>='0' && cp<='9') || cp=='-' || cp=='.' || cp==0xB7
+            || (cp>=0x300 && cp<=0x36F) || (cp>=0x203F && cp<=0x2040);
+    }
+
+    private boolean sameBytes(byte[] key, int from, int to) {
+        if(key.length!=to-from)
+            return false;
+        for( int i=0; i<key.length; i++ ) {
+            if(key[i]!=buf[from+i])
+                return false;
+        }
+        return true;
+    }
+
+    private void rehashNames() {
+        nameIndex = new int[nameIndex.length*2];
+        int mask = nameIndex.length-1;
+        for( int e=0; e<nameCount; e++ ) {
+            int h = nameHashes[e];
+            int slot = (h^(h>>>16))&mask;
+            while(nameIndex[slot]!=0)
+                slot = (slot+1)&mask;
+            nameIndex[slot] = e+1;
+        }
+    }
+
+    private void clearNames() {
+        Arrays.fill(nameIndex,0);
+        Arrays.fill(nameBytes,0,nameCount,null);
+        Arrays.fill(nameQNames,0,nameCount,null);
+        Arrays.fill(namePrefixes,0,nameCount,null);
+        Arrays.fill(nameLocals,0,nameCount,null);
+        nameCount = 0;
+    }
+
+    /**
+     * True if the name cache entry is "xmlns" or "xmlns:*".
+     */
+    private boolean isNamespaceDecl(int n) {
+        String prefix = namePrefixes[n];
+        return prefix.equals("xmlns") || (prefix.isEmpty() && nameLocals[n].equals("xmlns"));
+    }
+
+//
+// scanning
+//
+    private void consume(int to) {
+        for( int i=pos; i<to; i++ ) {
+            if(buf[i]=='\n') {
+                line++;
+                lineStart = base+i+1;
+            }
+        }
+        pos = to;
+        scan = -1;
+    }
+
+    private int indexOf(byte b, int from) {
+        int i = Math.max(from,scan);
+        for( ; i<end; i++ ) {
+            if(buf[i]==b)
+                return i;
+        }
+        scan = end;
+        return -1;
+    }
+
+    private int indexOf(byte[] seq, int from) {
+        int i = Math.max(from,scan-seq.length+1);
+        OUTER:
+        for( ; i+seq.length<=end; i++ ) {
+            for( int j=0; j<seq.length; j++ ) {
+                if(buf[i+j]!=seq[j])
+                    continue OUTER;
+            }
+            return i;
+        }
+        scan = end;
+        return -1;
+    }
+
+    /**
+     * Finds the '>' that ends the start tag at {@link #pos}, skipping quoted attribute values.
+     */
+    private int endOfStartTag() {
+        int i;
+        byte q;
+        if(scan<0) {
+            i = pos+1;
+            q = 0;
+        } else {
+            i = scan;
+            q = quote;
+        }
+        for( ; i<end; i++ ) {
+            byte b = buf[i];
+            if(q!=0) {
+                if(b==q)
+                    q = 0;
+            } else if(b=='"' || b=='\'') {
+                q = b;
+            } else if(b=='>') {
+                return i;
+            }
+        }
+        scan = end;
+        quote = q;
+        return -1;
+    }
+
+    /**
+     * @return
+     *      1 if the data at {@link #pos} starts with the sequence, 0 if it doesn't,
+     *      -1 if there's not enough data to tell.
+     */
+    private int startsWith(byte[] seq) {
+        for( int j=0; j<seq.length; j++ ) {
+            if(pos+j==end)
+                return -1;
+            if(buf[pos+j]!=seq[j])
+                return 0;
+        }
+        return 1;
+    }
+
+    private int nameEnd(int from, int to) {
+        int i = from;
+        while(i<to) {
+            byte b = buf[i];
+            if(isWhitespace(b) || b=='=' || b=='/' || b=='>' || b=='"' || b=='\'')
+                break;
+            i++;
+        }
+        return i;
+    }
+
+    private int skipWhitespace(int from, int to) {
+        while(from<to && isWhitespace(buf[from]))
+            from++;
+        return from;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b==' ' || b=='\n' || b=='\t' || b=='\r';
+    }
+
+    private static int utf8Length(int lead) {
+        if(lead<0x80)   return 1;
+        if(lead<0xE0)   return 2;
+        if(lead<0xF0)   return 3;
+        return 4;
+    }
+
+//
+// decoding
+//
+    /**
+     * Decodes {@code buf[from..to)} into {@link #cbuf}.
+     */
+    private void decode(int from, int to, int mode) throws SAXException {
+        // UTF-8 never takes fewer bytes than UTF-16 chars
+        if(cbuf.length<to-from)
+            cbuf = new char[Math.max(to-from,cbuf.length*2)];
+        final byte[] b = buf;
+        final char[] c = cbuf;
+        int n = 0;
+        int i = from;
+        while(i<to) {
+            int x = b[i];
+            if(x>=0) {
+                if(x=='&' && (mode==TEXT || mode==ATTRIBUTE)) {
+                    clen = n;
+                    i = reference(i,to);
+                    n = clen;
+                    continue;
+                }
+                if(x=='\r' && mode!=NAME) {
+                    c[n++] = mode==ATTRIBUTE ? ' ' : '\n';
+                    if(i+1<to && b[i+1]=='\n')
+                        i++;
+                } else if((x=='\n' || x=='\t') && mode==ATTRIBUTE) {
+                    c[n++] = ' ';
+                } else if(x=='<' && mode==ATTRIBUTE) {
+                    throw error(Messages.MALFORMED_MARKUP.format());
+                } else if(x=='>' && mode==TEXT && i-from>=2 && b[i-1]==']' && b[i-2]==']') {
+                    throw error(Messages.MALFORMED_MARKUP.format());
+                } else if(x<0x20 && !isXmlChar(x)) {
+                    throw error(Messages.INVALID_CHARACTER.format(hex(x)));
+                } else {
+                    c[n++] = (char)x;
+                }
+                i++;
+                continue;
+            }
+
+            x &= 0xFF;
+            int len = utf8Length(x);
+            if(len==1 || i+len>to)
+                throw error(Messages.MALFORMED_UTF8.format());
+            int cp;
+            switch(len) {
+            case 2:
+                cp = x&0x1F;
+                break;
+            case 3:
+                cp = x&0x0F;
+                break;
+            default:
+                cp = x&0x07;
+            }
+            for( int j=1; j<len; j++ ) {
+                int y = b[i+j];
+                if((y&0xC0)!=0x80)
+                    throw error(Messages.MALFORMED_UTF8.format());
+                cp = (cp<<6)|(y&0x3F);
+            }
+            if(cp>0x10FFFF || cp<(len==2 ? 0x80 : len==3 ? 0x800 : 0x10000) || (cp>=0xD800 && cp<=0xDFFF))
+                throw error(Messages.MALFORMED_UTF8.format());
+            if(cp==0xFFFE || cp==0xFFFF)
+                throw error(Messages.INVALID_CHARACTER.format(hex(cp)));
+            n += Character.toChars(cp,c,n);
+            i += len;
+        }
+        clen = n;
+    }
+
+    /**
+     * Decodes the entity or character reference at {@code buf[i]} into {@link #cbuf}.
+     *
+     * @return
+     *      the index just after the reference.
+     */
+    private int reference(int i, int to) throws SAXException {
+        int semi = i+1;
+        while(semi<to && buf[semi]!=';')
+            semi++;
+        if(semi==to)
+            throw error(Messages.UNDEFINED_ENTITY.format(new String(buf,i,to-i,StandardCharsets.UTF_8)));
+
+        int len = semi-i-1;
+        char ch;
+        if(len>1 && buf[i+1]=='#') {
+            int cp = 0;
+            boolean hex = buf[i+2]=='x';
+            int j = hex ? i+3 : i+2;
+            if(j==semi)
+                throw error(Messages.UNDEFINED_ENTITY.format(new String(buf,i,semi-i+1,StandardCharsets.US_ASCII)));
+            for( ; j<semi; j++ ) {
+                int d = Character.digit(buf[j],hex ? 16 : 10);
+                if(d<0 || cp>0x10FFFF)
+                    throw error(Messages.UNDEFINED_ENTITY.format(new String(buf,i,semi-i+1,StandardCharsets.US_ASCII)));
+                cp = cp*(hex ? 16 : 10)+d;
+            }
+            if(!isXmlChar(cp))
+                throw error(Messages.UNDEFINED_ENTITY.format(new String(buf,i,semi-i+1,StandardCharsets.US_ASCII)));
+            clen += Character.toChars(cp,cbuf,clen);
+            return semi+1;
+        }
+        if(is(i+1,semi,"lt"))           ch = '<';
+        else if(is(i+1,semi,"gt"))      ch = '>';
+        else if(is(i+1,semi,"amp"))     ch = '&';
+        else if(is(i+1,semi,"apos"))    ch = '\'';
+        else if(is(i+1,semi,"quot"))    ch = '"';
+        else
+            throw error(Messages.UNDEFINED_ENTITY.format(new String(buf,i,semi-i+1,StandardCharsets.UTF_8)));
+        cbuf[clen++] = ch;
+        return semi+1;
+    }
+
+    /**
+     * Char of XML 1.0.
+     */
+    private static boolean isXmlChar(int cp) {
+        if(cp<0x20)
+            return cp=='\t' || cp=='\n' || cp=='\r';
+        return (cp<0xD800 || (cp>0xDFFF && cp<0xFFFE)) || (cp>=0x10000 && cp<=0x10FFFF);
+    }
+
+    private static String hex(int cp) {
+        String s = Integer.toHexString(cp).toUpperCase(Locale.ROOT);
+        return "0000".substring(Math.min(s.length(),4))+s;
+    }
+
+    private boolean is(int from, int to, String s) {
+        if(to-from!=s.length())
+            return false;
+        for( int i=0; i<s.length(); i++ ) {
+            if(buf[from+i]!=s.charAt(i))
+                return false;
+        }
+        return true;
+    }
+
+//
+// error and location
+//
+    private SAXParseException error(String msg) {
+        return new SAXParseException(msg,this);
+    }
+
+    @Override
+    public ValidationEventLocator getLocation() {
+        return new ValidationEventLocatorImpl(this);
+    }
+
+    @Override
+    public String getPublicId() {
+        return null;
+    }
+
+    @Override
+    public String getSystemId() {
+        return systemId;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return line;
+    }
+
+    @Override
+    public int getColumnNumber() {
+        return (int)(base+pos-lineStart)+1;
+    }
+}
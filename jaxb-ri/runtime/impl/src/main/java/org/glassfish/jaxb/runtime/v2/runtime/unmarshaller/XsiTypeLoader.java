@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -64,7 +64,22 @@ public class XsiTypeLoader extends Loader {
             // so don't consume it just yet.
             String value = atts.getValue(idx);
 
-            QName type = DatatypeConverterImpl._parseQName(value,context);
+            QName type;
+            TypeCache cache = context.getXsiTypeCache();
+            int slot = cache.slot(value);
+            int epoch = context.getNamespaceEpoch();
+            if(cache.matches(slot,value,epoch)) {
+                type = cache.types[slot];
+                beanInfo = cache.beanInfos[slot];
+            } else {
+                type = DatatypeConverterImpl._parseQName(value,context);
+                if(type!=null) {
+                    beanInfo = context.getJAXBContext().getGlobalType(type);
+                    if(beanInfo!=null)
+                        cache.put(slot,value,epoch,type,beanInfo);
+                }
+            }
+
             if(type==null) {
                 reportError(Messages.NOT_A_QNAME.format(value),true);
             } else {
@@ -77,7 +92,6 @@ public class XsiTypeLoader extends Loader {
                     // but none-the-less
                     return defaultBeanInfo;
 
-                beanInfo = context.getJAXBContext().getGlobalType(type);
                 if(beanInfo==null) { // let's report an error
                     if (context.parent.hasEventHandler() // is somebody listening?
                             && context.shouldErrorBeReported()) { // should we report error?
@@ -103,6 +117,46 @@ public class XsiTypeLoader extends Loader {
 
     static final QName XsiTypeQNAME = new QName(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI,"type");
 
+    /**
+     * Remembers recently resolved @xsi:type values, so that documents that
+     * repeat the same few @xsi:types don't have to parse the QName and
+     * look up the type every time.
+     *
+     * <p>
+     * An entry is keyed by the lexical value and the
+     * {@link UnmarshallingContext#getNamespaceEpoch() namespace binding epoch}
+     * in which it was resolved, since the same prefix can be bound differently
+     * in different parts of a document. Only successful resolutions are cached.
+     *
+     * <p>
+     * One instance is used by one {@link UnmarshallingContext}, and thus
+     * this class doesn't need to be thread-safe.
+     */
+    static final class TypeCache {
+        private static final int SIZE = 16;   // must be a power of two
+
+        private final String[] values = new String[SIZE];
+        private final int[] epochs = new int[SIZE];
+        final QName[] types = new QName[SIZE];
+        final JaxBeanInfo[] beanInfos = new JaxBeanInfo[SIZE];
+
+        int slot(String value) {
+            return value.hashCode() & (SIZE-1);
+        }
+
+        boolean matches(int slot, String value, int epoch) {
+            String v = values[slot];
+            return epochs[slot]==epoch && v!=null && v.equals(value);
+        }
+
+        void put(int slot, String value, int epoch, QName type, JaxBeanInfo beanInfo) {
+            values[slot] = value;
+            epochs[slot] = epoch;
+            types[slot] = type;
+            beanInfos[slot] = beanInfo;
+        }
+    }
+
     @Override
     public Collection<QName> getExpectedAttributes() {
         final Collection<QName> expAttrs = new HashSet<>(super.getExpectedAttributes());
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.util;
+
+/**
+ * Read-only snapshot of a {@link QNameMap}, laid out for the fastest possible look up.
+ *
+ * <p>
+ * The key set of a loader is fixed once the {@code JAXBContext} is built,
+ * so we can afford to spend some time up front to search for a hash
+ * multiplier that maps every key into its own slot (a perfect hash.)
+ * With such a multiplier, {@link #get(String, String)} is a single array
+ * access plus two identity comparisons.
+ *
+ * <p>
+ * If no perfect multiplier is found within a few attempts, the table
+ * is still usable; it just falls back to linear probing
+ * with the multiplier that produced the shortest probe sequence.
+ *
+ * <p>
+ * Like {@link QNameMap}, this class assumes that both namespace URI
+ * and local name are {@link String#intern() intern}ed.
+ */
+@SuppressWarnings({"StringEquality"})
+public final class CompiledQNameMap<V> {
+    /**
+     * Odd multipliers tried in order when searching for a collision-free layout.
+     */
+    private static final int[] MULTIPLIERS = {
+        0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1,
+        0xD3A2646D, 0xFD7046C5, 0xB55A4F09, 0x7FEB352D, 0x846CA68B
+    };
+
+    private final String[] nsUris;
+    private final String[] localNames;
+    private final V[] values;
+    private final int multiplier;
+    private final int shift;
+    private final int mask;
+
+    /**
+     * True if every key sits in its home slot.
+     */
+    private final boolean perfect;
+
+    @SuppressWarnings("unchecked")
+    public CompiledQNameMap(QNameMap<? extends V> map) {
+        int size = map.size();
+        // at most 50% occupancy, so that a perfect layout is easy to find
+        int capacity = 2;
+        while (capacity < size * 2)
+            capacity <<= 1;
+
+        String[] bestUris = null;
+        String[] bestLocals = null;
+        Object[] bestValues = null;
+        int bestMultiplier = 0;
+        int bestProbe = Integer.MAX_VALUE;
+        int bits = Integer.numberOfTrailingZeros(capacity);
+
+        // try a few multipliers, and widen the table once if none of them is perfect
+        for (int attempt = 0; attempt < 2 && bestProbe > 0; attempt++) {
+            for (int m : MULTIPLIERS) {
+                String[] u = new String[capacity];
+                String[] l = new String[capacity];
+                Object[] v = new Object[capacity];
+                int longest = 0;
+                for (QNameMap.Entry<? extends V> e : map.entrySet()) {
+                    int i = index(e.nsUri, e.localName, m, 32 - bits);
+                    int probe = 0;
+                    while (l[i] != null) {
+                        i = (i + 1) & (capacity - 1);
+                        probe++;
+                    }
+                    u[i] = e.nsUri;
+                    l[i] = e.localName;
+                    v[i] = e.getValue();
+                    longest = Math.max(longest, probe);
+                }
+                if (longest < bestProbe) {
+                    bestProbe = longest;
+                    bestUris = u;
+                    bestLocals = l;
+                    bestValues = v;
+                    bestMultiplier = m;
+                }
+                if (longest == 0)
+                    break;
+            }
+            if (bestProbe > 0) {
+                capacity <<= 1;
+                bits++;
+            }
+        }
+
+        this.nsUris = bestUris;
+        this.localNames = bestLocals;
+        this.values = (V[]) bestValues;
+        this.multiplier = bestMultiplier;
+        this.mask = bestLocals.length - 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(bestLocals.length);
+        this.perfect = bestProbe == 0;
+    }
+
+    private static int index(String nsUri, String localName, int multiplier, int shift) {
+        // String caches its hash code, so this is cheap after the first call
+        int h = localName.hashCode() * 31 + nsUri.hashCode();
+        return (h * multiplier) >>> shift;
+    }
+
+    /**
+     * Returns the value associated with the given name, or null if none.
+     */
+    public V get(String nsUri, String localName) {
+        int i = index(nsUri, localName, multiplier, shift);
+        final String[] l = localNames;
+        while (true) {
+            String k = l[i];
+            if (k == localName && nsUris[i] == nsUri)
+                return values[i];
+            if (k == null || perfect)
+                return null;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * True if every key was placed without a collision.
+     */
+    public boolean isPerfect() {
+        return perfect;
+    }
+}
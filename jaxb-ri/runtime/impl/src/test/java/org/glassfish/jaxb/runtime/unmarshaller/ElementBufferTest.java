@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.ElementBuffer;
+import org.glassfish.jaxb.runtime.ElementBufferHandler;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ElementBufferTest {
+
+    private static final String XML = "<envelope>"
+            + "<x:ext xmlns:x='urn:x' x:a='1' b='two'>text<x:child>more &amp; more</x:child>tail</x:ext>"
+            + "<plain/>"
+            + "</envelope>";
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Envelope.class);
+        Envelope e = (Envelope) ctx.createUnmarshaller().unmarshal(new StringReader(XML));
+
+        Assert.assertEquals(2, e.any.size());
+        Assert.assertEquals("urn:x", e.any.get(0).getNamespaceURI());
+        Assert.assertEquals("ext", e.any.get(0).getLocalName());
+        Assert.assertEquals("", e.any.get(1).getNamespaceURI());
+        Assert.assertEquals("plain", e.any.get(1).getLocalName());
+
+        StringWriter sw = new StringWriter();
+        ctx.createMarshaller().marshal(e, sw);
+
+        Envelope copy = (Envelope) ctx.createUnmarshaller().unmarshal(new StringReader(sw.toString()));
+        Assert.assertEquals(2, copy.any.size());
+        Element ext = toDom(copy.any.get(0));
+        Assert.assertEquals("urn:x", ext.getNamespaceURI());
+        Assert.assertEquals("1", ext.getAttributeNS("urn:x", "a"));
+        Assert.assertEquals("two", ext.getAttribute("b"));
+        Assert.assertEquals("textmore & moretail", ext.getTextContent());
+    }
+
+    @Test
+    public void testMarshalSourceIsUsableByTransformers() throws Exception {
+        Envelope e = (Envelope) JAXBContext.newInstance(Envelope.class)
+                .createUnmarshaller().unmarshal(new StringReader(XML));
+        Element ext = toDom(e.any.get(0));
+        Assert.assertEquals("ext", ext.getLocalName());
+        Assert.assertEquals("child", ((Element) ext.getElementsByTagNameNS("urn:x", "child").item(0)).getLocalName());
+    }
+
+    @Test
+    public void testNotBound() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Envelope.class);
+        Envelope e = (Envelope) ctx.createUnmarshaller().unmarshal(new StringReader(XML));
+        try {
+            // only a DomHandler knows how to write it
+            ctx.createMarshaller().marshal(e.any.get(0), new StringWriter());
+            Assert.fail();
+        } catch (JAXBException ex) {
+            Assert.assertTrue(ex.toString(), String.valueOf(ex.getMessage()).contains(ElementBuffer.class.getName()));
+        }
+    }
+
+    private static Element toDom(ElementBuffer buffer) throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document doc = dbf.newDocumentBuilder().newDocument();
+        TransformerFactory.newInstance().newTransformer().transform(
+                new ElementBufferHandler().marshal(buffer, null), new DOMResult(doc));
+        return doc.getDocumentElement();
+    }
+
+    @XmlRootElement(name = "envelope")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Envelope {
+        @XmlAnyElement(ElementBufferHandler.class)
+        public List<ElementBuffer> any = new ArrayList<>();
+    }
+}
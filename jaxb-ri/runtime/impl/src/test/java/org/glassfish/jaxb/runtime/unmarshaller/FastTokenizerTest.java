@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlMixed;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.XmlValue;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FastTokenizerTest {
+
+    private static final String[] DOCS = {
+        "<?xml version='1.0' encoding='UTF-8'?>\n"
+            + "<p:doc xmlns:p='urn:test' xmlns:q='urn:test' p:lang='en' id='1 &amp; 2'>\n"
+            + "  <p:name>Café &lt;crème&gt; 😀 &#x41;&#66;</p:name>\n"
+            + "  <q:name><![CDATA[<raw> & ]]>text</q:name>\n"
+            + "  <item xmlns='urn:test' n='1'>a</item>\n"
+            + "  <p:item n='2'\n   >line1\r\nline2</p:item>\n"
+            + "  <p:item n='3'/>\n"
+            + "  <!-- comment --><?pi ignored?>\n"
+            + "</p:doc>",
+        "<doc xmlns='urn:test'><note>one <b>bold</b> and <b>more</b> text</note></doc>",
+        "<doc xmlns='urn:test' xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'>"
+            + "<shape xsi:type='circle' r='2'/><shape xsi:type='square' side='3'/><shape/></doc>",
+        "<doc xmlns='urn:test'><unknown a='b'><deep>x</deep></unknown><name>  spaced  </name></doc>",
+    };
+
+    @Test
+    public void testSameAsOtherConnectors() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        XMLInputFactory xif = XMLInputFactory.newFactory();
+
+        Unmarshaller fast = ctx.createUnmarshaller();
+        fast.setProperty(UnmarshallerImpl.FAST_TOKENIZER, true);
+        Assert.assertEquals(Boolean.TRUE, fast.getProperty(UnmarshallerImpl.FAST_TOKENIZER));
+
+        for (String doc : DOCS) {
+            byte[] data = doc.getBytes(StandardCharsets.UTF_8);
+            String sax = marshal(ctx, ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream(data)));
+            String stax = marshal(ctx, ctx.createUnmarshaller().unmarshal(xif.createXMLStreamReader(new ByteArrayInputStream(data))));
+            Assert.assertEquals(sax, stax);
+
+            // the same unmarshaller is reused for every document
+            Assert.assertEquals(doc, sax, marshal(ctx, fast.unmarshal(new ByteArrayInputStream(data))));
+            Assert.assertEquals(doc, sax, marshal(ctx, fast.unmarshal(new StreamSource(new ByteArrayInputStream(data)))));
+        }
+    }
+
+    @Test
+    public void testExpectedType() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        Unmarshaller u = ctx.createUnmarshaller();
+        u.setProperty(UnmarshallerImpl.FAST_TOKENIZER, true);
+        JAXBElement<Doc> e = u.unmarshal(new StreamSource(new ByteArrayInputStream(
+                "<other xmlns:t='urn:test'><t:name>n</t:name></other>".getBytes(StandardCharsets.UTF_8))), Doc.class);
+        Assert.assertEquals("other", e.getName().getLocalPart());
+        Assert.assertEquals("n", e.getValue().names.get(0));
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        Unmarshaller u = ctx.createUnmarshaller();
+        u.setProperty(UnmarshallerImpl.FAST_TOKENIZER, true);
+        for (String doc : new String[]{
+                "<doc xmlns='urn:test'><name>n</doc>",
+                "<doc a='1' a='2'/>",
+                "<doc xmlns:p='urn:test' p:a='1' p:a='2'/>",
+                "<!DOCTYPE doc><doc/>"}) {
+            try {
+                u.unmarshal(new ByteArrayInputStream(doc.getBytes(StandardCharsets.UTF_8)));
+                Assert.fail(doc);
+            } catch (UnmarshalException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testManyDistinctNames() throws Exception {
+        // more names than the tokenizer caches
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        StringBuilder sb = new StringBuilder("<doc xmlns='urn:test'>");
+        for (int i = 0; i < 10000; i++)
+            sb.append("<x").append(i).append(" a").append(i).append("='v'/>");
+        sb.append("<name>last</name></doc>");
+
+        Unmarshaller u = ctx.createUnmarshaller();
+        u.setProperty(UnmarshallerImpl.FAST_TOKENIZER, true);
+        Doc d = (Doc) u.unmarshal(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("last", d.names.get(0));
+    }
+
+    private static String marshal(JAXBContext ctx, Object o) throws Exception {
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        StringWriter w = new StringWriter();
+        m.marshal(o, w);
+        return w.toString();
+    }
+
+    @XmlRootElement(name = "doc", namespace = "urn:test")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Doc {
+        @XmlAttribute
+        public String id;
+        @XmlAttribute(namespace = "urn:test")
+        public String lang;
+        @XmlElement(name = "name", namespace = "urn:test")
+        public List<String> names = new ArrayList<>();
+        @XmlElement(name = "item", namespace = "urn:test")
+        public List<Item> items = new ArrayList<>();
+        @XmlElement(namespace = "urn:test")
+        public Note note;
+        @XmlElement(name = "shape", namespace = "urn:test")
+        public List<Shape> shapes = new ArrayList<>();
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Item {
+        @XmlAttribute
+        public int n;
+        @XmlValue
+        public String text;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Note {
+        @XmlMixed
+        @XmlAnyElement
+        public List<Object> content = new ArrayList<>();
+    }
+
+    @XmlSeeAlso({Circle.class, Square.class})
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Shape {
+    }
+
+    @XmlType(name = "circle", namespace = "urn:test")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Circle extends Shape {
+        @XmlAttribute
+        public int r;
+    }
+
+    @XmlType(name = "square", namespace = "urn:test")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Square extends Shape {
+        @XmlAttribute
+        public int side;
+    }
+}
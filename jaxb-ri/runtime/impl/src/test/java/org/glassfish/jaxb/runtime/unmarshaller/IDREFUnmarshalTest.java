@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.ValidationEvent;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlID;
+import jakarta.xml.bind.annotation.XmlIDREF;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IDREFUnmarshalTest {
+
+    @Test
+    public void testBackwardAndForwardReferences() throws Exception {
+        Unmarshaller u = JAXBContext.newInstance(Catalog.class).createUnmarshaller();
+        String xml = "<catalog>"
+                + "<part id='a' ref='c'/>"
+                + "<part id='b' ref='a'/>"
+                + "<part id='c' ref='c'/>"
+                + "</catalog>";
+
+        // unmarshal twice to make sure nothing leaks from one document to the next
+        for (int i = 0; i < 2; i++) {
+            Catalog c = (Catalog) u.unmarshal(new StringReader(xml));
+            Assert.assertEquals(3, c.parts.size());
+            Part a = c.parts.get(0), b = c.parts.get(1), cc = c.parts.get(2);
+            Assert.assertSame(cc, a.ref);
+            Assert.assertSame(a, b.ref);
+            Assert.assertSame(cc, cc.ref);
+        }
+    }
+
+    @Test
+    public void testUnresolvedReference() throws Exception {
+        Unmarshaller u = JAXBContext.newInstance(Catalog.class).createUnmarshaller();
+        final List<ValidationEvent> events = new ArrayList<>();
+        u.setEventHandler(event -> {
+            events.add(event);
+            return true;
+        });
+        Catalog c = (Catalog) u.unmarshal(new StringReader(
+                "<catalog>\n<part id='a' ref='nowhere'/></catalog>"));
+        Assert.assertNull(c.parts.get(0).ref);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(2, events.get(0).getLocator().getLineNumber());
+    }
+
+    @XmlRootElement(name = "catalog")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Catalog {
+        @XmlElement(name = "part")
+        public List<Part> parts = new ArrayList<>();
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Part {
+        @XmlID
+        @XmlAttribute
+        public String id;
+
+        @XmlIDREF
+        @XmlAttribute
+        public Part ref;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlValue;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshalFeed;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class UnmarshalFeedTest {
+
+    private static final String DOC =
+            "﻿<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+            + "<!-- leading comment -->\n"
+            + "<b:book xmlns:b=\"urn:book\" xmlns=\"urn:default\" id=\"b&amp;1\" b:lang=\"fr\">\n"
+            + "  <?ignored processing instruction?>\n"
+            + "  <b:title>Café &lt;crème&gt; 😀 &#x41;&#66;</b:title>\n"
+            + "  <b:chapter n=\"1\"><![CDATA[<raw> & text]]></b:chapter>\n"
+            + "  <b:chapter n='2'\r\n   >line1\r\nline2</b:chapter>\n"
+            + "  <b:chapter n=\"3\"/>\n"
+            + "</b:book>\n<!-- trailing -->  ";
+
+    @Test
+    public void testSingleChunk() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        byte[] data = DOC.getBytes(StandardCharsets.UTF_8);
+
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        feed.feed(ByteBuffer.wrap(data));
+        Assert.assertTrue(feed.isComplete());
+        assertSameAsReference(ctx, data, (Book) feed.endOfInput());
+    }
+
+    @Test
+    public void testByteByByte() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        byte[] data = DOC.getBytes(StandardCharsets.UTF_8);
+
+        UnmarshallerImpl u = (UnmarshallerImpl) ctx.createUnmarshaller();
+        // the same unmarshaller can be used for another document afterwards
+        for (int round = 0; round < 2; round++) {
+            UnmarshalFeed feed = u.createFeed();
+            for (byte b : data) {
+                ByteBuffer direct = ByteBuffer.allocateDirect(1);
+                direct.put(b).flip();
+                feed.feed(direct);
+            }
+            Assert.assertTrue(feed.isComplete());
+            assertSameAsReference(ctx, data, (Book) feed.endOfInput());
+        }
+    }
+
+    @Test
+    public void testLongText() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < 5000; i++)
+            title.append("é&amp;x");
+        byte[] data = ("<book xmlns=\"urn:book\"><title>" + title + "</title></book>").getBytes(StandardCharsets.UTF_8);
+
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        for (int i = 0; i < data.length; i += 7)
+            feed.feed(data, i, Math.min(7, data.length - i));
+        Book b = (Book) feed.endOfInput();
+        Assert.assertEquals(title.toString().replace("&amp;", "&"), b.title);
+    }
+
+    @Test
+    public void testSplitReference() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        byte[] data = "<book xmlns=\"urn:book\"><title>a&#00000000065;&#x000000042;]]&gt;</title></book>".getBytes(StandardCharsets.UTF_8);
+        for (int size = 1; size < 16; size++) {
+            UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+            for (int i = 0; i < data.length; i += size)
+                feed.feed(data, i, Math.min(size, data.length - i));
+            Assert.assertEquals("aAB]]>", ((Book) feed.endOfInput()).title);
+        }
+    }
+
+    @Test
+    public void testNotWellFormed() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        assertFails(ctx, "<book xmlns=\"urn:book\"><title>a\u0001</title></book>", "U+0001");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><title>a&#1;</title></book>", "&#1;");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><title>\uFFFF</title></book>", "U+FFFF");
+        // also where the text is ignored
+        assertFails(ctx, "<book xmlns=\"urn:book\">\u0000</book>");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><!-- \u0000 --></book>");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><!-- a -- b --></book>");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><!-- a ---></book>");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><?pi \u0000?></book>");
+        assertFails(ctx, "<book xmlns=\"urn:book\">a]]>b</book>");
+        assertFails(ctx, "<book xmlns=\"urn:book\"><title>a]]>b</title></book>");
+        assertFails(ctx, "<1book xmlns=\"urn:book\"/>", "\"1book\"");
+        assertFails(ctx, "<book xmlns=\"urn:book\" a&b=\"\"/>", "\"a&b\"");
+        assertFails(ctx, "<a:b:book xmlns:a=\"urn:book\"/>", "\"a:b:book\"");
+        assertFails(ctx, "<book xmlns=\"urn:book\" xmlns:a=\"\"/>");
+        // surrogates are not UTF-8
+        byte[] surrogate = {'<', 'b', 'o', 'o', 'k', '>', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '<', '/', 'b', 'o', 'o', 'k', '>'};
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        try {
+            feed.feed(ByteBuffer.wrap(surrogate));
+            feed.endOfInput();
+            Assert.fail();
+        } catch (UnmarshalException e) {
+            // expected
+        }
+
+        // "]]>" split across chunks
+        byte[] data = "<book xmlns=\"urn:book\"><title>a]]>b</title></book>".getBytes(StandardCharsets.UTF_8);
+        for (int size = 1; size < 8; size++) {
+            feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+            try {
+                for (int i = 0; i < data.length; i += size)
+                    feed.feed(data, i, Math.min(size, data.length - i));
+                feed.endOfInput();
+                Assert.fail(String.valueOf(size));
+            } catch (UnmarshalException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testExpectedType() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed(Book.class);
+        feed.feed(ByteBuffer.wrap("<other><title xmlns='urn:book'>t</title></other>".getBytes(StandardCharsets.UTF_8)));
+        JAXBElement<?> e = (JAXBElement<?>) feed.endOfInput();
+        Assert.assertEquals("other", e.getName().getLocalPart());
+        Assert.assertEquals("t", ((Book) e.getValue()).title);
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        assertFails(ctx, "<book xmlns=\"urn:book\"><title>t</title>");
+        assertFails(ctx, "<!DOCTYPE book [<!ENTITY x \"y\">]><book/>");
+        assertFails(ctx, "<book><title>t</book></title>");
+        assertFails(ctx, "<book>&foo;</book>");
+        assertFails(ctx, "<x:book/>");
+        assertFails(ctx, "<book/><book/>");
+        assertFails(ctx, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><book/>");
+    }
+
+    @Test
+    public void testAttributes() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        assertFails(ctx, "<book xmlns=\"urn:book\" id=\"1\" n=\"2\" id=\"3\"/>", "\"id\"");
+
+        // just below the limit
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        feed.feed(ByteBuffer.wrap(attributes(9998).getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("x", ((Book) feed.endOfInput()).id);
+
+        assertFails(ctx, attributes(9999), "10000");
+
+        // the same namespace URI and local name through different prefixes
+        assertFails(ctx, "<book xmlns=\"urn:book\" xmlns:a=\"urn:x\" xmlns:b=\"urn:x\" a:n=\"1\" b:n=\"2\"/>", "\"b:n\"");
+        StringBuilder many = new StringBuilder(attributes(20));
+        many.insert(many.length() - 2, " xmlns:a=\"urn:x\" xmlns:b=\"urn:x\" a:n=\"1\" b:n=\"2\"");
+        assertFails(ctx, many.toString(), "\"b:n\"");
+        feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        feed.feed(ByteBuffer.wrap("<book xmlns=\"urn:book\" xmlns:a=\"urn:x\" xmlns:b=\"urn:y\" a:n=\"1\" b:n=\"2\" n=\"3\" id=\"x\"/>"
+                .getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("x", ((Book) feed.endOfInput()).id);
+    }
+
+    /**
+     * A book with the given number of attributes besides "id" and the namespace declaration.
+     */
+    private static String attributes(int n) {
+        StringBuilder sb = new StringBuilder("<book xmlns=\"urn:book\" id=\"x\"");
+        for (int i = 0; i < n; i++)
+            sb.append(" a").append(i).append("=\"\"");
+        return sb.append("/>").toString();
+    }
+
+    @Test
+    public void testUnterminatedTag() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        byte[] chunk = new byte[64 * 1024];
+        Arrays.fill(chunk, (byte) 'x');
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        feed.feed(ByteBuffer.wrap("<book xmlns=\"urn:book\" id=\"".getBytes(StandardCharsets.UTF_8)));
+        long fed = 0;
+        try {
+            // the attribute value never ends
+            while (fed < 64 * 1024 * 1024) {
+                feed.feed(chunk, 0, chunk.length);
+                fed += chunk.length;
+            }
+            Assert.fail();
+        } catch (UnmarshalException e) {
+            Assert.assertTrue(messageOf(e), messageOf(e).contains("16777216"));
+        }
+        Assert.assertTrue(fed <= 16 * 1024 * 1024);
+    }
+
+    @Test
+    public void testEndlessText() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Book.class);
+        byte[] chunk = new byte[64 * 1024];
+        Arrays.fill(chunk, (byte) 'x');
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        feed.feed(ByteBuffer.wrap("<book xmlns=\"urn:book\"><title>".getBytes(StandardCharsets.UTF_8)));
+        long fed = 0;
+        try {
+            // the title never ends
+            while (fed < 64 * 1024 * 1024) {
+                feed.feed(chunk, 0, chunk.length);
+                fed += chunk.length;
+            }
+            Assert.fail();
+        } catch (UnmarshalException e) {
+            Assert.assertTrue(messageOf(e), messageOf(e).contains("16777216"));
+        }
+        Assert.assertTrue(fed <= 16 * 1024 * 1024);
+    }
+
+    private static void assertFails(JAXBContext ctx, String doc, String message) throws JAXBException {
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        try {
+            feed.feed(ByteBuffer.wrap(doc.getBytes(StandardCharsets.UTF_8)));
+            feed.endOfInput();
+            Assert.fail(doc);
+        } catch (UnmarshalException e) {
+            Assert.assertTrue(messageOf(e), messageOf(e).contains(message));
+        }
+    }
+
+    private static String messageOf(UnmarshalException e) {
+        return e.getMessage() != null ? e.getMessage() : String.valueOf(e.getLinkedException());
+    }
+
+    private static void assertFails(JAXBContext ctx, String doc) throws JAXBException {
+        UnmarshalFeed feed = ((UnmarshallerImpl) ctx.createUnmarshaller()).createFeed();
+        try {
+            feed.feed(ByteBuffer.wrap(doc.getBytes(StandardCharsets.UTF_8)));
+            feed.endOfInput();
+            Assert.fail(doc);
+        } catch (UnmarshalException e) {
+            // expected
+        }
+    }
+
+    private static void assertSameAsReference(JAXBContext ctx, byte[] data, Book actual) throws JAXBException {
+        Book expected = (Book) ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream(data));
+        Assert.assertEquals("b&1", actual.id);
+        Assert.assertEquals(expected.id, actual.id);
+        Assert.assertEquals(expected.lang, actual.lang);
+        Assert.assertEquals(expected.title, actual.title);
+        Assert.assertEquals(3, actual.chapters.size());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(expected.chapters.get(i).n, actual.chapters.get(i).n);
+            Assert.assertEquals(expected.chapters.get(i).text, actual.chapters.get(i).text);
+        }
+        Assert.assertEquals("line1\nline2", actual.chapters.get(1).text);
+    }
+
+    @XmlRootElement(name = "book", namespace = "urn:book")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Book {
+        @XmlAttribute
+        public String id;
+        @XmlAttribute(namespace = "urn:book")
+        public String lang;
+        @XmlElement(namespace = "urn:book")
+        public String title;
+        @XmlElement(name = "chapter", namespace = "urn:book")
+        public List<Chapter> chapters = new ArrayList<>();
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Chapter {
+        @XmlAttribute
+        public int n;
+        @XmlValue
+        public String text;
+    }
+}
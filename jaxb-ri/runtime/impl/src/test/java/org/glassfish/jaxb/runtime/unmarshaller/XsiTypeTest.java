@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.unmarshaller;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import jakarta.xml.bind.annotation.XmlType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class XsiTypeTest {
+
+    private static final String XSI = "xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'";
+
+    @Test
+    public void testRepeatedTypes() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Zoo.class);
+        Zoo zoo = new Zoo();
+        for (int i = 0; i < 10; i++) {
+            zoo.animals.add(i % 2 == 0 ? new Cat() : new Dog());
+        }
+
+        StringWriter sw = new StringWriter();
+        ctx.createMarshaller().marshal(zoo, sw);
+        Zoo copy = (Zoo) ctx.createUnmarshaller().unmarshal(new StringReader(sw.toString()));
+
+        Assert.assertEquals(10, copy.animals.size());
+        for (int i = 0; i < 10; i++) {
+            Assert.assertSame(zoo.animals.get(i).getClass(), copy.animals.get(i).getClass());
+        }
+    }
+
+    /**
+     * The same lexical @xsi:type value must be re-resolved
+     * when its prefix is bound to a different namespace.
+     */
+    @Test
+    public void testPrefixRebinding() throws Exception {
+        Unmarshaller u = JAXBContext.newInstance(Zoo.class).createUnmarshaller();
+        String xml = "<zoo " + XSI + ">"
+                + "<animal xmlns:p='urn:a' xsi:type='p:cat'/>"
+                + "<animal xmlns:p='urn:b' xsi:type='p:cat'/>"
+                + "<animal xmlns:p='urn:a' xsi:type='p:cat'/>"
+                + "</zoo>";
+        Zoo zoo = (Zoo) u.unmarshal(new StringReader(xml));
+        Assert.assertSame(Cat.class, zoo.animals.get(0).getClass());
+        Assert.assertSame(Dog.class, zoo.animals.get(1).getClass());
+        Assert.assertSame(Cat.class, zoo.animals.get(2).getClass());
+    }
+
+    @Test
+    public void testMarshalWithChangingPrefixes() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Zoo.class);
+        Marshaller m = ctx.createMarshaller();
+        Zoo zoo = new Zoo();
+        zoo.animals.add(new Cat());
+        zoo.animals.add(new Dog());
+        zoo.animals.add(new Cat());
+
+        for (int i = 0; i < 2; i++) {
+            StringWriter sw = new StringWriter();
+            m.marshal(zoo, sw);
+            Zoo copy = (Zoo) ctx.createUnmarshaller().unmarshal(new StringReader(sw.toString()));
+            Assert.assertSame(Cat.class, copy.animals.get(0).getClass());
+            Assert.assertSame(Dog.class, copy.animals.get(1).getClass());
+            Assert.assertSame(Cat.class, copy.animals.get(2).getClass());
+        }
+    }
+
+    @XmlRootElement(name = "zoo")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Zoo {
+        @XmlElement(name = "animal")
+        public List<Animal> animals = new ArrayList<>();
+    }
+
+    @XmlSeeAlso({Cat.class, Dog.class})
+    public static class Animal {
+    }
+
+    @XmlType(name = "cat", namespace = "urn:a")
+    public static class Cat extends Animal {
+    }
+
+    @XmlType(name = "cat", namespace = "urn:b")
+    public static class Dog extends Animal {
+    }
+}
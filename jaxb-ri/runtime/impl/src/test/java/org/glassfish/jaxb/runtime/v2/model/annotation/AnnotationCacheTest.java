@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.model.annotation;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlSchema;
+import jakarta.xml.bind.annotation.XmlSeeAlso;
+import org.glassfish.jaxb.core.v2.model.annotation.Locatable;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AnnotationCacheTest {
+
+    @Test
+    public void testElements() throws Exception {
+        Assert.assertSame(AnnotationCache.getElement(XmlElement.class, "type"),
+                AnnotationCache.getElement(XmlElement.class, "type"));
+        try {
+            AnnotationCache.getElement(XmlElement.class, "nope");
+            Assert.fail();
+        } catch (NoSuchMethodException e) {
+            // expected
+        }
+
+        RuntimeInlineAnnotationReader reader = new RuntimeInlineAnnotationReader();
+        XmlSeeAlso a = reader.getClassAnnotation(XmlSeeAlso.class, Annotated.class, null);
+        Assert.assertArrayEquals(new Class[]{String.class}, reader.getClassArrayValue(a, "value"));
+    }
+
+    @Test
+    public void testLocatable() {
+        Assert.assertTrue(AnnotationCache.isProxiable(XmlAccessorType.class));
+        // no Quick for this one, so it goes through a proxy
+        XmlAccessorType a = new RuntimeInlineAnnotationReader().getClassAnnotation(XmlAccessorType.class, Annotated.class,
+                new ClassLocatable<>(null, Annotated.class, null));
+        Assert.assertTrue(a instanceof Locatable);
+        Assert.assertEquals(XmlAccessType.FIELD, a.value());
+    }
+
+    @Test
+    public void testPackageAnnotation() {
+        Assert.assertNull(AnnotationCache.getPackageAnnotation(XmlSchema.class, Annotated.class));
+        Assert.assertNull(AnnotationCache.getPackageAnnotation(XmlSchema.class, int.class));
+        Assert.assertNull(new RuntimeInlineAnnotationReader().getPackageAnnotation(XmlSchema.class, Annotated.class, null));
+    }
+
+    @XmlSeeAlso(String.class)
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Annotated {
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import junit.framework.TestCase;
+
+public class AssociationMapTest extends TestCase {
+
+    public void testManyAssociations() {
+        AssociationMap<Object> map = new AssociationMap<>();
+        Object[] elements = new Object[1000];
+        Object[] inners = new Object[1000];
+        Object[] outers = new Object[1000];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = new Object();
+            inners[i] = new Object();
+            outers[i] = new Object();
+            map.addInner(elements[i], inners[i]);
+            map.addOuter(elements[i], outers[i]);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < elements.length; i++) {
+            assertSame(inners[i], map.getInnerPeer(elements[i]));
+            assertSame(outers[i], map.getOuterPeer(elements[i]));
+            assertSame(elements[i], map.byPeer(inners[i]).element());
+            assertSame(elements[i], map.byPeer(outers[i]).element());
+        }
+    }
+
+    public void testReassociation() {
+        AssociationMap<Object> map = new AssociationMap<>();
+        Object e1 = new Object(), e2 = new Object(), bean = new Object();
+        map.addInner(e1, bean);
+        // the same bean moves to another element; the old element is forgotten
+        map.addInner(e2, bean);
+        assertNull(map.byElement(e1));
+        assertSame(e2, map.byPeer(bean).element());
+        assertEquals(1, map.size());
+
+        // churn shouldn't grow the map
+        for (int i = 0; i < 10000; i++)
+            map.addInner(new Object(), bean);
+        assertEquals(1, map.size());
+    }
+
+    public void testTransfer() {
+        AssociationMap<Object> map = new AssociationMap<>();
+        Object from = new Object(), to = new Object(), bean = new Object(), stale = new Object();
+        map.addInner(from, bean);
+        map.addInner(to, stale);
+        map.transfer(from, to);
+        assertNull(map.byElement(from));
+        assertNull(map.byPeer(stale));
+        assertSame(to, map.byPeer(bean).element());
+        assertSame(bean, map.getInnerPeer(to));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.api.ClassResolver;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeAnnotationReader;
+import org.glassfish.jaxb.runtime.v2.model.annotation.RuntimeInlineAnnotationReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AugmentedContextTest {
+
+    @Test
+    public void testReuse() throws Exception {
+        JAXBContextImpl ctx = (JAXBContextImpl) JAXBContext.newInstance(A.class);
+        Assert.assertSame(ctx, ctx.createAugmented(A.class));
+
+        JAXBContextImpl augmented = ctx.createAugmented(B.class);
+        Assert.assertNotSame(ctx, augmented);
+        Assert.assertNotNull(augmented.getBeanInfo(B.class));
+        Assert.assertNotNull(augmented.getBeanInfo(A.class));
+        Assert.assertSame(augmented, ctx.createAugmented(B.class));
+        Assert.assertSame(augmented, augmented.createAugmented(B.class));
+    }
+
+    @Test
+    public void testClassResolver() throws Exception {
+        // counts how often a context reads the annotations of B, once per build
+        AtomicInteger reads = new AtomicInteger();
+        RuntimeAnnotationReader inline = new RuntimeInlineAnnotationReader();
+        RuntimeAnnotationReader counting = (RuntimeAnnotationReader) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{RuntimeAnnotationReader.class}, (proxy, m, args) -> {
+                    if (m.getName().equals("getClassAnnotation") && args[1] == B.class)
+                        reads.incrementAndGet();
+                    try {
+                        return m.invoke(inline, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+
+        JAXBContext ctx = JAXBContext.newInstance(new Class[]{A.class},
+                Map.of(JAXBRIContext.ANNOTATION_READER, counting));
+        ClassResolver resolver = new ClassResolver() {
+            @Override
+            public Class<?> resolveElementName(String nsUri, String localName) {
+                return localName.equals("b") ? B.class : null;
+            }
+        };
+        int afterFirst = 0;
+        for (int i = 0; i < 3; i++) {
+            Unmarshaller u = ctx.createUnmarshaller();
+            u.setProperty(ClassResolver.class.getName(), resolver);
+            B b = (B) u.unmarshal(new StringReader("<b><value>x</value></b>"));
+            Assert.assertEquals("x", b.value);
+            if (i == 0)
+                afterFirst = reads.get();
+        }
+        Assert.assertTrue(afterFirst > 0);
+        // the augmented context was built once
+        Assert.assertEquals(afterFirst, reads.get());
+        JAXBContextImpl augmented = ((JAXBContextImpl) ctx).createAugmented(B.class);
+        Assert.assertSame(augmented, ((JAXBContextImpl) ctx).createAugmented(B.class));
+        Assert.assertEquals(afterFirst, reads.get());
+    }
+
+    @XmlRootElement(name = "a")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class A {
+        public String value;
+    }
+
+    @XmlRootElement(name = "b")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class B {
+        public String value;
+    }
+}
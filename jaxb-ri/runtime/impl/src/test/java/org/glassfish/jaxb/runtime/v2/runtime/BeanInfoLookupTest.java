@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class BeanInfoLookupTest {
+
+    @Test
+    public void testSubclassesAndUnboundClasses() throws Exception {
+        JAXBContextImpl ctx = (JAXBContextImpl) JAXBContext.newInstance(Root.class);
+        JaxBeanInfo root = ctx.getBeanInfo(Root.class);
+        Assert.assertNotNull(root);
+
+        for (int i = 0; i < 2; i++) {
+            // the second round is served from the cache
+            Assert.assertSame(root, ctx.getBeanInfo(new Root()));
+            Assert.assertSame(root, ctx.getBeanInfo(new Proxy()));
+            Assert.assertSame(root, ctx.getBeanInfo(new Proxy() {}));
+            Assert.assertNull(ctx.getBeanInfo(new Unbound()));
+            Assert.assertNull(ctx.getBeanInfo(new StringBuilder()));
+            Element e = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument().createElement("e");
+            Assert.assertSame(ctx.getBeanInfo(Object.class), ctx.getBeanInfo(e));
+        }
+
+        try {
+            ctx.getBeanInfo(new Unbound(), true);
+            Assert.fail();
+        } catch (JAXBException e) {
+            // expected
+        }
+
+        // another context has its own answers for the same classes
+        JAXBContextImpl other = (JAXBContextImpl) JAXBContext.newInstance(Unbound.class);
+        Assert.assertNull(other.getBeanInfo(new Proxy()));
+        Assert.assertSame(other.getBeanInfo(Unbound.class), other.getBeanInfo(new Unbound()));
+    }
+
+    @Test
+    public void testConcurrentMarshalling() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Root.class);
+        StringWriter expected = new StringWriter();
+        ctx.createMarshaller().marshal(new Root(), expected);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    StringWriter w = new StringWriter();
+                    ctx.createMarshaller().marshal(new Proxy(), w);
+                    return w.toString();
+                }));
+            }
+            for (Future<String> f : results)
+                Assert.assertEquals(expected.toString(), f.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Root {
+        public String name = "n";
+        @XmlAnyElement
+        public List<Object> any = new ArrayList<>();
+    }
+
+    /**
+     * Stands for a runtime-generated subclass, like an ORM proxy.
+     */
+    public static class Proxy extends Root {
+    }
+
+    @XmlRootElement
+    public static class Unbound {
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import org.glassfish.jaxb.runtime.api.AccessorException;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.runtime.property.Property;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BeanSerializerTest {
+
+    private static final Map<String, ?> FAST = Map.of(JAXBRIContext.FAST_SERIALIZERS, true);
+
+    @Before
+    public void reset() {
+        Person_JaxbSerializer.calls = 0;
+    }
+
+    @Test
+    public void testSameOutput() throws Exception {
+        Person p = person(new Person());
+        String expected = marshal(JAXBContext.newInstance(Person.class), p);
+        Assert.assertEquals(0, Person_JaxbSerializer.calls);
+
+        Assert.assertEquals(expected, marshal(JAXBContext.newInstance(new Class[]{Person.class}, FAST), p));
+        Assert.assertEquals(1, Person_JaxbSerializer.calls);
+        Assert.assertTrue(expected, expected.contains("<phone>1</phone><phone>2</phone><address><city>Prague</city></address><status>ACTIVE</status>"));
+
+        // nothing set but the primitive
+        Person empty = new Person();
+        Assert.assertEquals(marshal(JAXBContext.newInstance(Person.class), empty),
+                marshal(JAXBContext.newInstance(new Class[]{Person.class}, FAST), empty));
+    }
+
+    @Test
+    public void testSubClass() throws Exception {
+        Employee e = person(new Employee());
+        e.dept = "R&D";
+        String expected = marshal(JAXBContext.newInstance(Employee.class), e);
+        Assert.assertEquals(expected, marshal(JAXBContext.newInstance(new Class[]{Employee.class}, FAST), e));
+        // the super class has one, the sub class writes its own property as usual
+        Assert.assertEquals(1, Person_JaxbSerializer.calls);
+        Assert.assertTrue(expected, expected.contains("<status>ACTIVE</status><dept>R&amp;D</dept>"));
+    }
+
+    @Test
+    public void testRetainPropertyInfo() throws Exception {
+        marshal(JAXBContext.newInstance(new Class[]{Person.class},
+                Map.of(JAXBRIContext.FAST_SERIALIZERS, true, JAXBRIContext.RETAIN_REFERENCE_TO_INFO, true)), person(new Person()));
+        Assert.assertEquals(0, Person_JaxbSerializer.calls);
+    }
+
+    private static <T extends Person> T person(T p) {
+        p.id = "p1";
+        p.name = "Jan <Novak>";
+        p.age = 42;
+        p.phone = new ArrayList<>(List.of("1", "2"));
+        p.address = new Address();
+        p.address.city = "Prague";
+        p.status = Status.ACTIVE;
+        return p;
+    }
+
+    private static String marshal(JAXBContext ctx, Object o) throws Exception {
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        StringWriter w = new StringWriter();
+        m.marshal(o, w);
+        return w.toString();
+    }
+
+    public enum Status { ACTIVE, RETIRED }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Address {
+        protected String city;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    @XmlType(propOrder = {"name", "age", "phone", "address", "status"})
+    public static class Person {
+        @XmlAttribute
+        protected String id;
+        protected String name;
+        protected int age;
+        protected List<String> phone;
+        protected Address address;
+        protected Status status;
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Employee extends Person {
+        @XmlElement(required = true)
+        protected String dept;
+    }
+
+    /**
+     * What XJC -Xfast-serializers generates for {@link Person}.
+     */
+    public static class Person_JaxbSerializer implements BeanSerializer<Person> {
+
+        static int calls;
+
+        private final Name name;
+        private final Name age;
+        private final Name phone;
+        private final Name address;
+        private JaxBeanInfo<Address> addressInfo;
+        private Property<Person> status;
+
+        public Person_JaxbSerializer(NameBuilder names) {
+            name = names.createElementName("", "name");
+            age = names.createElementName("", "age");
+            phone = names.createElementName("", "phone");
+            address = names.createElementName("", "address");
+        }
+
+        @Override
+        public void link(JAXBContextImpl context, ClassBeanInfoImpl<Person> beanInfo) {
+            addressInfo = context.getBeanInfo(Address.class);
+            status = beanInfo.getProperty("status");
+        }
+
+        @Override
+        public void serializeBody(Person bean, XMLSerializer target) throws SAXException, IOException, XMLStreamException {
+            calls++;
+            if (bean.name != null) {
+                target.leafElement(name, bean.name, "name");
+            }
+            target.leafElement(age, bean.age, "age");
+            if (bean.phone != null) {
+                for (String v : bean.phone) {
+                    if (v != null) {
+                        target.leafElement(phone, v, "phone");
+                    }
+                }
+            }
+            if (bean.address != null) {
+                target.startElement(address, null);
+                target.childAsXsiType(bean.address, "address", addressInfo, false);
+                target.endElement();
+            }
+            try {
+                status.serializeBody(bean, target, null);
+            } catch (AccessorException e) {
+                target.reportError(null, e);
+            }
+        }
+    }
+}
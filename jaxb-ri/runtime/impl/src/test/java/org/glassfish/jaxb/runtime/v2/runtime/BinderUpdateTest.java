@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.Binder;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BinderUpdateTest {
+
+    @Test
+    public void testUpdateKeepsUnchangedNodes() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document doc = dbf.newDocumentBuilder().parse(new InputSource(new StringReader(
+                "<doc><item name='a'>1</item><item name='b'>2</item><item name='c'>3</item></doc>")));
+
+        Binder<Node> binder = JAXBContext.newInstance(Doc.class).createBinder();
+        Doc d = (Doc) binder.unmarshal(doc);
+        Element root = doc.getDocumentElement();
+        Element first = (Element) root.getFirstChild();
+        Element second = (Element) first.getNextSibling();
+
+        d.items.get(1).value = "changed";
+        d.items.get(1).name = "B";
+        Item added = new Item();
+        added.name = "d";
+        added.value = "4";
+        d.items.add(added);
+
+        Node updated = binder.updateXML(d);
+        Assert.assertSame(root, updated);
+        Assert.assertSame(first, root.getFirstChild());
+        Assert.assertSame(second, first.getNextSibling());
+        Assert.assertEquals("changed", second.getTextContent());
+        Assert.assertEquals("B", second.getAttribute("name"));
+        Assert.assertEquals(4, root.getElementsByTagName("item").getLength());
+
+        // associations follow the nodes that stay in the document
+        Assert.assertSame(second, binder.getXMLNode(d.items.get(1)));
+        Assert.assertSame(root.getLastChild(), binder.getXMLNode(added));
+        Assert.assertSame(d, binder.getJAXBNode(root));
+    }
+
+    @Test
+    public void testLeafValuesAreNotAssociated() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        Doc d = new Doc();
+        d.tags.add("tag");
+        Item item = new Item();
+        item.value = "1";
+        d.items.add(item);
+
+        Binder<Node> binder = ctx.createBinder();
+        binder.marshal(d, newDocument());
+        Assert.assertNotNull(binder.getXMLNode(item));
+        Assert.assertNotNull(binder.getXMLNode(d.tags.get(0)));
+
+        binder = ctx.createBinder();
+        Assert.assertEquals(false, binder.getProperty(BinderImpl.ASSOCIATE_BEANS_ONLY));
+        binder.setProperty(BinderImpl.ASSOCIATE_BEANS_ONLY, true);
+        Assert.assertEquals(true, binder.getProperty(BinderImpl.ASSOCIATE_BEANS_ONLY));
+        binder.marshal(d, newDocument());
+        Assert.assertNotNull(binder.getXMLNode(item));
+        Assert.assertNull(binder.getXMLNode(d.tags.get(0)));
+    }
+
+    @Test
+    public void testDroppedNodesAreNotAssociated() throws Exception {
+        Document doc = parse("<doc><item name='a'>1</item><item name='b'>2</item></doc>");
+        Binder<Node> binder = JAXBContext.newInstance(Doc.class).createBinder();
+        Doc d = (Doc) binder.unmarshal(doc);
+        Element second = (Element) doc.getDocumentElement().getLastChild();
+        Item removed = d.items.remove(1);
+        Assert.assertSame(second, binder.getXMLNode(removed));
+
+        binder.updateXML(d);
+        Assert.assertEquals(1, doc.getDocumentElement().getChildNodes().getLength());
+        Assert.assertNull(binder.getXMLNode(removed));
+        Assert.assertNull(binder.getJAXBNode(second));
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+    private static Document newDocument() throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().newDocument();
+    }
+
+    @XmlRootElement(name = "doc")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Doc {
+        @XmlElement(name = "tag")
+        public List<String> tags = new ArrayList<>();
+        @XmlElement(name = "item")
+        public List<Item> items = new ArrayList<>();
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Item {
+        @XmlAttribute
+        public String name;
+        @jakarta.xml.bind.annotation.XmlValue
+        public String value;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class BlockingMarshalPublisherTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBackpressure() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        Doc doc = sample(5000);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ctx.createMarshaller().marshal(doc, expected);
+
+        MarshallerImpl m = (MarshallerImpl) ctx.createMarshaller();
+        Collector c = new Collector();
+        m.blockingPublisher(doc, executor).subscribe(c);
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        int chunks = 0;
+        c.subscription.request(1);
+        while (true) {
+            Object o = c.signals.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull("timed out", o);
+            if (o == Collector.COMPLETE)
+                break;
+            if (o instanceof Throwable)
+                throw new AssertionError((Throwable) o);
+            ByteBuffer b = (ByteBuffer) o;
+            actual.write(b.array(), b.arrayOffset() + b.position(), b.remaining());
+            chunks++;
+            // nothing more is pushed until asked
+            Assert.assertNull(c.signals.poll(20, TimeUnit.MILLISECONDS));
+            c.subscription.request(1);
+        }
+        Assert.assertTrue(chunks > 1);
+        Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    @Test
+    public void testOneAtATime() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        Doc doc = sample(5000);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ctx.createMarshaller().marshal(doc, expected);
+
+        MarshallerImpl m = (MarshallerImpl) ctx.createMarshaller();
+        OneAtATime s = new OneAtATime();
+        m.blockingPublisher(doc, executor).subscribe(s);
+
+        Assert.assertTrue("timed out", s.done.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(s.error);
+        Assert.assertFalse("more than one buffer outstanding", s.overflow);
+        Assert.assertTrue(s.chunks > 1);
+        Assert.assertArrayEquals(expected.toByteArray(), s.bytes.toByteArray());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        MarshallerImpl m = (MarshallerImpl) ctx.createMarshaller();
+        Collector c = new Collector();
+        m.blockingPublisher(sample(5000), executor).subscribe(c);
+
+        c.subscription.request(1);
+        Assert.assertTrue(c.signals.poll(10, TimeUnit.SECONDS) instanceof ByteBuffer);
+        c.subscription.cancel();
+
+        // the marshalling task ends without signalling anything
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertTrue(c.signals.isEmpty());
+    }
+
+    @Test
+    public void testIllegalRequest() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        MarshallerImpl m = (MarshallerImpl) ctx.createMarshaller();
+        Collector c = new Collector();
+        Flow.Publisher<ByteBuffer> p = m.blockingPublisher(sample(5000), executor);
+        p.subscribe(c);
+
+        c.subscription.request(0);
+        Assert.assertTrue(c.signals.poll(10, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+
+        // single use
+        Collector second = new Collector();
+        p.subscribe(second);
+        Assert.assertTrue(second.signals.poll() instanceof IllegalStateException);
+    }
+
+    private static Doc sample(int n) {
+        Doc d = new Doc();
+        for (int i = 0; i < n; i++)
+            d.items.add("item number " + i);
+        return d;
+    }
+
+    private static final class Collector implements Flow.Subscriber<ByteBuffer> {
+        static final Object COMPLETE = new Object();
+
+        final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+    }
+
+    /**
+     * Asks for the next buffer only once it is done with the previous one.
+     */
+    private static final class OneAtATime implements Flow.Subscriber<ByteBuffer> {
+        final CountDownLatch done = new CountDownLatch(1);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Flow.Subscription subscription;
+        int outstanding;
+        int chunks;
+        boolean overflow;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            outstanding = 1;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            if (--outstanding < 0)
+                overflow = true;
+            bytes.write(item.array(), item.arrayOffset() + item.position(), item.remaining());
+            chunks++;
+            outstanding++;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+    @XmlRootElement(name = "doc")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Doc {
+        @XmlElement(name = "item")
+        public List<String> items = new ArrayList<>();
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyAttribute;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+public class C14nXmlOutputTest {
+
+    @Test
+    public void testAttributeOrder() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Root.class).createMarshaller();
+        m.setProperty(JAXBRIContext.CANONICALIZATION_SUPPORT, true);
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        String xml = marshal(m, sample());
+        Assert.assertTrue(xml, xml.startsWith("<root "));
+        // no namespace first, then by namespace URI, then by local name
+        assertInOrder(xml, "b=\"2\"", "m=\"wild\"", "z=\"1\"", ":a=\"3\"", ":w=\"wild\"");
+    }
+
+    @Test
+    public void testExclusive() throws Exception {
+        Marshaller m = JAXBContext.newInstance(Root.class).createMarshaller();
+        m.setProperty("org.glassfish.jaxb.exclusiveCanonicalization", true);
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        String xml = marshal(m, sample());
+        // urn:c is only used by the child, so it must not be declared on the root
+        String root = xml.substring(0, xml.indexOf('>'));
+        Assert.assertFalse(xml, root.contains("urn:c"));
+        Assert.assertTrue(xml, root.contains("urn:x"));
+        Assert.assertTrue(xml, xml.contains("urn:c\">v</"));
+        // the child element's namespace is declared once, on the child
+        Assert.assertEquals(xml, 1, count(xml, "\"urn:c\""));
+        assertInOrder(xml.substring(xml.indexOf("<", 1)), "xmlns", ">v<");
+    }
+
+    @Test
+    public void testExclusiveRoundTrip() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(Holder.class, Sub.class);
+        Marshaller m = context.createMarshaller();
+        m.setProperty("org.glassfish.jaxb.exclusiveCanonicalization", true);
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        Holder h = new Holder();
+        h.lang = "fr";
+        Sub sub = new Sub();
+        sub.name = "n";
+        sub.extra = "e";
+        h.item = sub;
+        h.ref = new QName("urn:q", "target");
+
+        String xml = marshal(m, h);
+        // the xml prefix is bound by definition
+        Assert.assertFalse(xml, xml.contains("xmlns:xml"));
+        Assert.assertTrue(xml, xml.contains("xml:lang=\"fr\""));
+        // prefixes only used in QName values are still declared
+        Assert.assertTrue(xml, xml.contains("\"urn:t\""));
+        Assert.assertTrue(xml, xml.contains("\"urn:q\""));
+
+        Holder back = (Holder) context.createUnmarshaller().unmarshal(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        Assert.assertEquals("fr", back.lang);
+        Assert.assertTrue(xml, back.item instanceof Sub);
+        Assert.assertEquals("n", back.item.name);
+        Assert.assertEquals("e", ((Sub) back.item).extra);
+        Assert.assertEquals(h.ref, back.ref);
+    }
+
+    private static Root sample() {
+        Root r = new Root();
+        r.z = "1";
+        r.b = "2";
+        r.a = "3";
+        r.child = "v";
+        r.others.put(new QName("urn:y", "w"), "wild");
+        r.others.put(new QName("m"), "wild");
+        return r;
+    }
+
+    private static String marshal(Marshaller m, Object o) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.marshal(o, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void assertInOrder(String s, String... parts) {
+        int last = -1;
+        for (String p : parts) {
+            int i = s.indexOf(p);
+            Assert.assertTrue(s + " should contain " + p + " after " + last, i > last);
+            last = i;
+        }
+    }
+
+    private static int count(String s, String part) {
+        int n = 0;
+        for (int i = s.indexOf(part); i >= 0; i = s.indexOf(part, i + 1))
+            n++;
+        return n;
+    }
+
+    @XmlRootElement(name = "root")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Root {
+        @XmlAttribute
+        public String z;
+        @XmlAttribute
+        public String b;
+        @XmlAttribute(namespace = "urn:x")
+        public String a;
+        @XmlElement(namespace = "urn:c")
+        public String child;
+        @XmlAnyAttribute
+        public Map<QName, String> others = new HashMap<>();
+    }
+
+    @XmlRootElement(name = "holder")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Holder {
+        @XmlAttribute(namespace = XMLConstants.XML_NS_URI)
+        public String lang;
+        public Base item;
+        public QName ref;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Base {
+        public String name;
+    }
+
+    @XmlType(namespace = "urn:t")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Sub extends Base {
+        public String extra;
+    }
+}
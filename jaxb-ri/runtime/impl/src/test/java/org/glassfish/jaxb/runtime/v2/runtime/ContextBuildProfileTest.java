@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.glassfish.jaxb.runtime.api.ContextBuildProfile;
+import org.glassfish.jaxb.runtime.api.ContextBuildProfile.Phase;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.api.JfrInstrumentation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ContextBuildProfileTest {
+
+    @Test
+    public void testNotProfiled() throws Exception {
+        JAXBRIContext ctx = (JAXBRIContext) JAXBContext.newInstance(Sub.class);
+        Assert.assertNull(ctx.getBuildProfile());
+    }
+
+    @Test
+    public void testProfile() throws Exception {
+        JAXBRIContext ctx = (JAXBRIContext) JAXBContext.newInstance(new Class[]{Sub.class},
+                Map.of(JAXBRIContext.BUILD_PROFILE, true));
+        ContextBuildProfile profile = ctx.getBuildProfile();
+        Assert.assertNotNull(profile);
+
+        long sum = 0;
+        for (Phase p : Phase.values()) {
+            Assert.assertTrue(p.name(), profile.getNanos(p) >= 0);
+            sum += profile.getNanos(p);
+        }
+        Assert.assertTrue(profile.getNanos(Phase.ANNOTATIONS) > 0);
+        Assert.assertTrue(profile.getNanos(Phase.MODEL) > 0);
+        Assert.assertTrue(sum <= profile.getTotalNanos());
+
+        for (Phase p : new Phase[]{Phase.BEAN_INFOS, Phase.LINK}) {
+            Assert.assertTrue(p.name(), profile.getClassNanos(p).keySet().containsAll(Set.of(Base.class, Sub.class)));
+        }
+        Assert.assertTrue(profile.getClassNanos(Phase.NAMES).isEmpty());
+        Assert.assertEquals(1, profile.getSlowestClasses(Phase.LINK, 1).size());
+        Assert.assertTrue(profile.toString(), profile.toString().contains(Sub.class.getName()));
+
+        // still works
+        StringWriter w = new StringWriter();
+        ctx.createMarshaller().marshal(new Sub(), w);
+        Assert.assertTrue(w.toString(), w.toString().endsWith("<sub><a>a</a><b>b</b></sub>"));
+    }
+
+    @Test
+    public void testJfr() throws Exception {
+        Path file = Files.createTempFile("jaxb", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.glassfish.jaxb.ContextBuildPhase");
+            recording.enable("org.glassfish.jaxb.ContextBuildClass");
+            recording.start();
+            JAXBContext.newInstance(new Class[]{Sub.class},
+                    Map.of(JAXBRIContext.BUILD_PROFILE, true, JAXBRIContext.INSTRUMENTATION, new JfrInstrumentation()));
+            recording.stop();
+            recording.dump(file);
+
+            Set<String> phases = new HashSet<>();
+            Set<String> classes = new HashSet<>();
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                switch (e.getEventType().getName()) {
+                case "org.glassfish.jaxb.ContextBuildPhase":
+                    phases.add(e.getString("phase"));
+                    break;
+                case "org.glassfish.jaxb.ContextBuildClass":
+                    classes.add(e.getClass("type").getName());
+                    break;
+                }
+            }
+            Assert.assertEquals(Phase.values().length, phases.size());
+            Assert.assertTrue(classes.contains(Sub.class.getName()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Base {
+        public String a = "a";
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Sub extends Base {
+        public String b = "b";
+    }
+}
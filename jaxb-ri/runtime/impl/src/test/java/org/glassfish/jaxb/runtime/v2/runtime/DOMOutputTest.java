@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.Binder;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlValue;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.dom.DOMResult;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DOMOutputTest {
+
+    @Test
+    public void testMarshalToDOMResult() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Order.class);
+        DOMResult result = new DOMResult();
+        ctx.createMarshaller().marshal(sample(), result);
+
+        Element root = ((Document) result.getNode()).getDocumentElement();
+        Assert.assertEquals("urn:order", root.getNamespaceURI());
+        Assert.assertEquals("order", root.getLocalName());
+        Assert.assertEquals("42", root.getAttribute("id"));
+        Assert.assertEquals("high", root.getAttributeNS("urn:meta", "priority"));
+
+        NodeList lines = root.getElementsByTagNameNS("urn:order", "line");
+        Assert.assertEquals(3, lines.getLength());
+        for (int i = 0; i < 3; i++) {
+            Element line = (Element) lines.item(i);
+            // qualified names are shared between repeated elements, but must still be correct
+            Assert.assertEquals(root.getPrefix(), line.getPrefix());
+            Assert.assertEquals(String.valueOf(i), line.getAttributeNS("urn:meta", "n"));
+            Assert.assertEquals("item" + i, line.getTextContent());
+        }
+
+        // the tree must survive a round trip
+        Order copy = (Order) ctx.createUnmarshaller().unmarshal(result.getNode());
+        Assert.assertEquals(3, copy.lines.size());
+        Assert.assertEquals("item2", copy.lines.get(2).value);
+        Assert.assertEquals("high", copy.priority);
+    }
+
+    @Test
+    public void testBinderAssociation() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Order.class);
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document doc = dbf.newDocumentBuilder().newDocument();
+
+        Binder<org.w3c.dom.Node> binder = ctx.createBinder();
+        Order order = sample();
+        binder.marshal(order, doc);
+
+        Element root = doc.getDocumentElement();
+        Element second = (Element) root.getElementsByTagNameNS("urn:order", "line").item(1);
+        Assert.assertSame(order.lines.get(1), binder.getJAXBNode(second));
+    }
+
+    private static Order sample() {
+        Order o = new Order();
+        o.id = 42;
+        o.priority = "high";
+        for (int i = 0; i < 3; i++) {
+            Line l = new Line();
+            l.n = i;
+            l.value = "item" + i;
+            o.lines.add(l);
+        }
+        return o;
+    }
+
+    @XmlRootElement(name = "order", namespace = "urn:order")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Order {
+        @XmlAttribute
+        public int id;
+        @XmlAttribute(namespace = "urn:meta")
+        public String priority;
+        @XmlElement(name = "line", namespace = "urn:order")
+        public List<Line> lines = new ArrayList<>();
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Line {
+        @XmlAttribute(namespace = "urn:meta")
+        public int n;
+        @XmlValue
+        public String value;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Compares the size and the round trip time of a small message written as
+ * UTF-8 XML, as Fast Infoset, and as Fast Infoset with the {@link org.glassfish.jaxb.runtime.v2.runtime.output.FastInfosetVocabulary}.
+ *
+ * <p>
+ * Not run by the build; run the main method with the test class path.
+ */
+public class FastInfosetVocabularyBenchmark {
+
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 100000;
+
+    public static void main(String[] args) throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(FastInfosetVocabularyTest.Order.class);
+        FastInfosetVocabularyTest.Order order = new FastInfosetVocabularyTest.Order();
+        order.id = "o-1";
+        order.customer = "customer";
+        for (int i = 0; i < 3; i++) {
+            FastInfosetVocabularyTest.Line l = new FastInfosetVocabularyTest.Line();
+            l.sku = "sku" + i;
+            l.quantity = i + 1;
+            order.lines.add(l);
+        }
+
+        Marshaller m = ctx.createMarshaller();
+        Unmarshaller u = ctx.createUnmarshaller();
+        run("xml", () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            m.marshal(order, out);
+            u.unmarshal(new ByteArrayInputStream(out.toByteArray()));
+            return out.size();
+        });
+        for (boolean vocabulary : new boolean[]{false, true}) {
+            Marshaller fm = ctx.createMarshaller();
+            fm.setProperty(MarshallerImpl.FAST_INFOSET_VOCABULARY, vocabulary);
+            StAXDocumentSerializer serializer = new StAXDocumentSerializer();
+            StAXDocumentParser parser = new StAXDocumentParser();
+            run(vocabulary ? "fi+vocabulary" : "fi", () -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                serializer.reset();
+                serializer.setOutputStream(out);
+                fm.marshal(order, (XMLStreamWriter) serializer);
+                serializer.flush();
+                parser.setInputStream(new ByteArrayInputStream(out.toByteArray()));
+                u.unmarshal(parser);
+                return out.size();
+            });
+        }
+    }
+
+    private static void run(String name, RoundTrip r) throws Exception {
+        int size = 0;
+        for (int i = 0; i < WARMUP; i++)
+            size = r.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++)
+            r.run();
+        long ns = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-14s %5d bytes %7d ns/round trip%n", name, size, ns);
+    }
+
+    private interface RoundTrip {
+        int run() throws Exception;
+    }
+}
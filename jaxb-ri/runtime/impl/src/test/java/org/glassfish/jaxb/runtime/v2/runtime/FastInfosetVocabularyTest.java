@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import com.sun.xml.fastinfoset.vocab.ParserVocabulary;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.v2.runtime.output.FastInfosetVocabulary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class FastInfosetVocabularyTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Order.class);
+        Order order = sample();
+
+        byte[] plain = write(ctx, order, false, new StAXDocumentSerializer());
+        byte[] vocab = write(ctx, order, true, new StAXDocumentSerializer());
+        Assert.assertTrue(vocab.length < plain.length);
+
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        ctx.createMarshaller().marshal(order, xml);
+        Assert.assertTrue(plain.length < xml.size());
+
+        Assert.assertEquals(order, read(ctx, plain));
+        Assert.assertEquals(order, read(ctx, vocab));
+        // the receiver only needs an equivalent context
+        Assert.assertEquals(order, read(JAXBContext.newInstance(Order.class), vocab));
+    }
+
+    @Test
+    public void testSerializerReuse() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Order.class);
+        Order order = sample();
+        StAXDocumentSerializer serializer = new StAXDocumentSerializer();
+        byte[] first = write(ctx, order, true, serializer);
+        serializer.reset();
+        byte[] second = write(ctx, order, true, serializer);
+        Assert.assertArrayEquals(first, second);
+        Assert.assertEquals(order, read(ctx, second));
+    }
+
+    @Test
+    public void testUnknownVocabulary() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Order.class);
+        byte[] vocab = write(ctx, sample(), true, new StAXDocumentSerializer());
+
+        FastInfosetVocabulary v = ((JAXBContextImpl) ctx).getFastInfosetVocabulary();
+        Assert.assertSame(v, ((JAXBContextImpl) ctx).getFastInfosetVocabulary());
+        Assert.assertTrue(v.getURI().startsWith("urn:"));
+        Assert.assertNotEquals(v.getURI(),
+                ((JAXBContextImpl) JAXBContext.newInstance(Line.class)).getFastInfosetVocabulary().getURI());
+
+        StAXDocumentParser parser = new StAXDocumentParser(new ByteArrayInputStream(vocab));
+        try {
+            while (parser.hasNext())
+                parser.next();
+            Assert.fail();
+        } catch (XMLStreamException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParserVocabulariesKept() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Order.class);
+        Order order = sample();
+        byte[] vocab = write(ctx, order, true, new StAXDocumentSerializer());
+
+        StAXDocumentParser parser = new StAXDocumentParser(new ByteArrayInputStream(vocab));
+        ParserVocabulary mine = new ParserVocabulary();
+        parser.setExternalVocabularies(Map.of("urn:mine", mine));
+        Assert.assertEquals(order, ctx.createUnmarshaller().unmarshal(parser));
+        Map<String, ParserVocabulary> vocabularies = parser.getExternalVocabularies();
+        Assert.assertSame(mine, vocabularies.get("urn:mine"));
+        Assert.assertEquals(2, vocabularies.size());
+    }
+
+    private static byte[] write(JAXBContext ctx, Object o, boolean vocabulary, StAXDocumentSerializer serializer) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.setOutputStream(out);
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(MarshallerImpl.FAST_INFOSET_VOCABULARY, vocabulary);
+        Assert.assertEquals(vocabulary, m.getProperty(MarshallerImpl.FAST_INFOSET_VOCABULARY));
+        m.marshal(o, (XMLStreamWriter) serializer);
+        serializer.flush();
+        return out.toByteArray();
+    }
+
+    private static Object read(JAXBContext ctx, byte[] data) throws Exception {
+        return ctx.createUnmarshaller().unmarshal(new StAXDocumentParser(new ByteArrayInputStream(data)));
+    }
+
+    private static Order sample() {
+        Order order = new Order();
+        order.id = "o-1";
+        order.customer = "customer";
+        for (int i = 0; i < 3; i++) {
+            Line l = new Line();
+            l.sku = "sku" + i;
+            l.quantity = i + 1;
+            order.lines.add(l);
+        }
+        return order;
+    }
+
+    @XmlRootElement(name = "purchaseOrder", namespace = "urn:example:orders")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Order {
+        @XmlAttribute(name = "orderIdentifier")
+        public String id;
+        @XmlElement(name = "customerReference", namespace = "urn:example:orders")
+        public String customer;
+        @XmlElement(name = "orderLine", namespace = "urn:example:orders")
+        public List<Line> lines = new ArrayList<>();
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Order))
+                return false;
+            Order that = (Order) o;
+            return id.equals(that.id) && customer.equals(that.customer) && lines.equals(that.lines);
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+
+    @XmlRootElement(name = "orderLine", namespace = "urn:example:lines")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Line {
+        @XmlElement(name = "stockKeepingUnit", namespace = "urn:example:orders")
+        public String sku;
+        @XmlElement(name = "quantityOrdered", namespace = "urn:example:orders")
+        public int quantity;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Line && sku.equals(((Line) o).sku) && quantity == ((Line) o).quantity;
+        }
+
+        @Override
+        public int hashCode() {
+            return sku.hashCode();
+        }
+    }
+}
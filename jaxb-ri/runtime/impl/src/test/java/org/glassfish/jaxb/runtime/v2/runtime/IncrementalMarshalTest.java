@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlTransient;
+import org.glassfish.jaxb.core.marshaller.MinimumEscapeHandler;
+import org.glassfish.jaxb.runtime.ChangeTracking;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IncrementalMarshalTest {
+
+    private static final String INCREMENTAL = "org.glassfish.jaxb.incrementalMarshalling";
+
+    @Test
+    public void testUnchangedBeansAreReplayed() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Catalog.class);
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(INCREMENTAL, true);
+        Catalog c = sample(20);
+
+        Item.reads = 0;
+        String first = marshal(m, c);
+        Assert.assertEquals(reference(ctx, c), first);
+        // the marshaller may read a property more than once
+        int perItem = Item.reads / 20;
+
+        Item.reads = 0;
+        String second = marshal(m, c);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(0, Item.reads);
+
+        // only the modified item is walked again
+        c.items.get(7).setName("changed");
+        c.touch();
+        Item.reads = 0;
+        String third = marshal(m, c);
+        Assert.assertEquals(reference(ctx, c), third);
+        Assert.assertEquals(perItem, Item.reads);
+
+        // and the entries of the replayed items survive another round
+        c.items.get(3).setName("again");
+        c.touch();
+        Item.reads = 0;
+        Assert.assertEquals(reference(ctx, c), marshal(m, c));
+        Assert.assertEquals(perItem, Item.reads);
+    }
+
+    @Test
+    public void testStructuralChange() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Catalog.class);
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(INCREMENTAL, true);
+        Catalog c = sample(5);
+        marshal(m, c);
+
+        Item added = new Item();
+        added.setName("new");
+        c.items.add(2, added);
+        c.items.remove(4);
+        c.touch();
+        Assert.assertEquals(reference(ctx, c), marshal(m, c));
+    }
+
+    @Test
+    public void testReconfigurationClearsCache() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Catalog.class);
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(INCREMENTAL, true);
+        Catalog c = sample(3);
+        Item.reads = 0;
+        marshal(m, c);
+        int full = Item.reads;
+
+        // only the prolog changes
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        Item.reads = 0;
+        String xml = marshal(m, c);
+        Assert.assertFalse(xml, xml.startsWith("<?xml"));
+        Assert.assertEquals(0, Item.reads);
+
+        // the items would be escaped differently
+        m.setProperty("org.glassfish.jaxb.characterEscapeHandler", MinimumEscapeHandler.theInstance);
+        Item.reads = 0;
+        Assert.assertEquals(xml, marshal(m, c));
+        Assert.assertEquals(full, Item.reads);
+    }
+
+    @Test
+    public void testOtherOutputs() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Catalog.class);
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(INCREMENTAL, true);
+        Catalog c = sample(3);
+        marshal(m, c);
+
+        // not recorded, but must not be disturbed by the recording either
+        StringWriter w = new StringWriter();
+        m.marshal(c, w);
+        Assert.assertEquals(reference(ctx, c), w.toString());
+        Assert.assertEquals(reference(ctx, c), marshal(m, c));
+    }
+
+    private static Catalog sample(int n) {
+        Catalog c = new Catalog();
+        for (int i = 0; i < n; i++) {
+            Item item = new Item();
+            item.setName("item" + i);
+            item.setId(i);
+            c.items.add(item);
+        }
+        return c;
+    }
+
+    private static String reference(JAXBContext ctx, Object o) throws Exception {
+        return marshal(ctx.createMarshaller(), o);
+    }
+
+    private static String marshal(Marshaller m, Object o) throws Exception {
+        int reads = Item.reads;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.marshal(o, out);
+        String s = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        if (m.getProperty(INCREMENTAL) == Boolean.FALSE)
+            Item.reads = reads;
+        return s;
+    }
+
+    @XmlRootElement(name = "catalog", namespace = "urn:catalog")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Catalog implements ChangeTracking {
+        @XmlElement(name = "item", namespace = "urn:catalog")
+        public List<Item> items = new ArrayList<>();
+        @XmlTransient
+        private long modCount;
+
+        void touch() {
+            modCount++;
+        }
+
+        @Override
+        public long getModificationCount() {
+            return modCount;
+        }
+    }
+
+    @XmlAccessorType(XmlAccessType.PROPERTY)
+    public static class Item implements ChangeTracking {
+        static int reads;
+
+        private String name;
+        private int id;
+        private long modCount;
+
+        @XmlElement(namespace = "urn:item")
+        public String getName() {
+            reads++;
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+            modCount++;
+        }
+
+        @XmlAttribute
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+            modCount++;
+        }
+
+        @Override
+        public long getModificationCount() {
+            return modCount;
+        }
+    }
+}
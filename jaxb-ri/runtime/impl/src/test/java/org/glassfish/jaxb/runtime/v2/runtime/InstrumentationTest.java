@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.glassfish.jaxb.runtime.api.JAXBInstrumentation;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.api.JfrInstrumentation;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class InstrumentationTest {
+
+    @Test
+    public void testOperations() throws Exception {
+        Recorder recorder = new Recorder();
+        JAXBContext ctx = JAXBContext.newInstance(new Class[]{Item.class},
+                Map.of(JAXBRIContext.INSTRUMENTATION, recorder));
+        Assert.assertEquals(1, recorder.operations.size());
+        JAXBInstrumentation.Operation build = recorder.operations.get(0);
+        Assert.assertEquals(JAXBInstrumentation.Kind.CONTEXT_BUILD, build.getKind());
+        Assert.assertSame(ctx, build.getContext());
+        Assert.assertEquals("token", recorder.tokens.get(0));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ctx.createMarshaller().marshal(new Item(), out);
+        JAXBInstrumentation.Operation marshal = recorder.operations.get(1);
+        Assert.assertEquals(JAXBInstrumentation.Kind.MARSHAL, marshal.getKind());
+        Assert.assertEquals(Item.class, marshal.getType());
+        Assert.assertEquals(out.size(), marshal.getBytes());
+        Assert.assertEquals(3, marshal.getElements());
+        Assert.assertFalse(marshal.isValidating());
+        Assert.assertNull(marshal.getFailure());
+
+        // no byte stream
+        ctx.createMarshaller().marshal(new Item(), new StringWriter());
+        Assert.assertEquals(-1, recorder.operations.get(2).getBytes());
+
+        ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream(out.toByteArray()));
+        JAXBInstrumentation.Operation unmarshal = recorder.operations.get(3);
+        Assert.assertEquals(JAXBInstrumentation.Kind.UNMARSHAL, unmarshal.getKind());
+        Assert.assertEquals(Item.class, unmarshal.getType());
+        Assert.assertEquals(out.size(), unmarshal.getBytes());
+        Assert.assertEquals(3, unmarshal.getElements());
+        Assert.assertNull(unmarshal.getFailure());
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        Recorder recorder = new Recorder();
+        JAXBContext ctx = JAXBContext.newInstance(new Class[]{Item.class},
+                Map.of(JAXBRIContext.INSTRUMENTATION, recorder));
+        try {
+            ctx.createUnmarshaller().unmarshal(new ByteArrayInputStream("<item><a>".getBytes()));
+            Assert.fail();
+        } catch (UnmarshalException e) {
+            // expected
+        }
+        JAXBInstrumentation.Operation unmarshal = recorder.operations.get(1);
+        Assert.assertEquals(JAXBInstrumentation.Kind.UNMARSHAL, unmarshal.getKind());
+        Assert.assertNotNull(unmarshal.getFailure());
+        Assert.assertNull(unmarshal.getType());
+    }
+
+    @Test
+    public void testRuntimeFailure() throws Exception {
+        Recorder recorder = new Recorder();
+        JAXBContext ctx = JAXBContext.newInstance(new Class[]{Item.class},
+                Map.of(JAXBRIContext.INSTRUMENTATION, recorder));
+        byte[] doc = "<item><a>x</a></item>".getBytes();
+        IllegalStateException failure = new IllegalStateException();
+        Unmarshaller u = ctx.createUnmarshaller();
+        u.setListener(new Unmarshaller.Listener() {
+            @Override
+            public void afterUnmarshal(Object target, Object parent) {
+                throw failure;
+            }
+        });
+        try {
+            u.unmarshal(new ByteArrayInputStream(doc));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        Assert.assertEquals(2, recorder.operations.size());
+        Assert.assertSame(failure, recorder.operations.get(1).getFailure());
+
+        // the next operation is reported on its own
+        u.setListener(null);
+        u.unmarshal(new ByteArrayInputStream(doc));
+        Assert.assertEquals(3, recorder.operations.size());
+        Assert.assertNull(recorder.operations.get(2).getFailure());
+        Assert.assertEquals(Item.class, recorder.operations.get(2).getType());
+    }
+
+    @Test
+    public void testPool() throws Exception {
+        Recorder recorder = new Recorder();
+        JAXBContextImpl ctx = (JAXBContextImpl) JAXBContext.newInstance(new Class[]{Item.class},
+                Map.of(JAXBRIContext.INSTRUMENTATION, recorder));
+        Marshaller m = ctx.marshallerPool.take();
+        ctx.marshallerPool.recycle(m);
+        Assert.assertSame(m, ctx.marshallerPool.take());
+        Assert.assertEquals(List.of("Marshaller miss", "Marshaller hit"), recorder.pooled);
+    }
+
+    @Test
+    public void testJfr() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(new Class[]{Item.class},
+                Map.of(JAXBRIContext.INSTRUMENTATION, new JfrInstrumentation()));
+        Path file = Files.createTempFile("jaxb", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.glassfish.jaxb.Marshal");
+            recording.start();
+            ctx.createMarshaller().marshal(new Item(), new ByteArrayOutputStream());
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent e : RecordingFile.readAllEvents(file)) {
+                if (e.getEventType().getName().equals("org.glassfish.jaxb.Marshal"))
+                    events.add(e);
+            }
+            Assert.assertEquals(1, events.size());
+            Assert.assertEquals(3, events.get(0).getInt("elements"));
+            Assert.assertFalse(events.get(0).getBoolean("failed"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static final class Recorder extends JAXBInstrumentation {
+        final List<Operation> operations = new ArrayList<>();
+        final List<Object> tokens = new ArrayList<>();
+        final List<String> pooled = new ArrayList<>();
+
+        @Override
+        public Object started(Kind kind) {
+            return "token";
+        }
+
+        @Override
+        public void finished(Operation operation, Object token) {
+            operations.add(operation);
+            tokens.add(token);
+        }
+
+        @Override
+        public void pooled(Class<?> type, boolean hit) {
+            pooled.add(type.getSimpleName() + (hit ? " hit" : " miss"));
+        }
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Item {
+        public String a = "a";
+        public String b = "b";
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.Unmarshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LifecycleCallbackTest {
+
+    @Test
+    public void testCallbacks() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Parent.class);
+        Parent p = new Parent();
+        p.child = new Child();
+
+        Marshaller m = ctx.createMarshaller();
+        StringWriter w = new StringWriter();
+        m.marshal(p, w);
+        Assert.assertEquals(List.of("beforeMarshal", "afterMarshal"), p.child.events);
+        Assert.assertSame(m, p.child.marshaller);
+
+        Unmarshaller u = ctx.createUnmarshaller();
+        Parent r = (Parent) u.unmarshal(new StringReader(w.toString()));
+        Assert.assertEquals(List.of("beforeUnmarshal", "afterUnmarshal"), r.child.events);
+        Assert.assertSame(r, r.child.parent);
+        Assert.assertSame(u, r.child.unmarshaller);
+    }
+
+    @Test
+    public void testFailingCallback() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Parent.class);
+        try {
+            ctx.createUnmarshaller().unmarshal(new StringReader("<parent><child><fail>true</fail></child></parent>"));
+            Assert.fail();
+        } catch (UnmarshalException e) {
+            // expected
+        }
+    }
+
+    @XmlRootElement
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Parent {
+        public Child child;
+    }
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Child extends Base {
+        public boolean fail;
+        transient List<String> events = new ArrayList<>();
+        transient Object parent;
+        transient Object marshaller;
+        transient Object unmarshaller;
+
+        private void afterUnmarshal(Unmarshaller u, Object parent) {
+            if (fail)
+                throw new IllegalStateException("fail");
+            events.add("afterUnmarshal");
+            this.parent = parent;
+            this.unmarshaller = u;
+        }
+
+        boolean beforeMarshal(Marshaller m) {
+            events.add("beforeMarshal");
+            marshaller = m;
+            return true;
+        }
+
+        void afterMarshal(Marshaller m) {
+            events.add("afterMarshal");
+        }
+    }
+
+    @XmlAccessorType(XmlAccessType.NONE)
+    public static class Base {
+        // inherited callbacks are found too
+        void beforeUnmarshal(Unmarshaller u, Object parent) {
+            ((Child) this).events.add("beforeUnmarshal");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.UnmarshalException;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.v2.runtime.unmarshaller.UnmarshallerImpl;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MappedFileTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws Exception {
+        file = Files.createTempFile("mapped", ".xml");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        // large enough to take many output buffers
+        Doc doc = sample(200000);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ctx.createMarshaller().marshal(doc, expected);
+        Assert.assertTrue(expected.size() > 3 << 20);
+
+        ((MarshallerImpl) ctx.createMarshaller()).marshal(doc, file);
+        Assert.assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+
+        UnmarshallerImpl u = (UnmarshallerImpl) ctx.createUnmarshaller();
+        Doc d = (Doc) u.unmarshal(file);
+        Assert.assertEquals(doc.items, d.items);
+
+        u.setProperty(UnmarshallerImpl.FAST_TOKENIZER, true);
+        d = (Doc) u.unmarshal(file);
+        Assert.assertEquals(doc.items, d.items);
+    }
+
+    @Test
+    public void testOverwriteWithSmaller() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        MarshallerImpl m = (MarshallerImpl) ctx.createMarshaller();
+        m.marshal(sample(1000), file);
+        m.marshal(sample(1), file);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        m.marshal(sample(1), expected);
+        Assert.assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+
+        JAXBElement<Doc> e = ((UnmarshallerImpl) ctx.createUnmarshaller()).unmarshal(file, Doc.class);
+        Assert.assertEquals(1, e.getValue().items.size());
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Doc.class);
+        try {
+            ((UnmarshallerImpl) ctx.createUnmarshaller()).unmarshal(file);
+            Assert.fail();
+        } catch (UnmarshalException e) {
+            // expected
+        }
+    }
+
+    private static Doc sample(int n) {
+        Doc d = new Doc();
+        for (int i = 0; i < n; i++)
+            d.items.add("item number " + i);
+        return d;
+    }
+
+    @XmlRootElement(name = "doc")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Doc {
+        @XmlElement(name = "item")
+        public List<String> items = new ArrayList<>();
+    }
+}
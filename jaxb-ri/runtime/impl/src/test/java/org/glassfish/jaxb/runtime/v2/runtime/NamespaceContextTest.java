@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlAnyElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import org.glassfish.jaxb.runtime.marshaller.NamespacePrefixMapper;
+import org.junit.Assert;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NamespaceContextTest {
+
+    private static final int N = 40;
+
+    @Test
+    public void testManyNamespaces() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Root.class);
+        Root r = new Root();
+        for (int i = 0; i < N; i++)
+            r.content.add(new JAXBElement<>(new QName("urn:n" + i, "e"), String.class, "v" + i));
+
+        Marshaller m = ctx.createMarshaller();
+        String first = marshal(m, r);
+        // bindings and prefixes are the same every time
+        Assert.assertEquals(first, marshal(m, r));
+
+        Element root = parse(first);
+        List<Element> children = children(root);
+        Assert.assertEquals(N, children.size());
+        for (int i = 0; i < N; i++) {
+            Assert.assertEquals("urn:n" + i, children.get(i).getNamespaceURI());
+            Assert.assertEquals("v" + i, children.get(i).getTextContent());
+            // declared once, on the element that first uses it
+            Assert.assertTrue(first.indexOf("\"urn:n" + i + "\"") == first.lastIndexOf("\"urn:n" + i + "\""));
+        }
+    }
+
+    @Test
+    public void testPrefixConflicts() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(Root.class);
+        Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        // the same prefix for different URIs, and different prefixes for the same URI
+        Element a = doc.createElementNS("urn:a", "p:a");
+        Element b = doc.createElementNS("urn:b", "p:b");
+        a.appendChild(b);
+        Element c = doc.createElementNS("urn:a", "q:c");
+        b.appendChild(c);
+        Element d = doc.createElementNS("", "d");
+        c.appendChild(d);
+
+        Root r = new Root();
+        r.content.add(a);
+        r.content.add(new JAXBElement<>(new QName("urn:b", "x"), String.class, "x"));
+        r.content.add(new JAXBElement<>(new QName("", "plain"), String.class, "y"));
+
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty("org.glassfish.jaxb.namespacePrefixMapper", new NamespacePrefixMapper() {
+            @Override
+            public String getPreferredPrefix(String namespaceUri, String suggestion, boolean requirePrefix) {
+                // everybody wants the same prefix
+                return "p";
+            }
+        });
+        Element root = parse(marshal(m, r));
+        List<Element> children = children(root);
+        Element pa = children.get(0);
+        Assert.assertEquals("urn:a", pa.getNamespaceURI());
+        Element pb = children(pa).get(0);
+        Assert.assertEquals("urn:b", pb.getNamespaceURI());
+        Element qc = children(pb).get(0);
+        Assert.assertEquals("urn:a", qc.getNamespaceURI());
+        Assert.assertNull(children(qc).get(0).getNamespaceURI());
+        Assert.assertEquals("urn:b", children.get(1).getNamespaceURI());
+        Assert.assertNull(children.get(2).getNamespaceURI());
+    }
+
+    private static String marshal(Marshaller m, Object o) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.marshal(o, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Element parse(String xml) throws Exception {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))).getDocumentElement();
+    }
+
+    private static List<Element> children(Element e) {
+        List<Element> r = new ArrayList<>();
+        for (Node n = e.getFirstChild(); n != null; n = n.getNextSibling())
+            if (n instanceof Element)
+                r.add((Element) n);
+        return r;
+    }
+
+    @XmlRootElement(name = "root", namespace = "urn:root")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Root {
+        @XmlAnyElement
+        public List<Object> content = new ArrayList<>();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.runtime.unmarshaller;
+
+import junit.framework.TestCase;
+import org.glassfish.jaxb.runtime.v2.runtime.NameList;
+
+public class NameTableTest extends TestCase {
+
+    private final NameTable table = new NameTable(new NameList(
+            new String[]{"urn:a"}, new boolean[]{false}, new String[]{"foo", "bar"}, 2, 0));
+
+    public void testKnownNamesAreCanonical() {
+        String foo = new String(new char[]{'f', 'o', 'o'});
+        assertNotSame("foo", foo);
+        assertSame("foo", table.get(foo));
+        assertSame("urn:a", table.intern(new String("urn:a")));
+        assertSame("", table.get(new String()));
+    }
+
+    public void testManyNames() {
+        String[] locals = new String[1000];
+        for (int i = 0; i < locals.length; i++)
+            locals[i] = ("e" + i * 65536).intern();
+        NameTable t = new NameTable(new NameList(new String[0], new boolean[0], locals, 0, 0));
+        for (String s : locals)
+            assertSame(s, t.get(new String(s)));
+        assertNull(t.get("e1"));
+    }
+
+    public void testUnknownNamesFallBackToIntern() {
+        assertNull(table.get("zot"));
+        assertSame("zot", table.intern(new String("zot")));
+        assertNull(table.intern(null));
+    }
+}
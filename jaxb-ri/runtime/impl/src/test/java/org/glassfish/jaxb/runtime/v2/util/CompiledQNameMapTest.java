@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package org.glassfish.jaxb.runtime.v2.util;
+
+import junit.framework.TestCase;
+
+public class CompiledQNameMapTest extends TestCase {
+    public void testEmpty() {
+        CompiledQNameMap<String> m = new CompiledQNameMap<>(new QNameMap<String>());
+        assertNull(m.get("", "foo"));
+        assertTrue(m.isPerfect());
+    }
+
+    /**
+     * Every key put into the source map must be found, and nothing else.
+     */
+    public void testWide() {
+        QNameMap<Integer> src = new QNameMap<>();
+        for (int i = 0; i < 300; i++) {
+            src.put(("urn:ns" + (i % 3)).intern(), ("e" + i).intern(), i);
+        }
+        CompiledQNameMap<Integer> m = new CompiledQNameMap<>(src);
+        for (int i = 0; i < 300; i++) {
+            assertEquals(Integer.valueOf(i), m.get(("urn:ns" + (i % 3)).intern(), ("e" + i).intern()));
+            assertNull(m.get(("urn:ns" + ((i + 1) % 3)).intern(), ("e" + i).intern()));
+        }
+        assertNull(m.get("", "e1"));
+        assertNull(m.get("urn:ns1", "unknown"));
+    }
+
+    /**
+     * Same local name in different namespaces.
+     */
+    public void testSameLocalName() {
+        QNameMap<String> src = new QNameMap<>();
+        src.put("", "a", "1");
+        src.put("urn:x", "a", "2");
+        src.put("\u0000", "text", "3");
+        CompiledQNameMap<String> m = new CompiledQNameMap<>(src);
+        assertEquals("1", m.get("", "a"));
+        assertEquals("2", m.get("urn:x", "a"));
+        assertEquals("3", m.get("\u0000", "text"));
+        assertNull(m.get("urn:y", "a"));
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.xjc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.writer.FilterCodeWriter;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Content hashes of the inputs and outputs of a compilation, kept in
+ * the target directory with the {@code -incremental} option, so that
+ * the next compilation can be skipped if nothing changed.
+ *
+ * <p>
+ * The inputs are the documents read while parsing the schemas, including the
+ * ones found through the catalogs, and the catalogs themselves. The command line,
+ * the XJC version and the active plugins go into a fingerprint, together with
+ * the list of the schema and binding files, since a directory on the command line
+ * can gain new files. The outputs are the files written into the target directory,
+ * and those that the plugins {@link Plugin#getOutputFiles() write by themselves}.
+ *
+ * <p>
+ * Only local files are hashed, so that checking a manifest never goes to the
+ * network. A compilation with an input that isn't a local file, like a schema
+ * read from a stream or a remote import that no catalog maps to a local copy,
+ * doesn't get a manifest, and is never skipped.
+ */
+final class BuildManifest {
+
+    /**
+     * The name of the manifest file in the target directory.
+     */
+    static final String FILE_NAME = ".xjc-manifest";
+
+    private static final String HEADER = "# XJC build manifest, do not edit";
+
+    private final String fingerprint;
+
+    /**
+     * {@code file:} URIs of the inputs, to their hashes once known.
+     */
+    private final Map<String,String> inputs = new TreeMap<>();
+
+    /**
+     * Paths of the outputs relative to the target directory, or {@code file:} URIs
+     * of the ones written by plugins, to their hashes once known.
+     */
+    private final Map<String,String> outputs = new TreeMap<>();
+
+    /**
+     * False if an input can't be hashed.
+     */
+    private boolean trackable = true;
+
+    private BuildManifest(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Starts the manifest of the compilation configured by the given options.
+     *
+     * @param args
+     *      the command line the options were parsed from.
+     */
+    BuildManifest(String[] args, Options opt) {
+        MessageDigest md = newDigest();
+        update(md, Options.getBuildID());
+        for (String arg : args)
+            update(md, arg);
+        for (Plugin p : opt.activePlugins) {
+            update(md, p.getClass().getName());
+            update(md, String.valueOf(p.getClass().getPackage().getImplementationVersion()));
+            for (File f : p.getOutputFiles())
+                outputs.put(f.getAbsoluteFile().toURI().toString(), null);
+        }
+        for (InputSource is : opt.getGrammars())
+            addRoot(md, is);
+        for (InputSource is : opt.getBindFiles())
+            addRoot(md, is);
+        for (URI catalog : opt.getCatalogs())
+            addInput(catalog.toString());
+        this.fingerprint = toHex(md.digest());
+    }
+
+    private void addRoot(MessageDigest md, InputSource is) {
+        if (is.getByteStream() != null || is.getCharacterStream() != null)
+            trackable = false;
+        update(md, String.valueOf(is.getSystemId()));
+        addInput(is.getSystemId());
+    }
+
+    private void addInput(String systemId) {
+        if (systemId == null) {
+            trackable = false;
+            return;
+        }
+        try {
+            URI uri = new URI(systemId);
+            // the relative ones are the same documents, also seen with absolute ones
+            if (!uri.isAbsolute())
+                return;
+            if (!"file".equalsIgnoreCase(uri.getScheme())) {
+                // remote, or inside an archive
+                trackable = false;
+                return;
+            }
+            Paths.get(uri);     // throws if it isn't a local path, like file://host/a.xsd
+            inputs.put(systemId, null);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            trackable = false;
+        }
+    }
+
+    /**
+     * Wraps an {@link EntityResolver}, which can be null, to record the documents it resolves.
+     */
+    EntityResolver recordInputs(final EntityResolver core) {
+        return new EntityResolver() {
+            @Override
+            public InputSource resolveEntity(String publicId, String systemId) throws SAXException, IOException {
+                InputSource is = core != null ? core.resolveEntity(publicId, systemId) : null;
+                if (is != null)
+                    addInput(is.getSystemId());
+                else if (systemId != null && systemId.length() > 0)
+                    addInput(systemId);
+                return is;
+            }
+        };
+    }
+
+    /**
+     * Wraps a {@link CodeWriter} to record the files written through it.
+     */
+    CodeWriter recordOutputs(CodeWriter core) {
+        return new FilterCodeWriter(core) {
+            @Override
+            public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+                addOutput(pkg, fileName);
+                return super.openBinary(pkg, fileName);
+            }
+
+            @Override
+            public Writer openSource(JPackage pkg, String fileName) throws IOException {
+                addOutput(pkg, fileName);
+                return super.openSource(pkg, fileName);
+            }
+        };
+    }
+
+    private void addOutput(JPackage pkg, String fileName) {
+        if (pkg == null || pkg.isUnnamed())
+            outputs.put(fileName, null);
+        else
+            outputs.put(pkg.name().replace('.', '/') + '/' + fileName, null);
+    }
+
+    /**
+     * Checks if this manifest, of a previous compilation, has the same fingerprint
+     * as the given one, and if its inputs and its outputs are still the same.
+     */
+    boolean isUpToDate(BuildManifest current, File targetDir) {
+        if (!current.trackable || !fingerprint.equals(current.fingerprint))
+            return false;
+        try {
+            for (Map.Entry<String,String> e : inputs.entrySet()) {
+                if (!e.getValue().equals(hash(Paths.get(URI.create(e.getKey())))))
+                    return false;
+            }
+            for (Map.Entry<String,String> e : outputs.entrySet()) {
+                File f = output(targetDir, e.getKey());
+                if (!f.isFile() || !e.getValue().equals(hash(f.toPath())))
+                    return false;
+            }
+        } catch (IOException | IllegalArgumentException | FileSystemNotFoundException e) {
+            // deleted, or an edited manifest with something else than a file URI
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the inputs and the outputs, and writes this manifest.
+     * Deletes the manifest file instead if an input can't be hashed.
+     */
+    void save(File file, File targetDir) throws IOException {
+        if (!trackable) {
+            Files.deleteIfExists(file.toPath());
+            return;
+        }
+        for (Map.Entry<String,String> e : inputs.entrySet())
+            e.setValue(hash(Paths.get(URI.create(e.getKey()))));
+        for (Iterator<Map.Entry<String,String>> itr = outputs.entrySet().iterator(); itr.hasNext(); ) {
+            Map.Entry<String,String> e = itr.next();
+            File f = output(targetDir, e.getKey());
+            if (f.isFile())
+                e.setValue(hash(f.toPath()));
+            else
+                itr.remove();   // not written to the disk after all
+        }
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            w.println(HEADER);
+            w.println("fingerprint " + fingerprint);
+            for (Map.Entry<String,String> e : inputs.entrySet())
+                w.println("input " + e.getValue() + ' ' + e.getKey());
+            for (Map.Entry<String,String> e : outputs.entrySet())
+                w.println("output " + e.getValue() + ' ' + e.getKey());
+        }
+    }
+
+    /**
+     * Reads the manifest file of a previous compilation.
+     *
+     * @return
+     *      null if there is none, or if it can't be read.
+     */
+    static BuildManifest load(File file) {
+        if (!file.isFile())
+            return null;
+        try (BufferedReader r = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(r.readLine()))
+                return null;
+            String[] first = split(r.readLine());
+            if (first == null || !first[0].equals("fingerprint"))
+                return null;
+            BuildManifest m = new BuildManifest(first[1]);
+            String line;
+            while ((line = r.readLine()) != null) {
+                String[] entry = split(line);
+                if (entry == null || entry.length != 3)
+                    return null;
+                if (entry[0].equals("input"))
+                    m.inputs.put(entry[2], entry[1]);
+                else if (entry[0].equals("output"))
+                    m.outputs.put(entry[2], entry[1]);
+                else
+                    return null;
+            }
+            return m;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static File output(File targetDir, String key) {
+        if (key.startsWith("file:"))
+            return Paths.get(URI.create(key)).toFile();
+        return new File(targetDir, key);
+    }
+
+    private static String[] split(String line) {
+        if (line == null)
+            return null;
+        String[] r = line.split(" ", 3);
+        return r.length < 2 ? null : r;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest md = newDigest();
+        byte[] buf = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buf)) >= 0)
+                md.update(buf, 0, n);
+        }
+        return toHex(md.digest());
+    }
+
+    private static void update(MessageDigest md, String s) {
+        md.update(s.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest)
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return sb.toString();
+    }
+}
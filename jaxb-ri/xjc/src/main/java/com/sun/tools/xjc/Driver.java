@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -268,6 +268,22 @@ public final class Driver {
         // parse a grammar file
         //-----------------------------------------
         try {
+            BuildManifest manifest = null;
+            File manifestFile = new File(opt.targetDir, BuildManifest.FILE_NAME);
+            if( opt.incremental && opt.mode==Mode.CODE ) {
+                manifest = new BuildManifest(args, opt);
+                BuildManifest previous = BuildManifest.load(manifestFile);
+                if( previous!=null && previous.isUpToDate(manifest, opt.targetDir) ) {
+                    if( !opt.quiet ) {
+                        listener.message(Messages.format(Messages.UP_TO_DATE));
+                    }
+                    return 0;
+                }
+                // the outputs are about to change
+                manifestFile.delete();
+                opt.entityResolver = manifest.recordInputs(opt.entityResolver);
+            }
+
             if( !opt.quiet ) {
                 listener.message(Messages.format(Messages.PARSING_SCHEMA));
             }
@@ -389,10 +405,16 @@ public final class Driver {
                         } else
                             cw = opt.createCodeWriter();
 
+                        if( manifest!=null ) {
+                            cw = manifest.recordOutputs(cw);
+                        }
                         if( !opt.quiet ) {
                             cw = new ProgressCodeWriter(cw,listener, model.codeModel.countArtifacts());
                         }
-                        model.codeModel.build(cw);
+                        model.codeModel.build(cw, cw, opt.threads);
+                        if( manifest!=null ) {
+                            manifest.save(manifestFile, opt.targetDir);
+                        }
                     } catch (IOException e) {
                         receiver.error(e);
                         return -1;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -105,6 +105,9 @@ public final class Messages {
     static final String UNSUPPORTED_ENCODING = // 1 arg
             "Driver.UnsupportedEncoding";
 
+    static final String ILLEGAL_THREADS = // 1 arg
+        "Driver.IllegalThreads";
+
     static final String MISSING_GRAMMAR = // 0 args
         "Driver.MissingGrammar";
         
@@ -125,6 +128,12 @@ public final class Messages {
         
     static final String FILE_PROLOG_COMMENT = // 1 arg
         "Driver.FilePrologComment";
+
+    static final String FILE_PROLOG_COMMENT_NO_DATE = // 0 args
+        "Driver.FilePrologCommentNoDate";
+
+    static final String UP_TO_DATE = // 0 args
+        "Driver.UpToDate";
         
     static final String DATE_FORMAT = // 0 args
         "Driver.DateFormat";
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -91,6 +91,19 @@ public class Options {
      */
     public boolean noFileHeader;
 
+    /**
+     * If the -incremental option is specified.
+     * The compilation is skipped when its inputs and outputs didn't change
+     * since the previous one, and the files whose content didn't change aren't rewritten.
+     */
+    public boolean incremental;
+
+    /**
+     * Number of threads formatting the generated code, from the -threads option.
+     * 1 formats the files one at a time on the compiling thread.
+     */
+    public int threads = 1;
+
     /**
      * When on, fixes getter/setter generation to match the Bean Introspection API
      */
@@ -548,6 +561,21 @@ public class Options {
             noFileHeader = true;
             return 1;
         }
+        if (args[i].equals("-incremental")) {
+            incremental = true;
+            return 1;
+        }
+        if (args[i].equals("-threads")) {
+            String n = requireArgument("-threads", args, ++i);
+            try {
+                threads = Integer.parseInt(n);
+            } catch (NumberFormatException e) {
+                threads = 0;
+            }
+            if (threads < 1)
+                throw new BadCommandLineException(Messages.format(Messages.ILLEGAL_THREADS, n));
+            return 2;
+        }
         if (args[i].equals("-verbose")) {
             verbose = true;
             return 1;
@@ -817,6 +845,14 @@ public class Options {
         entityResolver = CatalogUtil.getCatalog(entityResolver, catalogFile, catalogUrls);
     }
 
+    /**
+     * Catalog files added with {@link #addCatalog(File)}.
+     *
+     */
+    public URI[] getCatalogs() {
+        return catalogUrls.toArray(new URI[0]);
+    }
+
     /**
      * Parses arguments and fill fields of this object.
      *
@@ -922,7 +958,7 @@ public class Options {
      *
      */
     public CodeWriter createCodeWriter() throws IOException {
-        return createCodeWriter(new FileCodeWriter(targetDir, readOnly, encoding));
+        return createCodeWriter(new FileCodeWriter(targetDir, readOnly, encoding, incremental));
     }
 
     /**
@@ -941,6 +977,10 @@ public class Options {
      *
      */
     public String getPrologComment() {
+        // with a date, the files would never be the same as the ones already there
+        if (incremental)
+            return Messages.format(Messages.FILE_PROLOG_COMMENT_NO_DATE);
+
         // generate format syntax: <date> 'at' <time>
         String format =
             Messages.format(Messages.DATE_FORMAT)
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -10,6 +10,7 @@
 
 package com.sun.tools.xjc;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
@@ -129,6 +130,24 @@ public abstract class Plugin {
         return Collections.emptyList();
     }
 
+    /**
+     * Returns the files that this plug-in writes by itself, rather than
+     * through the code model, with the options it was given.
+     *
+     * <p>
+     * With the {@code -incremental} option, XJC only skips a compilation
+     * if these files are still as the previous one left them. A plug-in
+     * that writes such files should list them here.
+     *
+     * @return
+     *      can be empty, but never null.
+     *
+     * @since 4.0.3
+     */
+    public List<File> getOutputFiles() {
+        return Collections.emptyList();
+    }
+
     /**
      * Checks if the given tag name is a valid tag name for the customization element in this plug-in.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -482,6 +482,19 @@ public class XJCBase extends MatchingTask {
         return this.options.encoding;
     }
 
+    /**
+     * Number of threads formatting the generated code.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1)
+            throw new BuildException(Messages.format(Messages.ILLEGAL_THREADS, threads));
+        this.options.threads = threads;
+    }
+
+    public int getThreads() {
+        return this.options.threads;
+    }
+
     /**
      * Nested {@code <depends>} element.
      */
@@ -863,7 +876,8 @@ public class XJCBase extends MatchingTask {
 
             log("Writing output to " + options.targetDir, Project.MSG_INFO);
 
-            model.codeModel.build(new XJCBase.AntProgressCodeWriter(options.createCodeWriter()));
+            CodeWriter cw = new XJCBase.AntProgressCodeWriter(options.createCodeWriter());
+            model.codeModel.build(cw, cw, options.threads);
         } catch (IOException e) {
             throw new BuildException("unable to write files: " + e.getMessage(), e);
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 1997, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 1997, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -50,6 +50,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -85,6 +86,13 @@ public class PluginImpl extends Plugin {
         return 0;
     }
 
+    @Override
+    public List<File> getOutputFiles() {
+        if(episodeFile==null)
+            return Collections.emptyList();
+        return Collections.singletonList(episodeFile);
+    }
+
     /**
      * Capture all the generated classes from global schema components
      * and generate them in an episode file.
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.xjc.addon.fast_serializers;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JClassContainer;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JMod;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+import com.sun.tools.xjc.BadCommandLineException;
+import com.sun.tools.xjc.Options;
+import com.sun.tools.xjc.Plugin;
+import com.sun.tools.xjc.model.CAttributePropertyInfo;
+import com.sun.tools.xjc.model.CBuiltinLeafInfo;
+import com.sun.tools.xjc.model.CClassInfo;
+import com.sun.tools.xjc.model.CElementPropertyInfo;
+import com.sun.tools.xjc.model.CNonElement;
+import com.sun.tools.xjc.model.CPropertyInfo;
+import com.sun.tools.xjc.model.CTypeRef;
+import com.sun.tools.xjc.outline.ClassOutline;
+import com.sun.tools.xjc.outline.Outline;
+import org.glassfish.jaxb.core.v2.model.core.ID;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * {@link Plugin} that generates a serializer next to each class, which the runtime
+ * uses instead of reflection when the {@code JAXBContext} is created with the
+ * {@code org.glassfish.jaxb.fastSerializers} property.
+ *
+ * <p>
+ * The serializer of a class {@code Foo} is {@code Foo_JaxbSerializer}, which implements
+ * {@code org.glassfish.jaxb.runtime.v2.runtime.BeanSerializer}. It writes the element
+ * properties of strings, of the integer and boolean types and of the generated classes
+ * straight from the fields, in their order, and hands the other properties of {@code Foo}
+ * to the runtime. Classes without any such property don't get one.
+ */
+public class PluginImpl extends Plugin {
+
+    private static final String RUNTIME = "org.glassfish.jaxb.runtime.v2.runtime.";
+
+    @Override
+    public String getOptionName() {
+        return "Xfast-serializers";
+    }
+
+    @Override
+    public String getUsage() {
+        return "  -Xfast-serializers  :  generate serializers that marshal the classes without reflection";
+    }
+
+    @Override
+    public int parseArgument(Options opt, String[] args, int i) throws BadCommandLineException, IOException {
+        return 0;   // no option recognized
+    }
+
+    @Override
+    public boolean run(Outline outline, Options opt, ErrorHandler errorHandler) throws SAXException {
+        for (ClassOutline co : outline.getClasses())
+            generate(outline, co, errorHandler);
+        return true;
+    }
+
+    private void generate(Outline outline, ClassOutline co, ErrorHandler errorHandler) throws SAXException {
+        JDefinedClass bean = co.implClass;
+
+        boolean inlined = false;
+        for (CPropertyInfo p : co.target.getProperties()) {
+            if (p instanceof CAttributePropertyInfo)
+                continue;
+            JFieldVar f = bean.fields().get(p.getName(false));
+            if (f == null)
+                return;     // the runtime wouldn't find the property to hand it to
+            inlined |= isInlined(p, f);
+        }
+        if (!inlined)
+            return;
+
+        JCodeModel cm = outline.getCodeModel();
+        JClassContainer parent = bean.parentContainer();
+        JDefinedClass s;
+        try {
+            // a nested class of the parent, if the bean is a nested class too, so that
+            // the binary name of the serializer is the one of the bean plus the suffix
+            s = parent._class(JMod.PUBLIC | (parent.isClass() ? JMod.STATIC : 0), bean.name() + "_JaxbSerializer");
+        } catch (JClassAlreadyExistsException e) {
+            errorHandler.warning(new SAXParseException(
+                    "Not generating a serializer for " + bean.fullName() + ", " + e.getExistingClass().fullName() + " already exists",
+                    co.target.getLocator()));
+            return;
+        }
+        s.javadoc().append("Marshals {@link ").append(bean)
+                .append("} for a JAXBContext created with the org.glassfish.jaxb.fastSerializers property.");
+        s._implements(cm.ref(RUNTIME + "BeanSerializer").narrow(bean));
+
+        JMethod ctor = s.constructor(JMod.PUBLIC);
+        JVar $names = ctor.param(cm.ref(RUNTIME + "NameBuilder"), "names");
+
+        JMethod link = s.method(JMod.PUBLIC, cm.VOID, "link");
+        link.annotate(Override.class);
+        JVar $context = link.param(cm.ref(RUNTIME + "JAXBContextImpl"), "context");
+        JVar $beanInfo = link.param(cm.ref(RUNTIME + "ClassBeanInfoImpl").narrow(bean), "beanInfo");
+
+        JMethod body = s.method(JMod.PUBLIC, cm.VOID, "serializeBody");
+        body.annotate(Override.class);
+        body._throws(SAXException.class)._throws(IOException.class)._throws(XMLStreamException.class);
+        JVar $bean = body.param(bean, "bean");
+        JVar $target = body.param(cm.ref(RUNTIME + "XMLSerializer"), "target");
+
+        for (CPropertyInfo p : co.target.getProperties()) {
+            if (p instanceof CAttributePropertyInfo)
+                continue;
+            JFieldVar f = bean.fields().get(p.getName(false));
+            JExpression $fieldName = JExpr.lit(f.name());
+
+            if (!isInlined(p, f)) {
+                JFieldVar $prop = s.field(JMod.PRIVATE,
+                        cm.ref(RUNTIME + "property.Property").narrow(bean), f.name() + "Property");
+                link.body().assign($prop, $beanInfo.invoke("getProperty").arg($fieldName));
+                JTryBlock t = body.body()._try();
+                t.body().add($prop.invoke("serializeBody").arg($bean).arg($target).arg(JExpr._null()));
+                JCatchBlock c = t._catch(cm.ref("org.glassfish.jaxb.runtime.api.AccessorException"));
+                c.body().add($target.invoke("reportError").arg(JExpr._null()).arg(c.param("e")));
+                continue;
+            }
+
+            CElementPropertyInfo ep = (CElementPropertyInfo) p;
+            CTypeRef tr = ep.getTypes().get(0);
+            QName tagName = tr.getTagName();
+            JFieldVar $tag = s.field(JMod.PRIVATE | JMod.FINAL, cm.ref(RUNTIME + "Name"), f.name() + "Tag");
+            ctor.body().assign($tag, $names.invoke("createElementName")
+                    .arg(tagName.getNamespaceURI()).arg(tagName.getLocalPart()));
+
+            JFieldVar $info = null;
+            if (tr.getTarget() instanceof CClassInfo) {
+                JClass child = outline.getClazz((CClassInfo) tr.getTarget()).implRef;
+                $info = s.field(JMod.PRIVATE, cm.ref(RUNTIME + "JaxBeanInfo").narrow(child), f.name() + "Info");
+                link.body().assign($info, $context.invoke("getBeanInfo").arg(child.dotclass()));
+            }
+
+            JExpression $value = $bean.ref(f);
+            JBlock block = body.body();
+            JType type = f.type();
+            if (ep.isCollection()) {
+                JForEach each = block._if($value.ne(JExpr._null()))._then()
+                        .forEach(((JClass) type).getTypeParameters().get(0), "v", $value);
+                block = each.body();
+                $value = each.var();
+                type = each.var().type();
+            }
+            if (!type.isPrimitive())
+                block = block._if($value.ne(JExpr._null()))._then();
+
+            if ($info != null) {
+                block.add($target.invoke("startElement").arg($tag).arg(JExpr._null()));
+                block.add($target.invoke("childAsXsiType").arg($value).arg($fieldName).arg($info).arg(JExpr.FALSE));
+                block.add($target.invoke("endElement"));
+            } else if (tr.getTarget() == CBuiltinLeafInfo.STRING || tr.getTarget() == CBuiltinLeafInfo.INT) {
+                // XMLSerializer has these two
+                block.add($target.invoke("leafElement").arg($tag).arg($value).arg($fieldName));
+            } else {
+                // printed the same as the runtime does
+                block.add($target.invoke("leafElement").arg($tag)
+                        .arg(cm.ref(String.class).staticInvoke("valueOf").arg($value)).arg($fieldName));
+            }
+        }
+    }
+
+    /**
+     * Checks if the serializer writes the property itself, rather than the runtime.
+     */
+    private static boolean isInlined(CPropertyInfo p, JFieldVar f) {
+        if (!(p instanceof CElementPropertyInfo))
+            return false;
+        CElementPropertyInfo ep = (CElementPropertyInfo) p;
+        List<CTypeRef> types = ep.getTypes();
+        if (types.size() != 1 || types.get(0).isNillable()
+                || ep.getAdapter() != null || ep.id() != ID.NONE || ep.getExpectedMimeType() != null
+                || ep.isValueList() || ep.inlineBinaryData() || ep.getSchemaType() != null)
+            return false;
+        if (ep.isCollection() && (!(f.type() instanceof JClass) || ((JClass) f.type()).getTypeParameters().size() != 1))
+            return false;
+        CNonElement t = types.get(0).getTarget();
+        return t instanceof CClassInfo
+                || t == CBuiltinLeafInfo.STRING || t == CBuiltinLeafInfo.INT || t == CBuiltinLeafInfo.LONG
+                || t == CBuiltinLeafInfo.SHORT || t == CBuiltinLeafInfo.BYTE || t == CBuiltinLeafInfo.BOOLEAN;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.xjc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import junit.framework.TestCase;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+
+public class IncrementalTest extends TestCase {
+
+    private static final String MAIN =
+            "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>\n" +
+            "  <xs:include schemaLocation='included.xsd'/>\n" +
+            "  <xs:complexType name='order'>\n" +
+            "    <xs:sequence><xs:element name='id' type='xs:int'/></xs:sequence>\n" +
+            "  </xs:complexType>\n" +
+            "</xs:schema>\n";
+
+    private Path dir;
+    private File src;
+    private File out;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("xjc_incremental");
+        src = dir.resolve("src").toFile();
+        out = dir.resolve("out").toFile();
+        src.mkdir();
+        out.mkdir();
+        write("main.xsd", MAIN);
+        write("included.xsd", included("name"));
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> s = Files.walk(dir)) {
+            s.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        super.tearDown();
+    }
+
+    public void testIncremental() throws Exception {
+        String status = xjc();
+        File manifest = new File(out, BuildManifest.FILE_NAME);
+        assertTrue(manifest.isFile());
+        String m = new String(Files.readAllBytes(manifest.toPath()), StandardCharsets.UTF_8);
+        // the included schema is found while parsing
+        assertTrue(m, m.contains("included.xsd"));
+        assertTrue(m, m.contains("output "));
+        assertFalse(status, status.contains(Messages.format(Messages.UP_TO_DATE)));
+
+        File order = new File(out, "generated/Order.java");
+        File item = new File(out, "generated/Item.java");
+        assertTrue(order.setLastModified(1000));
+        assertTrue(item.setLastModified(1000));
+
+        // nothing changed
+        status = xjc();
+        assertTrue(status, status.contains(Messages.format(Messages.UP_TO_DATE)));
+        assertEquals(1000, order.lastModified());
+
+        // only the class of the included schema changes
+        write("included.xsd", included("title"));
+        status = xjc();
+        assertFalse(status, status.contains(Messages.format(Messages.UP_TO_DATE)));
+        assertEquals(1000, order.lastModified());
+        assertFalse(1000 == item.lastModified());
+        String s = new String(Files.readAllBytes(item.toPath()), StandardCharsets.UTF_8);
+        assertTrue(s, s.contains("title"));
+        assertFalse(s, s.contains("Generated on"));
+
+        // a generated file was deleted
+        assertTrue(order.delete());
+        status = xjc();
+        assertFalse(status, status.contains(Messages.format(Messages.UP_TO_DATE)));
+        assertTrue(order.isFile());
+    }
+
+    public void testPluginOutput() throws Exception {
+        // written by the plugin, outside of the target directory
+        File episode = new File(src, "main.episode");
+        xjc("-episode", episode.getPath());
+        assertTrue(episode.isFile());
+
+        String status = xjc("-episode", episode.getPath());
+        assertTrue(status, status.contains(Messages.format(Messages.UP_TO_DATE)));
+
+        assertTrue(episode.delete());
+        status = xjc("-episode", episode.getPath());
+        assertFalse(status, status.contains(Messages.format(Messages.UP_TO_DATE)));
+        assertTrue(episode.isFile());
+    }
+
+    public void testRemoteInput() throws Exception {
+        Options opt = new Options();
+        opt.parseArguments(new String[]{"-d", out.getPath(), new File(src, "main.xsd").getPath()});
+        final String local = new File(src, "included.xsd").toURI().toString();
+        File manifest = new File(out, BuildManifest.FILE_NAME);
+
+        // a remote import that the catalog maps to a local copy is hashed
+        BuildManifest m = new BuildManifest(new String[0], opt);
+        EntityResolver catalog = (publicId, systemId) -> new InputSource(local);
+        assertNotNull(m.recordInputs(catalog).resolveEntity(null, "http://example.org/included.xsd"));
+        m.save(manifest, out);
+        String s = new String(Files.readAllBytes(manifest.toPath()), StandardCharsets.UTF_8);
+        assertTrue(s, s.contains(local));
+        assertFalse(s, s.contains("example.org"));
+
+        // any other isn't fetched, and the compilation isn't tracked
+        m = new BuildManifest(new String[0], opt);
+        assertNull(m.recordInputs(null).resolveEntity(null, "http://example.org/included.xsd"));
+        m.save(manifest, out);
+        assertFalse(manifest.exists());
+    }
+
+    private String xjc(String... extra) throws Exception {
+        ByteArrayOutputStream status = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(status, true, "UTF-8");
+        List<String> args = new ArrayList<>(Arrays.asList(extra));
+        args.addAll(Arrays.asList("-incremental", "-d", out.getPath(), new File(src, "main.xsd").getPath()));
+        int r = Driver.run(args.toArray(new String[0]), ps, ps);
+        String s = status.toString("UTF-8");
+        assertEquals(s, 0, r);
+        return s;
+    }
+
+    private static String included(String field) {
+        return "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>\n" +
+                "  <xs:complexType name='item'>\n" +
+                "    <xs:sequence><xs:element name='" + field + "' type='xs:string'/></xs:sequence>\n" +
+                "  </xs:complexType>\n" +
+                "</xs:schema>\n";
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.write(new File(src, name).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
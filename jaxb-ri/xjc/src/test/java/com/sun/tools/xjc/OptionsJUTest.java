@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2023 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2026 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Distribution License v. 1.0, which is available at
@@ -171,6 +171,25 @@ public class OptionsJUTest extends TestCase {
         }
     }
 
+    public void testThreads() throws Exception {
+        File grammar = File.createTempFile("jaxbthreadstest", "xsd");
+        grammar.deleteOnExit();
+
+        Options opts = new Options();
+        assertEquals(1, opts.threads);
+        opts.parseArguments(new String[]{"-threads", "4", grammar.getAbsolutePath()});
+        assertEquals(4, opts.threads);
+
+        for (String n : new String[]{"0", "many"}) {
+            try {
+                new Options().parseArguments(new String[]{"-threads", n, grammar.getAbsolutePath()});
+                fail(n);
+            } catch (BadCommandLineException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().contains(n));
+            }
+        }
+    }
+
     public static void delDirs(File... dirs) {
         for (File dir : dirs) {
             if (!dir.exists()) {
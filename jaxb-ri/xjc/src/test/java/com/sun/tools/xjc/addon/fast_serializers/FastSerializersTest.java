@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Distribution License v. 1.0, which is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ */
+
+package com.sun.tools.xjc.addon.fast_serializers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import com.sun.tools.xjc.Driver;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import junit.framework.TestCase;
+import org.glassfish.jaxb.core.v2.model.core.ID;
+import org.glassfish.jaxb.runtime.api.JAXBRIContext;
+import org.glassfish.jaxb.runtime.v2.runtime.JAXBContextImpl;
+
+public class FastSerializersTest extends TestCase {
+
+    private static final String SCHEMA =
+            "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' xmlns:t='urn:fast'\n" +
+            "           targetNamespace='urn:fast' elementFormDefault='qualified'>\n" +
+            "  <xs:element name='person' type='t:person'/>\n" +
+            "  <xs:complexType name='person'>\n" +
+            "    <xs:sequence>\n" +
+            "      <xs:element name='name' type='xs:string'/>\n" +
+            "      <xs:element name='age' type='xs:int'/>\n" +
+            "      <xs:element name='born' type='xs:long' minOccurs='0'/>\n" +
+            "      <xs:element name='active' type='xs:boolean'/>\n" +
+            "      <xs:element name='phone' type='xs:string' maxOccurs='unbounded'/>\n" +
+            "      <xs:element name='address' type='t:address' minOccurs='0'/>\n" +
+            "      <xs:element name='code' type='xs:token'/>\n" +
+            "      <xs:element name='since' type='xs:date'/>\n" +
+            "    </xs:sequence>\n" +
+            "    <xs:attribute name='id' type='xs:string'/>\n" +
+            "  </xs:complexType>\n" +
+            "  <xs:complexType name='address'>\n" +
+            "    <xs:sequence><xs:element name='city' type='xs:string'/></xs:sequence>\n" +
+            "  </xs:complexType>\n" +
+            "</xs:schema>\n";
+
+    private static final String PERSON =
+            "<person xmlns='urn:fast' id='p1'><name>Jan &lt;Novak&gt;</name><age>42</age><born>-7</born>" +
+            "<active>true</active><phone>1</phone><phone>2</phone><address><city>Prague</city></address>" +
+            "<code>A  B</code><since>2026-10-19</since></person>";
+
+    private Path dir;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("xjc_fast_serializers");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try (Stream<Path> s = Files.walk(dir)) {
+            s.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+        super.tearDown();
+    }
+
+    public void testSameOutput() throws Exception {
+        File out = dir.resolve("out").toFile();
+        assertTrue(out.mkdir());
+        File schema = dir.resolve("fast.xsd").toFile();
+        Files.write(schema.toPath(), SCHEMA.getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream status = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(status, true, "UTF-8");
+        int r = Driver.run(new String[]{"-Xfast-serializers", "-p", "fast", "-d", out.getPath(), schema.getPath()}, ps, ps);
+        assertEquals(status.toString("UTF-8"), 0, r);
+        assertTrue(new File(out, "fast/Person_JaxbSerializer.java").isFile());
+        assertTrue(new File(out, "fast/Address_JaxbSerializer.java").isFile());
+        String s = new String(Files.readAllBytes(out.toPath().resolve("fast/Person_JaxbSerializer.java")), StandardCharsets.UTF_8);
+        // the adapted and the calendar properties are left to the runtime
+        assertTrue(s, s.contains("codeProperty"));
+        assertTrue(s, s.contains("sinceProperty"));
+        assertFalse(s, s.contains("nameProperty"));
+
+        try (URLClassLoader cl = new URLClassLoader(new URL[]{compile(out).toURI().toURL()}, getClass().getClassLoader())) {
+            Class<?> person = cl.loadClass("fast.Person");
+
+            JAXBContext plain = JAXBContext.newInstance("fast", cl);
+            JAXBContext fast = JAXBContext.newInstance("fast", cl, Map.of(JAXBRIContext.FAST_SERIALIZERS, true));
+            assertNull(serializer(plain, person));
+            assertNotNull(serializer(fast, person));
+
+            Object p = plain.createUnmarshaller().unmarshal(new StringReader(PERSON));
+            String expected = marshal(plain, p);
+            assertTrue(expected, expected.contains("<phone>1</phone><phone>2</phone><address><city>Prague</city></address>"));
+            assertEquals(expected, marshal(fast, p));
+
+            // only the required primitives are written
+            Object empty = person.getConstructor().newInstance();
+            Object e = cl.loadClass("fast.ObjectFactory").getMethod("createPerson", person)
+                    .invoke(cl.loadClass("fast.ObjectFactory").getConstructor().newInstance(), empty);
+            assertEquals(marshal(plain, e), marshal(fast, e));
+        }
+    }
+
+    private File compile(File src) throws IOException {
+        File classes = dir.resolve("classes").toFile();
+        assertTrue(classes.mkdir());
+        List<String> args = new ArrayList<>(List.of("-d", classes.getPath(), "-cp", classPath()));
+        try (Stream<Path> s = Files.walk(src.toPath())) {
+            s.filter(p -> p.toString().endsWith(".java")).forEach(p -> args.add(p.toString()));
+        }
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int r = javac.run(null, null, err, args.toArray(new String[0]));
+        assertEquals(err.toString(), 0, r);
+        return classes;
+    }
+
+    // surefire may only put a manifest jar on java.class.path
+    private static String classPath() throws IOException {
+        StringBuilder cp = new StringBuilder(System.getProperty("java.class.path"));
+        for (Class<?> c : new Class<?>[]{JAXBContext.class, JAXBContextImpl.class, ID.class}) {
+            try {
+                cp.append(File.pathSeparatorChar).append(Path.of(c.getProtectionDomain().getCodeSource().getLocation().toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        return cp.toString();
+    }
+
+    private static Object serializer(JAXBContext ctx, Class<?> type) throws Exception {
+        Object beanInfo = ((JAXBContextImpl) ctx).getBeanInfo(type);
+        Field f = beanInfo.getClass().getDeclaredField("serializer");
+        f.setAccessible(true);
+        return f.get(beanInfo);
+    }
+
+    private static String marshal(JAXBContext ctx, Object o) throws Exception {
+        Marshaller m = ctx.createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        StringWriter w = new StringWriter();
+        m.marshal(o, w);
+        return w.toString();
+    }
+}